@@ -0,0 +1,7 @@
+package com.javamentor.qa.platform.dao.abstracts.dto;
+
+import com.javamentor.qa.platform.models.dto.ChatInboxDto;
+
+public interface ChatInboxDtoDao {
+    ChatInboxDto getInbox(Long userId);
+}
@@ -0,0 +1,12 @@
+package com.javamentor.qa.platform.dao.abstracts.dto;
+
+import com.javamentor.qa.platform.models.dto.PageCursor;
+
+/**
+ * PageDtoDao, который умеет продолжать выборку с позиции {@link PageCursor}
+ * (параметр "pageCursor") вместо пропуска записей через offset.
+ */
+public interface KeysetPageDtoDao<T> extends PageDtoDao<T> {
+
+    PageCursor getCursor(T item);
+}
@@ -2,10 +2,16 @@ package com.javamentor.qa.platform.dao.abstracts.dto;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface PageDtoDao<T> {
 
     List<T> getItems(Map<String, Object> params);
 
     int getTotalResultCount(Map<String, Object> params);
+
+    /**
+     * @return параметры, от которых зависит getTotalResultCount. По ним кэшируется count для CountPolicy.ESTIMATED
+     */
+    Set<String> getCountParams();
 }
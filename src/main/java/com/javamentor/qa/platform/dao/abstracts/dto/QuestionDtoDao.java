@@ -9,5 +9,5 @@ import java.util.Optional;
  */
 
 public interface QuestionDtoDao {
-    Optional<QuestionDto> getQuestionByQuestionIdAndUserId(Long questionId, Long userId);
+    Optional<QuestionDto> getQuestionById(Long questionId);
 }
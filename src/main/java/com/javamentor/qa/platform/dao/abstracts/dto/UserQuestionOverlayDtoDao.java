@@ -0,0 +1,9 @@
+package com.javamentor.qa.platform.dao.abstracts.dto;
+
+import com.javamentor.qa.platform.models.dto.UserQuestionOverlayDto;
+
+import java.util.List;
+
+public interface UserQuestionOverlayDtoDao {
+    List<UserQuestionOverlayDto> getOverlaysByQuestionIds(Long userId, List<Long> questionIds);
+}
@@ -2,7 +2,12 @@ package com.javamentor.qa.platform.dao.abstracts.model;
 
 import com.javamentor.qa.platform.models.entity.chat.Chat;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 public interface ChatDao extends ReadOnlyDao<Chat, Long> {
 
+    void updateLastMessage(Long chatId, Long messageId, LocalDateTime persistDate, String preview);
 
+    void recomputeLastMessage(Collection<Long> chatIds);
 }
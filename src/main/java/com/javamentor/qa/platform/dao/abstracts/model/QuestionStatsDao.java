@@ -0,0 +1,13 @@
+package com.javamentor.qa.platform.dao.abstracts.model;
+
+import com.javamentor.qa.platform.models.entity.question.QuestionStats;
+import com.javamentor.qa.platform.models.entity.question.answer.VoteType;
+
+public interface QuestionStatsDao extends ReadWriteDao<QuestionStats, Long> {
+
+    void addVote(Long questionId, VoteType voteType);
+
+    void addAnswerCount(Long questionId, long delta);
+
+    void addViewCount(Long questionId, long delta);
+}
@@ -2,10 +2,19 @@ package com.javamentor.qa.platform.dao.abstracts.model;
 
 import com.javamentor.qa.platform.models.entity.question.QuestionViewed;
 
+import java.util.List;
+
 
 public interface QuestionViewedDao extends ReadWriteDao<QuestionViewed, Long> {
 
     Boolean isUserViewedQuestion(String email, Long questionId);
 
+
     Boolean persistQuestionViewed(QuestionViewed questionViewed);
+
+    /**
+     * Пишет пачку просмотров, пропуская уже записанные и просмотры удаленных вопросов или пользователей,
+     * и добавляет записанные просмотры к question_stats.view_count.
+     */
+    void persistViews(List<QuestionViewed> views);
 }
@@ -0,0 +1,8 @@
+package com.javamentor.qa.platform.dao.abstracts.model;
+
+import com.javamentor.qa.platform.models.entity.user.UserChatRead;
+
+public interface UserChatReadDao extends ReadWriteDao<UserChatRead, Long> {
+
+    void markRead(Long chatId, Long userId, Long messageId);
+}
@@ -0,0 +1,10 @@
+package com.javamentor.qa.platform.dao.abstracts.model;
+
+import com.javamentor.qa.platform.models.entity.user.reputation.UserReputation;
+
+public interface UserReputationDao extends ReadWriteDao<UserReputation, Long> {
+
+    void addCount(Long userId, long count);
+
+    int rebuildFromReputation();
+}
@@ -31,7 +31,7 @@ public class AnswerDtoDaoImpl
     public List<AnswerDto> getAllByQuestionId(Long id) {
         final String query =
                 "select a.id, a.user.id," +
-                        "(select sum(rep.count) from Reputation as rep where rep.author.id = a.user.id)," +
+                        "(select ur.count from UserReputation as ur where ur.userId = a.user.id)," +
                         "a.question.id," +
                         "a.htmlBody," +
                         "a.persistDateTime, " +
@@ -42,11 +42,11 @@ public class AnswerDtoDaoImpl
                         "(select u.imageLink from User as u where u.id = a.user.id)," +
                         "(select u.nickname from User as u where u.id = a.user.id) " +
                         "from Answer as a " +
-                        "join VoteAnswer as v "+
+                        "left join VoteAnswer as v "+
                         "on v.answer.id = a.id "+
                         "where a.question.id = :id and a.isDeleted = false " +
                         "group by a.id " +
-                        "order by a.isHelpful desc, sum(case v.vote when 'UP_VOTE' then 1 else -1 end) desc";
+                        "order by a.isHelpful desc, sum(case v.vote when 'UP_VOTE' then 1 when 'DOWN_VOTE' then -1 else 0 end) desc";
 
 
         return (List<AnswerDto>) entityManager.createQuery(query)
@@ -87,7 +87,7 @@ public class AnswerDtoDaoImpl
                 "SELECT new com.javamentor.qa.platform.models.dto.AnswerDto(" +
                         "a.id, " +
                         "a.user.id, " +
-                        "(SELECT SUM(r.count) FROM Reputation AS r WHERE r.author.id = a.user.id), " +
+                        "(SELECT ur.count FROM UserReputation AS ur WHERE ur.userId = a.user.id), " +
                         " a.question.id," +
                         "a.htmlBody, " +
                         "a.persistDateTime, " +
@@ -19,9 +19,9 @@ public class BookMarksDtoDaoImpl implements BookMarksDtoDao {
         return entityManager.createQuery(
                 "select new com.javamentor.qa.platform.models.dto.BookMarksDto(bm.question.id, " +
                         "bm.question.title, " +
-                        "(select (count (an.id)) from Answer as an where an.question.id = bm.id), " +
-                        "(select (count (qu.id)) from VoteQuestion as qu where qu.question.id = bm.id), " +
-                        "(select (count (vi.id)) from QuestionViewed as vi where vi.question.id = bm.id), " +
+                        "(select (count (an.id)) from Answer as an where an.question.id = bm.question.id), " +
+                        "(select (count (qu.id)) from VoteQuestion as qu where qu.question.id = bm.question.id), " +
+                        "(select (count (vi.id)) from QuestionViewed as vi where vi.question.id = bm.question.id), " +
                         "bm.question.persistDateTime)" +
                         "from BookMarks bm " +
                         "where bm.user.id =: userId", BookMarksDto.class
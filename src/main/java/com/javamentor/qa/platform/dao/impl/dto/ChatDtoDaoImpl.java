@@ -28,17 +28,17 @@ public class ChatDtoDaoImpl implements ChatDtoDao {
                             "else " +
                             "(select gc.imageChat from GroupChat as gc where gc.id = ch.id)" +
                         "end , "+
-                        "m.message, " +
+                        "ch.lastMessagePreview, " +
                         "case when exists(" +
                             "select ucp " +
                             "from UserChatPin ucp " +
                             "where ucp.chat.id = ch.id and ucp.user.id = :userId) " +
                             "then true else false end " +
-                        ", m.persistDate) " +
+                        ", ch.lastMessageAt) " +
                         "from Chat as ch " +
-                        "join Message as m  on ch.id = m.chat.id " +
-                        "left join GroupChat as gc on m.chat.id = gc.chat.id " +
-                        "left join SingleChat as sc on m.chat.id = sc.chat.id " +
+                        "join ch.lastMessage as m " +
+                        "left join GroupChat as gc on ch.id = gc.chat.id " +
+                        "left join SingleChat as sc on ch.id = sc.chat.id " +
                         "left join User as u on m.userSender.id = u.id "+
                         "where " +
                         "(upper(gc.title) like upper(:searchString) " +
@@ -57,9 +57,7 @@ public class ChatDtoDaoImpl implements ChatDtoDao {
                         "((sc.userOne = :userId or sc.useTwo = :userId)" +
                         "or " +
                         "ch.id in (select g.id from GroupChat as g " +
-                            "join g.users as ghu on ghu.id = :userId)) " +
-                        "and " +
-                        "m.persistDate = (select max(mes.persistDate) from Message as mes where mes.chat.id = ch.id) "
+                            "join g.users as ghu on ghu.id = :userId)) "
                         , ChatDto.class)
                 .setParameter("searchString", "%" + searchedString + "%")
                 .setParameter("userId", userId)
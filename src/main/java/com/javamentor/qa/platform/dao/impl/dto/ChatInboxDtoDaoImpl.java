@@ -0,0 +1,56 @@
+package com.javamentor.qa.platform.dao.impl.dto;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.ChatInboxDtoDao;
+import com.javamentor.qa.platform.models.dto.ChatInboxDto;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+@Repository
+public class ChatInboxDtoDaoImpl implements ChatInboxDtoDao {
+
+    /** Больше непрочитанных в одном чате не считается: в общем чате их могут быть сотни тысяч */
+    public static final int UNREAD_LIMIT = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Все счетчики одним агрегирующим запросом. Чаты, в которых последнее сообщение (chat.last_message_at)
+     * не новее отметки прочтения, отбрасываются без чтения сообщений; в остальных считаются
+     * чужие сообщения после отметки по индексу message (chat_id, persist_date), но не больше UNREAD_LIMIT на чат.
+     */
+    @Override
+    public ChatInboxDto getInbox(Long userId) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "WITH user_chats AS (" +
+                                "SELECT sc.chat_id FROM single_chat sc " +
+                                "JOIN chat c ON c.id = sc.chat_id " +
+                                "WHERE c.last_message_at IS NOT NULL " +
+                                "AND ((sc.user_one_id = :userId AND sc.is_delete_one = false) " +
+                                "OR (sc.use_two_id = :userId AND sc.is_delete_two = false)) " +
+                                "UNION ALL " +
+                                "SELECT ghu.chat_id FROM groupchat_has_users ghu WHERE ghu.user_id = :userId), " +
+                                "unread AS (" +
+                                "SELECT uc.chat_id, " +
+                                "(SELECT count(*) FROM (SELECT 1 FROM message m " +
+                                "WHERE m.chat_id = uc.chat_id " +
+                                "AND m.persist_date > coalesce(ucr.last_read_at, '-infinity') " +
+                                "AND m.user_sender_id <> :userId " +
+                                "LIMIT :unreadLimit) l) AS message_count " +
+                                "FROM user_chats uc " +
+                                "JOIN chat c ON c.id = uc.chat_id " +
+                                "LEFT JOIN user_chat_read ucr ON ucr.chat_id = uc.chat_id AND ucr.user_id = :userId " +
+                                "WHERE c.last_message_at > coalesce(ucr.last_read_at, '-infinity')) " +
+                                "SELECT (SELECT count(*) FROM user_chats), " +
+                                "(SELECT count(*) FROM unread WHERE message_count > 0), " +
+                                "(SELECT cast(coalesce(sum(message_count), 0) AS bigint) FROM unread), " +
+                                "(SELECT count(*) FROM unread WHERE message_count >= :unreadLimit)")
+                .setParameter("userId", userId)
+                .setParameter("unreadLimit", UNREAD_LIMIT)
+                .getSingleResult();
+        return new ChatInboxDto(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(), ((Number) row[3]).longValue() > 0);
+    }
+}
@@ -2,16 +2,12 @@ package com.javamentor.qa.platform.dao.impl.dto;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.CommentDtoDao;
 import com.javamentor.qa.platform.models.dto.CommentDto;
-import com.javamentor.qa.platform.models.dto.TagDto;
+import com.javamentor.qa.platform.models.dto.CommentDtoByAnswerIdResultTransformer;
 import org.hibernate.query.Query;
-import org.hibernate.transform.ResultTransformer;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,7 +26,7 @@ public class CommentDtoDaoImpl implements CommentDtoDao {
                                 "comment.text, " +
                                 "comment.user.id, " +
                                 "comment.user.fullName, " +
-                                "(SELECT SUM (r.count) FROM Reputation r WHERE r.author.id = comment.user.id), " +
+                                "(SELECT ur.count FROM UserReputation ur WHERE ur.userId = comment.user.id), " +
                                 "comment.persistDateTime)" +
                                 "FROM Comment comment " +
                                 "left JOIN CommentQuestion commentQuestion ON (comment.id = commentQuestion.comment.id) " +
@@ -49,7 +45,7 @@ public class CommentDtoDaoImpl implements CommentDtoDao {
                                 "comment.text, " +
                                 "comment.user.id, " +
                                 "comment.user.fullName, " +
-                                "(SELECT (sum(r.count)) FROM Reputation r WHERE r.author.id = comment.user.id), " +
+                                "(SELECT ur.count FROM UserReputation ur WHERE ur.userId = comment.user.id), " +
                                 "comment.persistDateTime)" +
                                 "FROM Comment comment WHERE comment.id = :id ", CommentDto.class)
                 .setParameter("id", id)
@@ -62,7 +58,7 @@ public class CommentDtoDaoImpl implements CommentDtoDao {
         final String  queryCommentDto = "select comment.id, " +
                 "comment.text, comment.user.id, " +
                 "comment.user.fullName, " +
-                "(SELECT SUM (r.count) FROM Reputation r WHERE r.author.id = comment.user.id), " +
+                "(SELECT ur.count FROM UserReputation ur WHERE ur.userId = comment.user.id), " +
                 "comment.persistDateTime, commentAnswer.answer.id " +
                 "from Comment comment " +
                 "inner join CommentAnswer commentAnswer " +
@@ -71,30 +67,7 @@ public class CommentDtoDaoImpl implements CommentDtoDao {
 
         List<Map<Long, List<CommentDto>>> listMapCommentDto =  entityManager.createQuery(queryCommentDto).setParameter("ids", ids)
                 .unwrap(Query.class)
-                .setResultTransformer(new ResultTransformer() {
-                    Map<Long, List<CommentDto>> map = new HashMap<>();
-
-                    @Override
-                    public Object transformTuple(Object[] objects, String[] strings) {
-                        List<CommentDto> commentDtoList = map.computeIfAbsent(
-                                (Long) objects[6],
-                                id -> new ArrayList<>());
-                        commentDtoList.add(new CommentDto((Long) objects[0],
-                                (String) objects[1],
-                                (Long) objects[2],
-                                (String) objects[3],
-                                (Long) objects[4],
-                                (LocalDateTime) objects[5]));
-                        return map;
-                    }
-
-                    @Override
-                    public List<Map<Long, List<CommentDto>>> transformList(List list) {
-                        List<Map<Long, List<CommentDto>>> resultList = new ArrayList<>();
-                        resultList.add(map);
-                        return resultList;
-                    }
-                })
+                .setResultTransformer(new CommentDtoByAnswerIdResultTransformer())
                 .getResultList();
         return listMapCommentDto.get(0);
     }
@@ -3,11 +3,9 @@ package com.javamentor.qa.platform.dao.impl.dto;
 import com.javamentor.qa.platform.dao.abstracts.dto.QuestionDtoDao;
 import com.javamentor.qa.platform.dao.util.SingleResultUtil;
 import com.javamentor.qa.platform.models.dto.QuestionDto;
-import com.javamentor.qa.platform.models.entity.question.answer.VoteType;
 import com.javamentor.qa.platform.models.entity.user.User;
 import org.hibernate.query.Query;
 import org.hibernate.transform.ResultTransformer;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -28,7 +26,7 @@ public class QuestionDtoDaoImpl implements QuestionDtoDao {
 
     @SuppressWarnings("unchecked")
     @Override
-    public Optional<QuestionDto> getQuestionByQuestionIdAndUserId(Long questionId, Long userId) {
+    public Optional<QuestionDto> getQuestionById(Long questionId) {
 
         return SingleResultUtil.getSingleResultOrNull(entityManager.createQuery(
                         "select q.id, " +
@@ -39,19 +37,15 @@ public class QuestionDtoDaoImpl implements QuestionDtoDao {
                                 "u.id,  " +
                                 "u.fullName,  " +
                                 "u.imageLink, " +
-                                "coalesce((select sum(r.count) from Reputation r where r.author.id = u.id), 0), " +
+                                "coalesce((select ur.count from UserReputation ur where ur.userId = u.id), 0), " +
                                 "coalesce((select sum(case v.vote  when 'UP_VOTE' then 1 else -1 end) from VoteQuestion v where v.question.id=q.id), 0), " +
                                 "(select count(qv.id) from QuestionViewed qv where qv.question.id = q.id), " +
-                                "(select count(a.id) from Answer a where a.question.id = q.id), " +
-                                "(select quv.vote from VoteQuestion quv where quv.question.id = q.id and quv.user.id =:userId), " +
-                                "(select count(b) from BookMarks b where b.question.id = :questionId and b.user.id = :userId), " +
-                                "(select (case when count(a) > 0 then true else false end) from Answer a where a.question.id = :questionId and a.user.id = :userId)" +
+                                "(select count(a.id) from Answer a where a.question.id = q.id and a.isDeleted = false) " +
                                 "from Question  q " +
                                 "LEFT join q.user u " +
                                 "where q.id =:questionId")
 
                 .setParameter("questionId", questionId)
-                .setParameter("userId", userId)
                 .unwrap(Query.class)
                 .setResultTransformer(new ResultTransformer() {
 
@@ -71,9 +65,6 @@ public class QuestionDtoDaoImpl implements QuestionDtoDao {
                                               questionDto.setCountValuable(((Long) tuple[9]).intValue());
                                               questionDto.setViewCount(((Long) tuple[10]).intValue());
                                               questionDto.setCountAnswer(((Long) tuple[11]).intValue());
-                                              questionDto.setIsUserVote((Enum<VoteType>) tuple[12]);
-                                              questionDto.setIsUserBookmark(tuple[13].equals(1L));
-                                              questionDto.setIsUserAnswerVote((Boolean) tuple[14]);
 
                                               return questionDto;
                                           }
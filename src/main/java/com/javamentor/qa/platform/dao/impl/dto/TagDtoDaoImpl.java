@@ -2,13 +2,11 @@ package com.javamentor.qa.platform.dao.impl.dto;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.TagDtoDao;
 import com.javamentor.qa.platform.models.dto.TagDto;
-import org.hibernate.transform.ResultTransformer;
+import com.javamentor.qa.platform.models.dto.TagDtoByQuestionIdResultTransformer;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -50,30 +48,7 @@ public class TagDtoDaoImpl implements TagDtoDao {
                                 "where q.id in :ids ")
                 .setParameter("ids", ids)
                 .unwrap(org.hibernate.query.Query.class)
-                .setResultTransformer(new ResultTransformer() {
-                    Map<Long, List<TagDto>> map = new HashMap<>();
-
-                    @Override
-                    public Object transformTuple(Object[] objects, String[] strings) {
-
-                        List<TagDto> tagDtoList = map.computeIfAbsent(
-                                (Long) objects[0],
-                                id -> new ArrayList<>());
-                        tagDtoList.add(new TagDto(
-                                (Long) objects[1],
-                                (String) objects[2],
-                                (String) objects[3]
-                        ));
-                        return map;
-                    }
-
-                    @Override
-                    public List<Map<Long, List<TagDto>>> transformList(List list) {
-                        List<Map<Long, List<TagDto>>> resultList = new ArrayList<>();
-                        resultList.add(map);
-                        return resultList;
-                    }
-                })
+                .setResultTransformer(new TagDtoByQuestionIdResultTransformer())
                 .getResultList();
 
         return list.get(0);
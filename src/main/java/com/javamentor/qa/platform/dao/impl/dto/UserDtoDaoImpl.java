@@ -37,7 +37,7 @@ public class UserDtoDaoImpl implements UserDtoDao {
                                 "user.fullName, " +
                                 "user.imageLink, " +
                                 "user.city, " +
-                                "(select coalesce (max(rep.count),0) from Reputation rep where rep.author.id =: id) " +
+                                "CAST(coalesce((select ur.count from UserReputation ur where ur.userId = user.id), 0) as int) " +
                                 ") " +
                                 "from User user where user.id =: id "
                         , UserDto.class)
@@ -76,7 +76,7 @@ public class UserDtoDaoImpl implements UserDtoDao {
     @Override
     public List<UserDto> getTop10UserDtoForAnswer() {
         String queryH = "select u.id, u.email, u.fullName, u.imageLink, u.city," +
-                "CAST((SELECT COALESCE(SUM(r.count),0) FROM Reputation as r WHERE r.author.id = u.id)as int) as r0, " +
+                "CAST(COALESCE((SELECT ur.count FROM UserReputation as ur WHERE ur.userId = u.id), 0) as int) as r0, " +
                 "(SELECT count(a.id) from Answer as a where a.persistDateTime > :date and a.user.id = u.id) AS r1, " +
                 "((SELECT count(va.user.id) from VoteAnswer as va where va.user.id = u.id and va.vote = 'UP_VOTE') - " +
                 " (SELECT count(va.user.id) from VoteAnswer as va where va.user.id = u.id and va.vote = 'DOWN_VOTE')) as r2 " +
@@ -111,7 +111,7 @@ public class UserDtoDaoImpl implements UserDtoDao {
     @Override
     public List<UserDto> getTop10UserDtoForAnswerOnTheMonth() {
         String queryH = "select u.id, u.email, u.fullName, u.imageLink, u.city," +
-                "CAST((SELECT COALESCE(SUM(r.count),0) FROM Reputation as r WHERE r.author.id = u.id)as int) as r0, " +
+                "CAST(COALESCE((SELECT ur.count FROM UserReputation as ur WHERE ur.userId = u.id), 0) as int) as r0, " +
                 "(SELECT count(a.id) from Answer as a where a.persistDateTime > :date and a.user.id = u.id) AS r1, " +
                 "((SELECT count(va.user.id) from VoteAnswer as va where va.user.id = u.id and va.vote = 'UP_VOTE') - " +
                 " (SELECT count(va.user.id) from VoteAnswer as va where va.user.id = u.id and va.vote = 'DOWN_VOTE')) as r2 " +
@@ -146,7 +146,7 @@ public class UserDtoDaoImpl implements UserDtoDao {
     @Override
     public List<UserDto> getTop10UserDtoForAnswerOnTheYear() {
         String queryH = "select u.id, u.email, u.fullName, u.imageLink, u.city," +
-                "CAST((SELECT COALESCE(SUM(r.count),0) FROM Reputation as r WHERE r.author.id = u.id)as int) as r0, " +
+                "CAST(COALESCE((SELECT ur.count FROM UserReputation as ur WHERE ur.userId = u.id), 0) as int) as r0, " +
                 "(SELECT count(a.id) from Answer as a where a.persistDateTime > :date and a.user.id = u.id) AS r1, " +
                 "((SELECT count(va.user.id) from VoteAnswer as va where va.user.id = u.id and va.vote = 'UP_VOTE') - " +
                 " (SELECT count(va.user.id) from VoteAnswer as va where va.user.id = u.id and va.vote = 'DOWN_VOTE')) as r2 " +
@@ -0,0 +1,30 @@
+package com.javamentor.qa.platform.dao.impl.dto;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.UserQuestionOverlayDtoDao;
+import com.javamentor.qa.platform.models.dto.UserQuestionOverlayDto;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Repository
+public class UserQuestionOverlayDtoDaoImpl implements UserQuestionOverlayDtoDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserQuestionOverlayDto> getOverlaysByQuestionIds(Long userId, List<Long> questionIds) {
+        return entityManager.createQuery(
+                "select new com.javamentor.qa.platform.models.dto.UserQuestionOverlayDto(q.id, " +
+                        "(select v.vote from VoteQuestion v where v.question.id = q.id and v.user.id = :userId), " +
+                        "(select count(b.id) from BookMarks b where b.question.id = q.id and b.user.id = :userId), " +
+                        "(select count(a.id) from Answer a where a.question.id = q.id and a.user.id = :userId)) " +
+                        "from Question q " +
+                        "where q.id in :questionIds", UserQuestionOverlayDto.class)
+                .setParameter("userId", userId)
+                .setParameter("questionIds", questionIds)
+                .getResultList();
+    }
+}
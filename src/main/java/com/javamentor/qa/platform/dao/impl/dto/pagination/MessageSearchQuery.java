@@ -0,0 +1,115 @@
+package com.javamentor.qa.platform.dao.impl.dto.pagination;
+
+import com.javamentor.qa.platform.dao.util.PageParams;
+import com.javamentor.qa.platform.models.dto.MessageDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Неточный поиск сообщений по тексту через pg_trgm (GIN индекс message_message_trgm_idx, см. V10).
+ * Сообщение подходит, если содержит строку без учета регистра (ILIKE) или похоже на нее с опечатками
+ * (оператор word_similarity <%). Оба условия обслуживаются одним индексом.
+ * Сортируются по похожести только первые COUNT_LIMIT совпадений, найденных по индексу: сначала самые похожие,
+ * при равной похожести - по ID. Столько же совпадений учитывает totalResultCount, так что дальше страниц нет.
+ * <p>
+ * Из строки короче трех символов не получается ни одной триграммы, и индекс не помогает. Такая строка
+ * ищется через ILIKE только среди последних SHORT_TEXT_SCAN_LIMIT сообщений, сначала новые.
+ * totalResultCount считается не дальше COUNT_LIMIT совпадений.
+ */
+final class MessageSearchQuery {
+
+    private static final int MIN_TRIGRAM_LENGTH = 3;
+    private static final int SHORT_TEXT_SCAN_LIMIT = 10000;
+    private static final int COUNT_LIMIT = 1000;
+
+    private static final String SELECT_ITEMS =
+            "SELECT m.id, m.message, u.nickname, u.id AS user_id, u.image_link, m.persist_date FROM ";
+
+    private static final String JOIN_SENDER = "JOIN user_entity u ON u.id = m.user_sender_id ";
+
+    private static final String MATCH =
+            "WHERE (m.message ILIKE concat('%', :pattern, '%') OR :text <% m.message) ";
+
+    private static final String CONTAINS = "WHERE m.message ILIKE concat('%', :pattern, '%') ";
+
+    /** Чаты, в которых состоит пользователь :userId, плюс глобальный чат */
+    static final String USER_CHATS =
+            "AND (EXISTS (SELECT 1 FROM single_chat sc WHERE sc.chat_id = m.chat_id " +
+                    "AND (sc.user_one_id = :userId OR sc.use_two_id = :userId)) " +
+                    "OR EXISTS (SELECT 1 FROM groupchat_has_users ghu WHERE ghu.chat_id = m.chat_id " +
+                    "AND ghu.user_id = :userId) " +
+                    "OR EXISTS (SELECT 1 FROM group_chat gc WHERE gc.chat_id = m.chat_id AND gc.is_global = true)) ";
+
+    private final String condition;
+    private final String recentMessages;
+    private final String candidates;
+
+    /**
+     * @param condition условие на m, начинается с AND, например чат или чаты пользователя
+     */
+    MessageSearchQuery(String condition) {
+        this.condition = condition;
+        this.recentMessages = "(SELECT * FROM message m WHERE true " + condition +
+                "ORDER BY m.id DESC LIMIT " + SHORT_TEXT_SCAN_LIMIT + ") m ";
+        this.candidates = "(SELECT * FROM message m " + MATCH + condition + "LIMIT " + COUNT_LIMIT + ") m ";
+    }
+
+    List<MessageDto> getItems(EntityManager entityManager, String text, Map<String, Object> params) {
+
+        String sql = isShort(text)
+                ? SELECT_ITEMS + recentMessages + JOIN_SENDER + CONTAINS + "ORDER BY m.id DESC"
+                : SELECT_ITEMS + candidates + JOIN_SENDER + "ORDER BY word_similarity(:text, m.message) DESC, m.id";
+        Query query = entityManager.createNativeQuery(sql)
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params));
+        setParameters(query, text, params);
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new MessageDto(
+                        ((BigInteger) row[0]).longValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        ((BigInteger) row[3]).longValue(),
+                        (String) row[4],
+                        row[5] == null ? null : ((Timestamp) row[5]).toLocalDateTime()))
+                .collect(Collectors.toList());
+    }
+
+    int getTotalResultCount(EntityManager entityManager, String text, Map<String, Object> params) {
+        String matches = isShort(text)
+                ? "SELECT 1 FROM " + recentMessages + CONTAINS
+                : "SELECT 1 FROM message m " + MATCH + condition;
+        Query query = entityManager.createNativeQuery(
+                "SELECT count(*) FROM (" + matches + "LIMIT " + COUNT_LIMIT + ") c");
+        setParameters(query, text, params);
+        return ((BigInteger) query.getSingleResult()).intValue();
+    }
+
+    private static boolean isShort(String text) {
+        return text.length() < MIN_TRIGRAM_LENGTH;
+    }
+
+    private void setParameters(Query query, String text, Map<String, Object> params) {
+        query.setParameter("pattern", escapeLike(text));
+        if (!isShort(text)) {
+            query.setParameter("text", text);
+        }
+        if (condition.contains(":userId")) {
+            query.setParameter("userId", params.get("userId"));
+        }
+        if (condition.contains(":chatId")) {
+            query.setParameter("chatId", params.get("chatId"));
+        }
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
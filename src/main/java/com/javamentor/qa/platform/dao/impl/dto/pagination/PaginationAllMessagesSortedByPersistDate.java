@@ -1,36 +1,42 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
-import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.KeysetPageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
 import com.javamentor.qa.platform.models.dto.MessageDto;
+import com.javamentor.qa.platform.models.dto.PageCursor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
-public class PaginationAllMessagesSortedByPersistDate implements PageDtoDao<MessageDto> {
+public class PaginationAllMessagesSortedByPersistDate implements KeysetPageDtoDao<MessageDto> {
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public List<MessageDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
         Long chatId = (Long) params.get("chatId");
         Boolean sortAscendingFlag = (Boolean) params.get("sortAscendingFlag");
+        PageCursor cursor = (PageCursor) params.get("pageCursor");
         String sql = "ORDER BY m.persistDate ";
+        String seek = "";
 
         if (sortAscendingFlag) {
-            sql = sql + "asc";
+            sql = sql + "asc, m.id asc";
+            seek = "AND (m.persistDate > :cursorKey OR (m.persistDate = :cursorKey AND m.id > :cursorId)) ";
         } else {
-            sql = sql + "desc";
+            sql = sql + "desc, m.id desc";
+            seek = "AND (m.persistDate < :cursorKey OR (m.persistDate = :cursorKey AND m.id < :cursorId)) ";
         }
 
-        return entityManager.createQuery(
+        TypedQuery<MessageDto> query = entityManager.createQuery(
                         "SELECT new com.javamentor.qa.platform.models.dto.MessageDto" +
                                 "(m.id," +
                                 "m.message, " +
@@ -40,12 +46,16 @@ public class PaginationAllMessagesSortedByPersistDate implements PageDtoDao<Mess
                                 "m.persistDate)" +
                                 "FROM Message m " +
                                 "JOIN User u ON (m.userSender.id = u.id) " +
-                                "WHERE m.chat.id = :chatId " + sql
+                                "WHERE m.chat.id = :chatId " + (cursor != null ? seek : "") + sql
                         , MessageDto.class)
                 .setParameter("chatId", chatId)
-                .setFirstResult((page - 1) * itemsOnPage)
-                .setMaxResults(itemsOnPage)
-                .getResultList();
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params));
+        if (cursor != null) {
+            query.setParameter("cursorKey", cursor.getKeyAsDateTime())
+                    .setParameter("cursorId", cursor.getId());
+        }
+        return query.getResultList();
     }
 
     @Override
@@ -55,4 +65,14 @@ public class PaginationAllMessagesSortedByPersistDate implements PageDtoDao<Mess
                 .setParameter("chatId", params.get("chatId"));
         return (int) queryTotal.getSingleResult();
     }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("chatId");
+    }
+
+    @Override
+    public PageCursor getCursor(MessageDto item) {
+        return new PageCursor(item.getPersistDateTime(), item.getId());
+    }
 }
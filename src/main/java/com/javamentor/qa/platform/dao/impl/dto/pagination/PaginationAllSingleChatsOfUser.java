@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
 import com.javamentor.qa.platform.models.dto.SingleChatDto;
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -10,19 +11,29 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 @NoArgsConstructor
 public class PaginationAllSingleChatsOfUser implements PageDtoDao<SingleChatDto> {
 
+    /** Чаты пользователя :userId, которые он не удалил у себя и в которых есть сообщения */
+    private static final String USER_CHATS =
+            "from SingleChat singleChat " +
+                    "join singleChat.chat chat " +
+                    "where chat.lastMessageAt is not null " +
+                    "and (singleChat.userOne.id = :userId " +
+                    "or singleChat.useTwo.id = :userId) " +
+                    "and " +
+                    "case when singleChat.userOne.id = :userId then singleChat.isDeleteOne " +
+                    "else singleChat.isDeleteTwo end = false ";
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public List<SingleChatDto> getItems(Map<String, Object> params) {
 
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
 
         return entityManager.createQuery("select new com.javamentor.qa.platform.models.dto.SingleChatDto(" +
                         "singleChat.chat.id, " +
@@ -34,37 +45,24 @@ public class PaginationAllSingleChatsOfUser implements PageDtoDao<SingleChatDto>
                             "when singleChat.userOne.id = :userId then singleChat.useTwo.imageLink " +
                             "else singleChat.userOne.imageLink " +
                         "end, " +
-                        "message.message, message.persistDate) " +
-                        "from SingleChat singleChat " +
-                        "join Message message on message.chat.id = singleChat.chat.id " +
-                        "where message.persistDate " +
-                        "in (" +
-                            "select max(messageMaxDate.persistDate) " +
-                            "from Message messageMaxDate " +
-                            "where " +
-                            "messageMaxDate.chat.id = singleChat.chat.id) " +
-                        "and (singleChat.userOne.id = :userId " +
-                        "or singleChat.useTwo.id = :userId) " +
-                        "and " +
-                        "case when singleChat.userOne.id = :userId then singleChat.isDeleteOne " +
-                        "else singleChat.isDeleteTwo end = false " +
-                        "order by message.persistDate desc")
+                        "chat.lastMessagePreview, chat.lastMessageAt) " +
+                        USER_CHATS +
+                        "order by chat.lastMessageAt desc, chat.id desc")
                 .setParameter("userId", params.get("userId"))
-                .setFirstResult((page - 1) * itemsOnPage)
-                .setMaxResults(itemsOnPage)
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params))
                 .getResultList();
     }
 
     @Override
     public int getTotalResultCount(Map<String, Object> params) {
-        final String query =
-                "select singleChat from SingleChat singleChat " +
-                        "join fetch singleChat.userOne userOne " +
-                        "join fetch singleChat.useTwo userTwo " +
-                        "where userOne.id = :userId " +
-                        "or userTwo.id = :userId";
+        return ((Number) entityManager.createQuery("select count(singleChat) " + USER_CHATS)
+                .setParameter("userId", params.get("userId"))
+                .getSingleResult()).intValue();
+    }
 
-        return entityManager.createQuery(query).setParameter("userId", params.get("userId"))
-                .getResultList().size();
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("userId");
     }
 }
@@ -1,26 +1,29 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
-import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.KeysetPageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
+import com.javamentor.qa.platform.models.dto.PageCursor;
 import com.javamentor.qa.platform.models.dto.TagViewDto;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
-public class PaginationAllTagsSortedByDate implements PageDtoDao<TagViewDto> {
+public class PaginationAllTagsSortedByDate implements KeysetPageDtoDao<TagViewDto> {
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public List<TagViewDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
+        PageCursor cursor = (PageCursor) params.get("pageCursor");
 
-        return entityManager.createQuery(
+        TypedQuery<TagViewDto> query = entityManager.createQuery(
                         "select new com.javamentor.qa.platform.models.dto.TagViewDto" +
                                 "(t.id, " +
                                 "t.name, " +
@@ -35,10 +38,16 @@ public class PaginationAllTagsSortedByDate implements PageDtoDao<TagViewDto> {
                                 "where t.id = qh.id and q.persistDateTime " +
                                 "between (current_date-7) and current_date ) as one_week) " +
                                 "from Tag t " +
-                                "order by persistDateTime desc", TagViewDto.class)
-                .setFirstResult((page - 1) * itemsOnPage)
-                .setMaxResults(itemsOnPage)
-                .getResultList();
+                                (cursor != null ? "where t.persistDateTime < :cursorKey " +
+                                        "or (t.persistDateTime = :cursorKey and t.id < :cursorId) " : "") +
+                                "order by t.persistDateTime desc, t.id desc", TagViewDto.class)
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params));
+        if (cursor != null) {
+            query.setParameter("cursorKey", cursor.getKeyAsDateTime())
+                    .setParameter("cursorId", cursor.getId());
+        }
+        return query.getResultList();
     }
 
     @Override
@@ -47,4 +56,14 @@ public class PaginationAllTagsSortedByDate implements PageDtoDao<TagViewDto> {
                 ("Select CAST(count(tag.id) as int) AS countTags from Tag tag")
                 .getSingleResult();
     }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of();
+    }
+
+    @Override
+    public PageCursor getCursor(TagViewDto item) {
+        return new PageCursor(item.getPersistDateTime(), item.getId());
+    }
 }
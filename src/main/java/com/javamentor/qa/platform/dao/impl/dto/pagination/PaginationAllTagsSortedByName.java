@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
 import com.javamentor.qa.platform.models.dto.TagViewDto;
 import org.hibernate.Filter;
 import org.hibernate.Session;
@@ -11,6 +12,7 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class PaginationAllTagsSortedByName implements PageDtoDao<TagViewDto> {
@@ -20,8 +22,6 @@ public class PaginationAllTagsSortedByName implements PageDtoDao<TagViewDto> {
 
     @Override
     public List<TagViewDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
         String tagsFilter = (String) params.get("tagsFilter");
 
         Query query = entityManager.createQuery(
@@ -36,8 +36,8 @@ public class PaginationAllTagsSortedByName implements PageDtoDao<TagViewDto> {
                         "from Tag t " +
                         "WHERE t.name LIKE :tagsFilter " +
                         "order by cast(t.questions.size as long) desc, t.name ", TagViewDto.class);
-        query.setFirstResult((page - 1) * itemsOnPage);
-        query.setMaxResults(itemsOnPage);
+        query.setFirstResult(PageParams.offset(params));
+        query.setMaxResults(PageParams.limit(params));
         query.setParameter("tagsFilter", "%" + tagsFilter + "%");
         return query.getResultList();
     }
@@ -50,4 +50,9 @@ public class PaginationAllTagsSortedByName implements PageDtoDao<TagViewDto> {
         queryTotal.setParameter("tagsFilter", "%" + tagsFilter + "%");
         return (int) queryTotal.getSingleResult();
     }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("tagsFilter");
+    }
 }
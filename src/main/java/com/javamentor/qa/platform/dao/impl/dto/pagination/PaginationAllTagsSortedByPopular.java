@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
 import com.javamentor.qa.platform.models.dto.TagViewDto;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class PaginationAllTagsSortedByPopular implements PageDtoDao<TagViewDto> {
@@ -18,8 +20,6 @@ public class PaginationAllTagsSortedByPopular implements PageDtoDao<TagViewDto>
 
     @Override
     public List<TagViewDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
         String tagsFilter = (String) params.get("tagsFilter");
 
         Query query = entityManager.createQuery(
@@ -34,8 +34,8 @@ public class PaginationAllTagsSortedByPopular implements PageDtoDao<TagViewDto>
                         "from Tag t " +
                         "WHERE t.name LIKE :tagsFilter " +
                         "order by cast(t.questions.size as long) desc, t.name ", TagViewDto.class);
-        query.setFirstResult((page - 1) * itemsOnPage);
-        query.setMaxResults(itemsOnPage);
+        query.setFirstResult(PageParams.offset(params));
+        query.setMaxResults(PageParams.limit(params));
         query.setParameter("tagsFilter", "%" + tagsFilter + "%");
         return query.getResultList();
     }
@@ -48,4 +48,9 @@ public class PaginationAllTagsSortedByPopular implements PageDtoDao<TagViewDto>
         queryTotal.setParameter("tagsFilter", "%" + tagsFilter + "%");
         return (int) queryTotal.getSingleResult();
     }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("tagsFilter");
+    }
 }
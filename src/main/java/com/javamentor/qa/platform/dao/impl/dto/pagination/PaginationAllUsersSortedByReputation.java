@@ -1,6 +1,8 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
-import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.KeysetPageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
+import com.javamentor.qa.platform.models.dto.PageCursor;
 import com.javamentor.qa.platform.models.dto.UserDto;
 import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
@@ -8,9 +10,10 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
-public class PaginationAllUsersSortedByReputation implements PageDtoDao<UserDto> {
+public class PaginationAllUsersSortedByReputation implements KeysetPageDtoDao<UserDto> {
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -18,8 +21,7 @@ public class PaginationAllUsersSortedByReputation implements PageDtoDao<UserDto>
 
     @Override
     public List<UserDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
+        PageCursor cursor = (PageCursor) params.get("pageCursor");
         Query query = entityManager.createQuery(
                 "select new com.javamentor.qa.platform.models.dto.UserDto (" +
                         "u.id, " +
@@ -27,15 +29,20 @@ public class PaginationAllUsersSortedByReputation implements PageDtoDao<UserDto>
                         "u.fullName, " +
                         "u.imageLink, " +
                         "u.city, " +
-                        "coalesce(CAST(sum(rep.count) as integer), 0)) " +
-                        "from User u left join Reputation rep on u.id = rep.author.id " +
-                        " WHERE u.email like concat('%', :filter, '%') " +
-                        " or u.fullName like concat('%', :filter, '%') " +
-                        "group by u.id,rep.author.id " +
-                        "order by sum(rep.count) desc, u.id", UserDto.class)
+                        "CAST(coalesce(ur.count, 0) as integer)) " +
+                        "from User u left join UserReputation ur on u.id = ur.userId " +
+                        " WHERE (u.email like concat('%', :filter, '%') " +
+                        " or u.fullName like concat('%', :filter, '%')) " +
+                        (cursor != null ? "and (coalesce(ur.count, 0) < :cursorKey " +
+                                "or (coalesce(ur.count, 0) = :cursorKey and u.id > :cursorId)) " : "") +
+                        "order by coalesce(ur.count, 0) desc, u.id", UserDto.class)
                         .setParameter("filter", params.get("filter"));
-        query.setFirstResult((page -1) * itemsOnPage);
-        query.setMaxResults(itemsOnPage);
+        if (cursor != null) {
+            query.setParameter("cursorKey", cursor.getKeyAsLong())
+                    .setParameter("cursorId", cursor.getId());
+        }
+        query.setFirstResult(PageParams.offset(params));
+        query.setMaxResults(PageParams.limit(params));
         return query.getResultList();
     }
 
@@ -48,4 +55,14 @@ public class PaginationAllUsersSortedByReputation implements PageDtoDao<UserDto>
                 .setParameter("filter", params.get("filter"));
         return ((Long) queryTotal.getSingleResult()).intValue();
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("filter");
+    }
+
+    @Override
+    public PageCursor getCursor(UserDto item) {
+        return new PageCursor(item.getReputation(), item.getId());
+    }
+}
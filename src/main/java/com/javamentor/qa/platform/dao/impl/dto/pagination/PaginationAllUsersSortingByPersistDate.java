@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
 import com.javamentor.qa.platform.models.dto.UserDto;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class PaginationAllUsersSortingByPersistDate implements PageDtoDao<UserDto> {
@@ -21,14 +23,14 @@ public class PaginationAllUsersSortingByPersistDate implements PageDtoDao<UserDt
         Query query = entityManager.createQuery("select new com.javamentor.qa.platform.models.dto.UserDto" +
                 " (user.id,user.email,user.fullName," +
                 " user.imageLink,user.city," +
-                " (select CAST(COALESCE(sum(reputation.count), 0) as int) from Reputation reputation where reputation.author = user)) " +
+                " CAST(COALESCE((select ur.count from UserReputation ur where ur.userId = user.id), 0) as int)) " +
                 " from User user" +
                 " WHERE user.email like concat('%', :filter, '%') " +
                 " or user.fullName like concat('%', :filter, '%') " +
                 " order by user.persistDateTime desc", UserDto.class)
                 .setParameter("filter", params.get("filter"));
-        query.setFirstResult(((int) params.get("currentPageNumber") - 1) * (int) params.get("itemsOnPage"));
-        query.setMaxResults((int) params.get("itemsOnPage"));
+        query.setFirstResult(PageParams.offset(params));
+        query.setMaxResults(PageParams.limit(params));
         return query.getResultList();
     }
 
@@ -41,4 +43,9 @@ public class PaginationAllUsersSortingByPersistDate implements PageDtoDao<UserDt
                 .setParameter("filter", params.get("filter"));
         return (int) queryTotal.getSingleResult();
     }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("filter");
+    }
 }
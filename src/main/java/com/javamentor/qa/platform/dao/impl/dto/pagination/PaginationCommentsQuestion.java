@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
 import com.javamentor.qa.platform.models.dto.CommentDto;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class PaginationCommentsQuestion implements PageDtoDao<CommentDto> {
@@ -18,18 +20,17 @@ public class PaginationCommentsQuestion implements PageDtoDao<CommentDto> {
 
     @Override
     public List<CommentDto> getItems(Map<String, Object> params) {
-        int itemsOnPage = (int) params.get("itemsOnPage");
         return entityManager.createQuery(
                         "SELECT new com.javamentor.qa.platform.models.dto.CommentDto" +
-                                "(c.id, c.text, c.user.id, c.user.fullName, SUM(r.count), c.persistDateTime)" +
+                                "(c.id, c.text, c.user.id, c.user.fullName, " +
+                                "(SELECT ur.count FROM UserReputation ur WHERE ur.userId = c.user.id), c.persistDateTime)" +
                                 "FROM CommentQuestion cq " +
                                 "JOIN Comment c ON cq.comment.id = c.id " +
-                                "JOIN Reputation r ON c.user.id = r.author.id " +
                                 "WHERE cq.question.id = :questionId " +
-                                "GROUP BY c.id, c.user.fullName", CommentDto.class)
+                                "ORDER BY c.id", CommentDto.class)
                 .setParameter("questionId", params.get("questionId"))
-                .setFirstResult(((int) params.get("currentPageNumber") - 1) * itemsOnPage)
-                .setMaxResults(itemsOnPage)
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params))
                 .getResultList();
     }
 
@@ -39,4 +40,9 @@ public class PaginationCommentsQuestion implements PageDtoDao<CommentDto> {
                 .setParameter("questionId", params.get("questionId"));
         return ((Long) queryTotal.getSingleResult()).intValue();
     }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("questionId");
+    }
 }
@@ -8,41 +8,29 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class PaginationFindMessagesInGlobalChatByText implements PageDtoDao<MessageDto> {
 
+    private static final MessageSearchQuery QUERY = new MessageSearchQuery(
+            "AND EXISTS (SELECT 1 FROM group_chat gc WHERE gc.chat_id = m.chat_id AND gc.is_global = true) ");
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public List<MessageDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
-
-        return entityManager.createQuery(
-                        "select new com.javamentor.qa.platform.models.dto.MessageDto" +
-                                "(m.id, m.message, m.userSender.nickname, m.userSender.id, m.userSender.imageLink, m.persistDate) " +
-                                "FROM Chat c " +
-                                "JOIN GroupChat gc ON c.id = gc.chat.id " +
-                                "JOIN Message m ON c.id = m.chat.id " +
-                                "WHERE gc.isGlobal = true AND LOWER(m.message) LIKE LOWER(CONCAT('%', :text, '%'))"
-                        , MessageDto.class)
-                .setParameter("text", params.get("text"))
-                .setFirstResult((page - 1) * itemsOnPage)
-                .setMaxResults(itemsOnPage)
-                .getResultList();
+        return QUERY.getItems(entityManager, (String) params.get("text"), params);
     }
 
     @Override
     public int getTotalResultCount(Map<String, Object> params) {
-        return (int) entityManager.createQuery(
-                        "SELECT CAST(count(m) as int) " +
-                                "FROM Chat c " +
-                                "JOIN GroupChat gc ON c.id = gc.chat.id " +
-                                "JOIN Message m ON c.id = m.chat.id " +
-                                "WHERE gc.isGlobal = true AND LOWER(m.message) LIKE LOWER(CONCAT('%', :text, '%'))")
-                .setParameter("text", params.get("text"))
-                .getSingleResult();
+        return QUERY.getTotalResultCount(entityManager, (String) params.get("text"), params);
+    }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("text");
     }
 }
@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.dao.impl.dto.pagination;
 
 import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
 import com.javamentor.qa.platform.models.dto.GroupChatDto;
 import org.springframework.stereotype.Repository;
 
@@ -8,6 +9,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class PaginationGroupChat implements PageDtoDao<GroupChatDto> {
@@ -17,21 +19,21 @@ public class PaginationGroupChat implements PageDtoDao<GroupChatDto> {
 
     @Override
     public List<GroupChatDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int itemsOnPage = (int) params.get("itemsOnPage");
 
         return entityManager.createQuery(
                         "select new com.javamentor.qa.platform.models.dto.GroupChatDto" +
                                 "(gc.chat.id, gc.title, " +
-                                "m.id, m.message, m.userSender.nickname, m.userSender.id, m.userSender.imageLink, m.persistDate) " +
+                                "m.id, m.message, sender.nickname, sender.id, sender.imageLink, m.persistDate) " +
                                 "FROM GroupChat gc " +
                                 "JOIN gc.users gcu ON gcu.id = :userId " +
-                                "LEFT JOIN Message m on m.id IN(SELECT mm.id FROM Message mm WHERE mm.persistDate = " +
-                                "     (SELECT MAX(mmm.persistDate) FROM Message mmm WHERE mmm.chat.id = gc.id))"
+                                "JOIN gc.chat c " +
+                                "LEFT JOIN c.lastMessage m " +
+                                "LEFT JOIN m.userSender sender " +
+                                "ORDER BY c.lastMessageAt DESC NULLS LAST, c.id DESC"
                         , GroupChatDto.class)
                 .setParameter("userId" , params.get("userId"))
-                .setFirstResult((page - 1) * itemsOnPage)
-                .setMaxResults(itemsOnPage)
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params))
                 .getResultList();
     }
 
@@ -44,4 +46,9 @@ public class PaginationGroupChat implements PageDtoDao<GroupChatDto> {
                 .setParameter("userId", params.get("userId"))
                 .getSingleResult();
     }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("userId");
+    }
 }
@@ -8,41 +8,32 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Неточный поиск сообщений в чате chatId. Если пользователь userId не состоит в чате, сообщений нет.
+ */
 @Repository
 public class PaginationSearchByChatMessage implements PageDtoDao<MessageDto> {
 
+    private static final MessageSearchQuery QUERY =
+            new MessageSearchQuery("AND m.chat_id = :chatId " + MessageSearchQuery.USER_CHATS);
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public List<MessageDto> getItems(Map<String, Object> params) {
-        int page = (int) params.get("currentPageNumber");
-        int items = (int) params.get("itemsOnPage");
-
-        return entityManager.createQuery(
-                "SELECT new com.javamentor.qa.platform.models.dto.MessageDto(" +
-                        "m.id, m.message, u.nickname, u.id, u.imageLink, m.persistDate) " +
-                        "FROM Message m " +
-                        "INNER JOIN User u ON m.userSender.id = u.id " +
-                        "WHERE m.message LIKE CONCAT('%', :word, '%') " +
-                        "AND m.chat.id = :chatId", MessageDto.class)
-                .setParameter("word", params.get("word"))
-                .setParameter("chatId", params.get("chatId"))
-                .setFirstResult((page - 1) * items)
-                .setMaxResults(items)
-                .getResultList();
+        return QUERY.getItems(entityManager, (String) params.get("word"), params);
     }
 
     @Override
     public int getTotalResultCount(Map<String, Object> params) {
-        return (int) entityManager.createQuery(
-                "SELECT CAST(count(m) as int) " +
-                        "FROM Message m " +
-                        "WHERE m.chat.id = :chatId " +
-                        "AND m.message LIKE CONCAT('%', :word, '%')")
-                .setParameter("word", params.get("word"))
-                .setParameter("chatId", params.get("chatId"))
-                .getSingleResult();
+        return QUERY.getTotalResultCount(entityManager, (String) params.get("word"), params);
+    }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("word", "chatId", "userId");
     }
 }
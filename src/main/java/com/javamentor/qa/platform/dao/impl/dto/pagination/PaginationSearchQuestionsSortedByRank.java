@@ -0,0 +1,166 @@
+package com.javamentor.qa.platform.dao.impl.dto.pagination;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
+import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+import com.javamentor.qa.platform.models.dto.QuestionViewDtoResultTransformer;
+import com.javamentor.qa.platform.search.SearchQuery;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Полнотекстовый поиск вопросов по question.search_vector (GIN индекс, см. V9).
+ * Слова запроса ищутся по префиксу, title: и body: ограничивают поиск весом A (заголовок) и B (текст),
+ * фраза в кавычках ищется как слова подряд. Результат отсортирован по релевантности,
+ * совпадения в заголовке и тексте подсвечены через ts_headline.
+ * Запрос приходит уже разобранным {@link SearchQuery} в параметре searchQuery.
+ * Без текстовых условий вопросы отсортированы по ID.
+ */
+@Repository
+public class PaginationSearchQuestionsSortedByRank implements PageDtoDao<QuestionViewDto> {
+
+    private static final Pattern NOT_LEXEME = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String SELECT_ITEMS =
+            "SELECT " +
+                    "q.id AS q_id, " +
+                    "q.title, " +
+                    "q.description, " +
+                    "q.last_redaction_date, " +
+                    "q.persist_date, " +
+                    "u.id, " +
+                    "u.full_name, " +
+                    "u.image_link, " +
+                    "coalesce(ur.count, 0) AS reputation, " +
+                    "qs.votes AS votes, " +
+                    "qs.answer_count AS answers, " +
+                    "qs.view_count AS views ";
+
+    private static final String SELECT_HEADLINES =
+            ", ts_headline('simple', q.title, fts.query, 'HighlightAll=true') AS title_headline, " +
+                    "ts_headline('simple', q.description, fts.query, " +
+                    "'MaxFragments=2, MaxWords=30, MinWords=10') AS description_headline ";
+
+    private static final String FROM_ITEMS =
+            "FROM question q " +
+                    "JOIN user_entity u ON u.id = q.user_id " +
+                    "LEFT JOIN user_reputation ur ON ur.user_id = u.id " +
+                    "JOIN question_stats qs ON qs.question_id = q.id ";
+
+    private static final String FROM_COUNT =
+            "SELECT count(*) " +
+                    "FROM question q " +
+                    "JOIN user_entity u ON u.id = q.user_id ";
+
+    private static final String SEARCH_JOIN = "CROSS JOIN (SELECT to_tsquery('simple', :tsQuery) AS query) fts ";
+
+    /** Вопрос должен иметь все тэги запроса */
+    private static final String TAGS =
+            "AND (SELECT count(DISTINCT lower(t.name)) FROM question_has_tag qht JOIN tag t ON t.id = qht.tag_id " +
+                    "WHERE qht.question_id = q.id AND lower(t.name) IN :tags) = :tagCount ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<QuestionViewDto> getItems(Map<String, Object> params) {
+        SearchQuery searchQuery = (SearchQuery) params.get("searchQuery");
+        String tsQuery = toTsQuery(searchQuery);
+
+        Query query = entityManager.createNativeQuery(SELECT_ITEMS
+                        + (tsQuery != null ? SELECT_HEADLINES : "")
+                        + FROM_ITEMS
+                        + (tsQuery != null ? SEARCH_JOIN : "")
+                        + where(searchQuery, tsQuery)
+                        + (tsQuery != null ? "ORDER BY ts_rank_cd(q.search_vector, fts.query) DESC, q.id" : "ORDER BY q.id"))
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params));
+        setParameters(query, searchQuery, tsQuery);
+
+        return query.unwrap(org.hibernate.query.Query.class)
+                .setResultTransformer(new QuestionViewDtoResultTransformer())
+                .getResultList();
+    }
+
+    @Override
+    public int getTotalResultCount(Map<String, Object> params) {
+        SearchQuery searchQuery = (SearchQuery) params.get("searchQuery");
+        String tsQuery = toTsQuery(searchQuery);
+
+        Query query = entityManager.createNativeQuery(FROM_COUNT
+                + (tsQuery != null ? SEARCH_JOIN : "")
+                + where(searchQuery, tsQuery));
+        setParameters(query, searchQuery, tsQuery);
+        return ((BigInteger) query.getSingleResult()).intValue();
+    }
+
+    @Override
+    public Set<String> getCountParams() {
+        return Set.of("searchQuery");
+    }
+
+    private static String where(SearchQuery searchQuery, String tsQuery) {
+        return "WHERE TRUE "
+                + (tsQuery != null ? "AND q.search_vector @@ fts.query " : "")
+                + (searchQuery.getUser() != null ? "AND u.full_name ILIKE concat('%', :userName, '%') " : "")
+                + (!searchQuery.getTags().isEmpty() ? TAGS : "");
+    }
+
+    private static void setParameters(Query query, SearchQuery searchQuery, String tsQuery) {
+        if (tsQuery != null) {
+            query.setParameter("tsQuery", tsQuery);
+        }
+        if (searchQuery.getUser() != null) {
+            query.setParameter("userName", searchQuery.getUser());
+        }
+        if (!searchQuery.getTags().isEmpty()) {
+            query.setParameter("tags", searchQuery.getTags());
+            query.setParameter("tagCount", searchQuery.getTags().size());
+        }
+    }
+
+    /**
+     * Собирает tsquery: каждое слово ищется по префиксу, фраза - через оператор &lt;-&gt;, все условия обязательны.
+     * Из слов остаются только буквы и цифры, поэтому пользовательский ввод не ломает синтаксис tsquery.
+     */
+    private static String toTsQuery(SearchQuery searchQuery) {
+        StringJoiner terms = new StringJoiner(" & ");
+        addPrefixTerms(terms, searchQuery.getWords(), "");
+        addPrefixTerms(terms, searchQuery.getTitleWords(), "A");
+        addPrefixTerms(terms, searchQuery.getBodyWords(), "B");
+        for (List<String> phrase : searchQuery.getPhrases()) {
+            StringJoiner followedBy = new StringJoiner(" <-> ", "(", ")");
+            phrase.forEach(word -> lexemes(word).forEach(followedBy::add));
+            if (followedBy.length() > 2) {
+                terms.add(followedBy.toString());
+            }
+        }
+        return terms.length() == 0 ? null : terms.toString();
+    }
+
+    private static void addPrefixTerms(StringJoiner terms, List<String> words, String weight) {
+        for (String word : words) {
+            lexemes(word).forEach(lexeme -> terms.add(lexeme + ":*" + weight));
+        }
+    }
+
+    private static List<String> lexemes(String word) {
+        List<String> lexemes = new ArrayList<>();
+        for (String lexeme : NOT_LEXEME.split(word.toLowerCase())) {
+            if (!lexeme.isEmpty()) {
+                lexemes.add(lexeme);
+            }
+        }
+        return lexemes;
+    }
+}
@@ -0,0 +1,46 @@
+package com.javamentor.qa.platform.dao.impl.dto.pagination;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.KeysetPageDtoDao;
+import com.javamentor.qa.platform.models.dto.PageCursor;
+import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Лента вопросов на общем {@link QuestionFeedQuery}. Наследники задают только сортировку и условие ленты.
+ */
+public abstract class QuestionFeedPageDtoDao implements KeysetPageDtoDao<QuestionViewDto> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final QuestionFeedQuery feedQuery;
+
+    QuestionFeedPageDtoDao(QuestionFeedQuery feedQuery) {
+        this.feedQuery = feedQuery;
+    }
+
+    @Override
+    public List<QuestionViewDto> getItems(Map<String, Object> params) {
+        return feedQuery.getItems(entityManager, params);
+    }
+
+    @Override
+    public int getTotalResultCount(Map<String, Object> params) {
+        return feedQuery.getTotalResultCount(entityManager, params);
+    }
+
+    @Override
+    public Set<String> getCountParams() {
+        return feedQuery.getCountParams();
+    }
+
+    @Override
+    public PageCursor getCursor(QuestionViewDto item) {
+        return feedQuery.getCursor(item);
+    }
+}
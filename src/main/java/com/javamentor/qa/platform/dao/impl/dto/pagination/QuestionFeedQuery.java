@@ -0,0 +1,138 @@
+package com.javamentor.qa.platform.dao.impl.dto.pagination;
+
+import com.javamentor.qa.platform.dao.util.PageParams;
+import com.javamentor.qa.platform.models.dto.PageCursor;
+import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+import com.javamentor.qa.platform.models.dto.QuestionViewDtoResultTransformer;
+import com.javamentor.qa.platform.models.dto.enums.Period;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Запрос ленты вопросов: сортировка, условие ленты, период и tracked/ignored тэги.
+ * Тэги фильтруются через EXISTS/NOT EXISTS, поэтому каждая строка - один вопрос и DISTINCT не нужен.
+ * Значение -1 в списке тэгов (или отсутствие списка) означает, что фильтра нет.
+ * Закладки пользователя в запрос не входят, их проставляет сервис.
+ * Строка question_stats создается вместе с вопросом (триггер из V7), поэтому счетчики берутся обычным join.
+ */
+final class QuestionFeedQuery {
+
+    private static final String SELECT_ITEMS =
+            "SELECT " +
+                    "q.id AS q_id, " +
+                    "q.title, " +
+                    "q.description, " +
+                    "q.last_redaction_date, " +
+                    "q.persist_date, " +
+                    "u.id, " +
+                    "u.full_name, " +
+                    "u.image_link, " +
+                    "coalesce(ur.count, 0) AS reputation, " +
+                    "qs.votes AS votes, " +
+                    "qs.answer_count AS answers, " +
+                    "qs.view_count AS views " +
+                    "FROM question q " +
+                    "JOIN user_entity u ON u.id = q.user_id " +
+                    "LEFT JOIN user_reputation ur ON ur.user_id = u.id " +
+                    "JOIN question_stats qs ON qs.question_id = q.id ";
+
+    private static final String SELECT_COUNT =
+            "SELECT count(*) " +
+                    "FROM question q " +
+                    "JOIN question_stats qs ON qs.question_id = q.id ";
+
+    private static final String TRACKED_TAG =
+            "AND EXISTS (SELECT 1 FROM question_has_tag qht " +
+                    "WHERE qht.question_id = q.id AND qht.tag_id IN :trackedTag) ";
+
+    private static final String IGNORED_TAG =
+            "AND NOT EXISTS (SELECT 1 FROM question_has_tag qht " +
+                    "WHERE qht.question_id = q.id AND qht.tag_id IN :ignoredTag) ";
+
+    /** Параметры, от которых зависит count ленты */
+    private static final Set<String> COUNT_PARAMS = Set.of("trackedTag", "ignoredTag", "period");
+
+    private final QuestionFeedSort sort;
+    private final String condition;
+
+    QuestionFeedQuery(QuestionFeedSort sort) {
+        this(sort, null);
+    }
+
+    /**
+     * @param condition условие ленты на q и qs, например только вопросы без ответов
+     */
+    QuestionFeedQuery(QuestionFeedSort sort, String condition) {
+        this.sort = sort;
+        this.condition = condition;
+    }
+
+    List<QuestionViewDto> getItems(EntityManager entityManager, Map<String, Object> params) {
+        PageCursor cursor = (PageCursor) params.get("pageCursor");
+
+        Query query = entityManager.createNativeQuery(SELECT_ITEMS + where(params)
+                        + (cursor != null ? "AND " + sort.seek() + " " : "")
+                        + "ORDER BY " + sort.orderBy())
+                .setFirstResult(PageParams.offset(params))
+                .setMaxResults(PageParams.limit(params));
+        setFilterParameters(query, params);
+        if (cursor != null) {
+            query.setParameter("cursorId", cursor.getId());
+            if (sort.hasCursorKey()) {
+                query.setParameter("cursorKey", sort.getCursorKey(cursor));
+            }
+        }
+        return query.unwrap(org.hibernate.query.Query.class)
+                .setResultTransformer(new QuestionViewDtoResultTransformer()).getResultList();
+    }
+
+    int getTotalResultCount(EntityManager entityManager, Map<String, Object> params) {
+        Query query = entityManager.createNativeQuery(SELECT_COUNT + where(params));
+        setFilterParameters(query, params);
+        return ((BigInteger) query.getSingleResult()).intValue();
+    }
+
+    Set<String> getCountParams() {
+        return COUNT_PARAMS;
+    }
+
+    PageCursor getCursor(QuestionViewDto item) {
+        return new PageCursor(sort.getItemKey(item), item.getId());
+    }
+
+    private String where(Map<String, Object> params) {
+        StringBuilder where = new StringBuilder("WHERE q.persist_date >= :truncedDate ");
+        if (condition != null) {
+            where.append("AND ").append(condition).append(" ");
+        }
+        if (isTagFilter(params.get("trackedTag"))) {
+            where.append(TRACKED_TAG);
+        }
+        if (isTagFilter(params.get("ignoredTag"))) {
+            where.append(IGNORED_TAG);
+        }
+        return where.toString();
+    }
+
+    private void setFilterParameters(Query query, Map<String, Object> params) {
+        Period period = params.containsKey("period") ? (Period) params.get("period") : Period.ALL;
+        LocalDateTime truncedDate = period.getTrancedDate();
+        query.setParameter("truncedDate", truncedDate);
+        if (isTagFilter(params.get("trackedTag"))) {
+            query.setParameter("trackedTag", params.get("trackedTag"));
+        }
+        if (isTagFilter(params.get("ignoredTag"))) {
+            query.setParameter("ignoredTag", params.get("ignoredTag"));
+        }
+    }
+
+    private static boolean isTagFilter(Object tags) {
+        return tags != null && !((List<?>) tags).isEmpty() && !((List<?>) tags).contains(-1L);
+    }
+}
@@ -0,0 +1,73 @@
+package com.javamentor.qa.platform.dao.impl.dto.pagination;
+
+import com.javamentor.qa.platform.models.dto.PageCursor;
+import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+
+import java.util.function.Function;
+
+/**
+ * Сортировки лент вопросов. Вторым ключом всегда идет q.id в том же направлении,
+ * поэтому порядок однозначный и по нему работает курсорная пагинация.
+ */
+enum QuestionFeedSort {
+
+    ID("q.id", false,
+            QuestionViewDto::getId, PageCursor::getKeyAsLong),
+
+    PERSIST_DATE("q.persist_date", true,
+            QuestionViewDto::getPersistDateTime, PageCursor::getKeyAsDateTime),
+
+    VIEWS("qs.view_count", true,
+            QuestionViewDto::getViewCount, PageCursor::getKeyAsLong),
+
+    VOTES("qs.votes", true,
+            QuestionViewDto::getCountValuable, PageCursor::getKeyAsLong),
+
+    REPUTATION("coalesce(ur.count, 0)", true,
+            QuestionViewDto::getAuthorReputation, PageCursor::getKeyAsLong),
+
+    VOTES_ANSWERS_VIEWS("qs.votes + qs.answer_count + qs.view_count", true,
+            q -> (long) q.getCountValuable() + q.getCountAnswer() + q.getViewCount(), PageCursor::getKeyAsLong),
+
+    REPUTATION_VOTES_ANSWERS("coalesce(ur.count, 0) + qs.votes + qs.answer_count", true,
+            q -> q.getAuthorReputation() + q.getCountValuable() + q.getCountAnswer(), PageCursor::getKeyAsLong);
+
+    private final String expression;
+    private final boolean descending;
+    private final Function<QuestionViewDto, Object> itemKey;
+    private final Function<PageCursor, Object> cursorKey;
+
+    QuestionFeedSort(String expression, boolean descending,
+                     Function<QuestionViewDto, Object> itemKey, Function<PageCursor, Object> cursorKey) {
+        this.expression = expression;
+        this.descending = descending;
+        this.itemKey = itemKey;
+        this.cursorKey = cursorKey;
+    }
+
+    String orderBy() {
+        String direction = descending ? " DESC" : " ASC";
+        return this == ID ? expression + direction : expression + direction + ", q.id" + direction;
+    }
+
+    /**
+     * Условие "после записи из cursor" с параметрами :cursorKey и :cursorId.
+     */
+    String seek() {
+        String comparison = descending ? " < " : " > ";
+        return this == ID ? "q.id" + comparison + ":cursorId"
+                : "(" + expression + ", q.id)" + comparison + "(:cursorKey, :cursorId)";
+    }
+
+    boolean hasCursorKey() {
+        return this != ID;
+    }
+
+    Object getItemKey(QuestionViewDto item) {
+        return itemKey.apply(item);
+    }
+
+    Object getCursorKey(PageCursor cursor) {
+        return cursorKey.apply(cursor);
+    }
+}
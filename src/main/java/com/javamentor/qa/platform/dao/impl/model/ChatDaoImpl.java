@@ -4,7 +4,51 @@ import com.javamentor.qa.platform.dao.abstracts.model.ChatDao;
 import com.javamentor.qa.platform.models.entity.chat.Chat;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 @Repository
 public class ChatDaoImpl extends ReadOnlyDaoImpl<Chat, Long> implements ChatDao {
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Одним UPDATE без чтения чата. Более раннее сообщение, сохраненное позже, последнее не перезаписывает.
+     */
+    @Override
+    public void updateLastMessage(Long chatId, Long messageId, LocalDateTime persistDate, String preview) {
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                        "UPDATE chat SET last_message_id = :messageId, last_message_at = :persistDate, " +
+                                "last_message_preview = :preview " +
+                                "WHERE id = :chatId AND (last_message_at IS NULL OR last_message_at <= :persistDate)")
+                .setParameter("chatId", chatId)
+                .setParameter("messageId", messageId)
+                .setParameter("persistDate", persistDate)
+                .setParameter("preview", preview)
+                .executeUpdate();
+    }
+
+    /**
+     * Пересчитывает последнее сообщение чатов, у которых оно удалено (last_message_id обнуляется внешним ключом).
+     */
+    @Override
+    public void recomputeLastMessage(Collection<Long> chatIds) {
+        if (chatIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                        "UPDATE chat c SET last_message_id = m.id, last_message_at = m.persist_date, " +
+                                "last_message_preview = left(m.message, 255) " +
+                                "FROM chat c2 LEFT JOIN LATERAL (" +
+                                "SELECT id, persist_date, message FROM message " +
+                                "WHERE chat_id = c2.id ORDER BY persist_date DESC, id DESC LIMIT 1) m ON true " +
+                                "WHERE c2.id = c.id AND c.id IN (:chatIds) AND c.last_message_id IS NULL")
+                .setParameter("chatIds", chatIds)
+                .executeUpdate();
+    }
 }
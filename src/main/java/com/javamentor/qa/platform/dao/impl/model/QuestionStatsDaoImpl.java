@@ -0,0 +1,56 @@
+package com.javamentor.qa.platform.dao.impl.model;
+
+import com.javamentor.qa.platform.dao.abstracts.model.QuestionStatsDao;
+import com.javamentor.qa.platform.models.entity.question.QuestionStats;
+import com.javamentor.qa.platform.models.entity.question.answer.VoteType;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+@Repository
+public class QuestionStatsDaoImpl extends ReadWriteDaoImpl<QuestionStats, Long> implements QuestionStatsDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Счетчики меняются одним update'ом на уровне БД, поэтому параллельные записи
+     * не теряют инкременты. Строка для вопроса создается вместе с вопросом (триггер из V7).
+     */
+    private void increment(Long questionId, long upVotes, long downVotes, long answers, long views) {
+        entityManager.createNativeQuery(
+                        "UPDATE question_stats SET " +
+                                "up_votes = up_votes + :upVotes, " +
+                                "down_votes = down_votes + :downVotes, " +
+                                "votes = votes + :upVotes - :downVotes, " +
+                                "answer_count = greatest(answer_count + :answers, 0), " +
+                                "view_count = view_count + :views " +
+                                "WHERE question_id = :questionId")
+                .setParameter("questionId", questionId)
+                .setParameter("upVotes", upVotes)
+                .setParameter("downVotes", downVotes)
+                .setParameter("answers", answers)
+                .setParameter("views", views)
+                .executeUpdate();
+    }
+
+    @Override
+    public void addVote(Long questionId, VoteType voteType) {
+        if (voteType == VoteType.UP_VOTE) {
+            increment(questionId, 1, 0, 0, 0);
+        } else {
+            increment(questionId, 0, 1, 0, 0);
+        }
+    }
+
+    @Override
+    public void addAnswerCount(Long questionId, long delta) {
+        increment(questionId, 0, 0, delta, 0);
+    }
+
+    @Override
+    public void addViewCount(Long questionId, long delta) {
+        increment(questionId, 0, 0, 0, delta);
+    }
+}
@@ -9,11 +9,16 @@ import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.List;
 
 @Repository
 public class QuestionViewedDaoImpl extends ReadWriteDaoImpl<QuestionViewed, Long> implements QuestionViewedDao {
 
+    /** Строк в одном insert'е: по 3 параметра на строку, PostgreSQL принимает до 32767 параметров */
+    private static final int VIEWS_PER_STATEMENT = 1000;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -34,4 +39,40 @@ public class QuestionViewedDaoImpl extends ReadWriteDaoImpl<QuestionViewed, Long
         entityManager.persist(questionViewed);
         return true;
     }
+
+    /**
+     * Один insert ... select ... on conflict do nothing на пачку, счетчики question_stats обновляются
+     * в том же запросе только по реально вставленным строкам.
+     */
+    @Override
+    public void persistViews(List<QuestionViewed> views) {
+        for (int from = 0; from < views.size(); from += VIEWS_PER_STATEMENT) {
+            List<QuestionViewed> chunk = views.subList(from, Math.min(from + VIEWS_PER_STATEMENT, views.size()));
+            StringBuilder values = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                values.append(i == 0 ? "" : ", ")
+                        .append("(cast(:userId").append(i).append(" as int8), cast(:questionId").append(i)
+                        .append(" as int8), cast(:viewed").append(i).append(" as timestamp))");
+            }
+            Query query = entityManager.createNativeQuery(
+                    "WITH v (user_id, question_id, persist_date) AS (VALUES " + values + "), " +
+                            "inserted AS (" +
+                            "INSERT INTO question_viewed (id, persist_date, question_id, user_id) " +
+                            "SELECT nextval('question_viewed_seq'), v.persist_date, v.question_id, v.user_id FROM v " +
+                            "WHERE EXISTS (SELECT 1 FROM question q WHERE q.id = v.question_id) " +
+                            "AND EXISTS (SELECT 1 FROM user_entity u WHERE u.id = v.user_id) " +
+                            "ON CONFLICT (question_id, user_id) DO NOTHING " +
+                            "RETURNING question_id) " +
+                            "UPDATE question_stats qs SET view_count = qs.view_count + c.views " +
+                            "FROM (SELECT question_id, count(*) AS views FROM inserted GROUP BY question_id) c " +
+                            "WHERE qs.question_id = c.question_id");
+            for (int i = 0; i < chunk.size(); i++) {
+                QuestionViewed viewed = chunk.get(i);
+                query.setParameter("userId" + i, viewed.getUser().getId())
+                        .setParameter("questionId" + i, viewed.getQuestion().getId())
+                        .setParameter("viewed" + i, viewed.getLocalDateTime());
+            }
+            query.executeUpdate();
+        }
+    }
 }
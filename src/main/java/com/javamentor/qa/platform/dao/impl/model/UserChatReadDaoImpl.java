@@ -0,0 +1,43 @@
+package com.javamentor.qa.platform.dao.impl.model;
+
+import com.javamentor.qa.platform.dao.abstracts.model.UserChatReadDao;
+import com.javamentor.qa.platform.models.entity.user.UserChatRead;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+@Repository
+public class UserChatReadDaoImpl extends ReadWriteDaoImpl<UserChatRead, Long> implements UserChatReadDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Отмечает прочитанными сообщения чата до последнего увиденного клиентом messageId включительно,
+     * без messageId - до последнего сообщения чата. Отметка не уходит дальше chat.last_message_at,
+     * поэтому сообщения, пришедшие после запроса, остаются непрочитанными, и только сдвигается вперед.
+     * Если сообщения messageId нет в чате, отметка не меняется.
+     */
+    @Override
+    public void markRead(Long chatId, Long userId, Long messageId) {
+        Query query = entityManager.createNativeQuery(
+                "INSERT INTO user_chat_read AS ucr (id, last_read_at, chat_id, user_id) " +
+                        (messageId == null
+                                ? "SELECT nextval('user_chat_read_seq'), c.last_message_at, c.id, :userId " +
+                                "FROM chat c "
+                                : "SELECT nextval('user_chat_read_seq'), least(m.persist_date, c.last_message_at), " +
+                                "c.id, :userId " +
+                                "FROM chat c JOIN message m ON m.id = :messageId AND m.chat_id = c.id ") +
+                        "WHERE c.id = :chatId AND c.last_message_at IS NOT NULL " +
+                        "ON CONFLICT (user_id, chat_id) DO UPDATE " +
+                        "SET last_read_at = greatest(ucr.last_read_at, EXCLUDED.last_read_at)")
+                .setParameter("chatId", chatId)
+                .setParameter("userId", userId);
+        if (messageId != null) {
+            query.setParameter("messageId", messageId);
+        }
+        query.executeUpdate();
+    }
+}
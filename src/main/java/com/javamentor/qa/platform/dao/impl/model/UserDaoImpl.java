@@ -4,7 +4,6 @@ import com.javamentor.qa.platform.dao.abstracts.model.UserDao;
 import com.javamentor.qa.platform.dao.util.SingleResultUtil;
 import com.javamentor.qa.platform.models.entity.user.Role;
 import com.javamentor.qa.platform.models.entity.user.User;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
@@ -22,7 +21,6 @@ public class UserDaoImpl extends ReadWriteDaoImpl<User, Long> implements UserDao
     @PersistenceContext
     private EntityManager entityManager;
 
-    @Cacheable(value = "getUserByEmail", key = "#email")
     public Optional<User> getUserByEmail(String email) {
         String hql = "select u from User u " +
                 "join fetch u.role where u.email = :email";
@@ -42,7 +40,7 @@ public class UserDaoImpl extends ReadWriteDaoImpl<User, Long> implements UserDao
                 + "  WHERE e.email =: email").setParameter("email", email).getSingleResult();
     }
 
-    @CacheEvict(value = {"getUserByEmail", "checkIfExists"}, key = "#email")
+    @CacheEvict(value = "checkIfExists", key = "#email")
     public void updatePasswordByEmail(String email, String password) {
         String hql = "update User u set u.password = :password where u.email = :email";
         entityManager.createQuery(hql)
@@ -51,7 +49,7 @@ public class UserDaoImpl extends ReadWriteDaoImpl<User, Long> implements UserDao
     }
 
     @Override
-    @CacheEvict(value = {"getUserByEmail", "checkIfExists"}, key = "#email")
+    @CacheEvict(value = "checkIfExists", key = "#email")
     public void disableUserByEmail(String email) {
         String hql = "update User u set u.isEnabled = false where u.email = :email";
         entityManager.createQuery(hql).setParameter("email", email).executeUpdate();
@@ -0,0 +1,71 @@
+package com.javamentor.qa.platform.dao.impl.model;
+
+import com.javamentor.qa.platform.dao.abstracts.model.UserReputationDao;
+import com.javamentor.qa.platform.models.entity.user.reputation.UserReputation;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+public class UserReputationDaoImpl extends ReadWriteDaoImpl<UserReputation, Long> implements UserReputationDao {
+
+    private static final int USERS_PER_BATCH = 1000;
+
+    private static final String SUM =
+            "(SELECT coalesce(sum(r.count), 0) FROM reputation r WHERE r.author_id = ur.user_id) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void addCount(Long userId, long count) {
+        entityManager.createNativeQuery(
+                        "INSERT INTO user_reputation AS ur (user_id, count) VALUES (:userId, :count) " +
+                                "ON CONFLICT (user_id) DO UPDATE SET count = ur.count + EXCLUDED.count")
+                .setParameter("userId", userId)
+                .setParameter("count", count)
+                .executeUpdate();
+    }
+
+    /**
+     * Пересчитывает суммы по таблице reputation и исправляет только разошедшиеся строки.
+     * Строки исправляются пачками: сначала строки user_reputation блокируются (FOR UPDATE), затем сумма
+     * считается заново отдельным запросом. Его снимок берется уже после блокировки, поэтому он видит все
+     * закоммиченные addCount, а незакоммиченные прибавят свою дельту к исправленному значению.
+     *
+     * @return количество исправленных пользователей
+     */
+    @Override
+    public int rebuildFromReputation() {
+        entityManager.createNativeQuery(
+                        "INSERT INTO user_reputation (user_id, count) " +
+                                "SELECT DISTINCT r.author_id, 0 FROM reputation r WHERE r.author_id IS NOT NULL " +
+                                "AND NOT EXISTS (SELECT 1 FROM user_reputation ur WHERE ur.user_id = r.author_id) " +
+                                "ON CONFLICT (user_id) DO NOTHING")
+                .executeUpdate();
+        List<Number> drifted = entityManager.createNativeQuery(
+                        "SELECT ur.user_id FROM user_reputation ur WHERE ur.count <> " + SUM + "ORDER BY ur.user_id")
+                .getResultList();
+
+        int fixed = 0;
+        for (int from = 0; from < drifted.size(); from += USERS_PER_BATCH) {
+            List<Long> userIds = drifted.subList(from, Math.min(from + USERS_PER_BATCH, drifted.size())).stream()
+                    .map(Number::longValue)
+                    .collect(Collectors.toList());
+            entityManager.createNativeQuery(
+                            "SELECT ur.user_id FROM user_reputation ur WHERE ur.user_id IN :userIds " +
+                                    "ORDER BY ur.user_id FOR UPDATE")
+                    .setParameter("userIds", userIds)
+                    .getResultList();
+            fixed += entityManager.createNativeQuery(
+                            "UPDATE user_reputation ur SET count = " + SUM +
+                                    "WHERE ur.user_id IN :userIds AND ur.count <> " + SUM)
+                    .setParameter("userIds", userIds)
+                    .executeUpdate();
+        }
+        return fixed;
+    }
+}
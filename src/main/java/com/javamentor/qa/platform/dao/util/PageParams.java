@@ -0,0 +1,25 @@
+package com.javamentor.qa.platform.dao.util;
+
+import java.util.Map;
+
+/**
+ * Offset и limit страницы по параметрам PageDtoDao.
+ * При параметре fetchNext = true выбирается на одну запись больше, по ней сервис понимает,
+ * есть ли следующая страница, не выполняя count или второй запрос.
+ */
+public final class PageParams {
+
+    public static final String FETCH_NEXT = "fetchNext";
+
+    private PageParams() {
+    }
+
+    public static int offset(Map<String, Object> params) {
+        return ((int) params.get("currentPageNumber") - 1) * (int) params.get("itemsOnPage");
+    }
+
+    public static int limit(Map<String, Object> params) {
+        int itemsOnPage = (int) params.get("itemsOnPage");
+        return Boolean.TRUE.equals(params.get(FETCH_NEXT)) ? itemsOnPage + 1 : itemsOnPage;
+    }
+}
@@ -0,0 +1,17 @@
+package com.javamentor.qa.platform.dao.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает каждый SQL-запрос Hibernate в {@link QueryCounter}, сам запрос не меняет.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = -4719336181538045107L;
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
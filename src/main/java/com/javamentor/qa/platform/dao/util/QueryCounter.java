@@ -0,0 +1,71 @@
+package com.javamentor.qa.platform.dao.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Счетчик SQL-запросов, выполненных в текущем потоке внутри открытого {@link Scope}.
+ * Запросы считает {@link QueryCountStatementInspector}. Вложенный Scope при закрытии добавляет
+ * свои запросы родительскому, поэтому запросы страницы попадают и в счетчик HTTP-запроса.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * @return Scope, вложенный в текущий Scope потока (если он есть)
+     */
+    public static Scope open() {
+        return open(CURRENT.get());
+    }
+
+    /**
+     * Scope с явным родителем - для запросов, выполняемых в другом потоке (например, в pageDtoExecutor).
+     */
+    public static Scope open(Scope parent) {
+        Scope scope = new Scope(parent, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void increment() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count.incrementAndGet();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final AtomicLong count = new AtomicLong();
+        private final Scope parent;
+        private final Scope previous;
+
+        private Scope(Scope parent, Scope previous) {
+            this.parent = parent;
+            this.previous = previous;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            if (parent != null) {
+                parent.count.addAndGet(count.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.javamentor.qa.platform.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 4406582853914637023L;
+
+    public PasswordHashingBusyException() {
+        super("Очередь хэширования паролей переполнена");
+    }
+}
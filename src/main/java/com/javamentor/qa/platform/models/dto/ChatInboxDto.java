@@ -0,0 +1,16 @@
+package com.javamentor.qa.platform.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatInboxDto {
+    private long chatCount;
+    private long unreadChatCount;
+    private long unreadMessageCount;
+    /** В одном из чатов непрочитанных больше лимита, unreadMessageCount - нижняя оценка ("99+") */
+    private boolean unreadMessageCountLimited;
+}
@@ -0,0 +1,22 @@
+package com.javamentor.qa.platform.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Кадр с новыми сообщениями чата. Каждый узел нумерует сообщения чата подряд (seq), firstSeq - номер
+ * первого сообщения кадра. Если для того же node firstSeq не равен последнему полученному номеру + 1,
+ * часть сообщений выброшена при переполнении, и клиенту нужно догрузить чат пагинацией.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessagePushDto {
+    private Long chatId;
+    private String node;
+    private long firstSeq;
+    private List<MessageDto> messages;
+}
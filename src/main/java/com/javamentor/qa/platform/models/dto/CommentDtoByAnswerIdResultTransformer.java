@@ -0,0 +1,40 @@
+package com.javamentor.qa.platform.models.dto;
+
+import org.hibernate.transform.ResultTransformer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Группирует строки (comment id, text, user id, full name, reputation, persist date, answer id)
+ * в комментарии по ID ответа. transformList возвращает один элемент - всю карту.
+ */
+public class CommentDtoByAnswerIdResultTransformer implements ResultTransformer {
+
+    private static final long serialVersionUID = 6120452846373512931L;
+    private final transient Map<Long, List<CommentDto>> map = new HashMap<>();
+
+    @Override
+    public Object transformTuple(Object[] objects, String[] strings) {
+        List<CommentDto> commentDtoList = map.computeIfAbsent(
+                (Long) objects[6],
+                id -> new ArrayList<>());
+        commentDtoList.add(new CommentDto((Long) objects[0],
+                (String) objects[1],
+                (Long) objects[2],
+                (String) objects[3],
+                (Long) objects[4],
+                (LocalDateTime) objects[5]));
+        return map;
+    }
+
+    @Override
+    public List<Map<Long, List<CommentDto>>> transformList(List list) {
+        List<Map<Long, List<CommentDto>>> resultList = new ArrayList<>();
+        resultList.add(map);
+        return resultList;
+    }
+}
@@ -14,9 +14,11 @@ public class GroupChatDto {
     private String chatName;
     private MessageDto lastMessageDto;
 
-    public GroupChatDto(long id, String chatName, long messageId, String message, String nickName, long userId, String image, LocalDateTime persistDateTime) {
+    public GroupChatDto(long id, String chatName, Long messageId, String message, String nickName, Long userId, String image, LocalDateTime persistDateTime) {
         this.id = id;
         this.chatName = chatName;
-        this.lastMessageDto = new MessageDto(messageId, message, nickName, userId, image, persistDateTime);
+        if (messageId != null) {
+            this.lastMessageDto = new MessageDto(messageId, message, nickName, userId, image, persistDateTime);
+        }
     }
 }
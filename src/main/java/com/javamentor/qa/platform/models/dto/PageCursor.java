@@ -0,0 +1,56 @@
+package com.javamentor.qa.platform.models.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Позиция курсорной пагинации: ключ сортировки и id последней записи страницы.
+ * Клиенту отдается в виде непрозрачной строки {@link #encode()}.
+ */
+@Getter
+@EqualsAndHashCode
+public final class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String key;
+    private final Long id;
+
+    public PageCursor(Object key, Long id) {
+        this.key = String.valueOf(key);
+        this.id = id;
+    }
+
+    public Long getKeyAsLong() {
+        return Long.parseLong(key);
+    }
+
+    public LocalDateTime getKeyAsDateTime() {
+        return LocalDateTime.parse(key);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null для пустой строки - это запрос первой страницы
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new PageCursor(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Неверное значение cursor");
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class PageDto<T> {
     private int totalResultCount;
     private List<T> items;
     private int itemsOnPage;
+    private String nextCursor;
+    private boolean hasNext;
 
     @Override
     public String toString() {
@@ -28,6 +30,8 @@ public class PageDto<T> {
                 ", totalResultCount=" + totalResultCount +
                 ", items=" + items +
                 ", itemsOnPage=" + itemsOnPage +
+                ", nextCursor=" + nextCursor +
+                ", hasNext=" + hasNext +
                 '}';
     }
 }
\ No newline at end of file
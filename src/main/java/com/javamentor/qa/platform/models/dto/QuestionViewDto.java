@@ -1,6 +1,8 @@
 package com.javamentor.qa.platform.models.dto;
 
+import com.javamentor.qa.platform.models.entity.question.answer.VoteType;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -12,6 +14,7 @@ import java.util.List;
  */
 
 @Data
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class QuestionViewDto {
@@ -29,4 +32,8 @@ public class QuestionViewDto {
     private LocalDateTime lastUpdateDateTime;
     private List<TagDto> listTagDto;
     private Boolean isUserBookMarks;
+    private Enum<VoteType> isUserVote;
+    private Boolean isUserAnswer;
+    private String titleHighlight;
+    private String descriptionHighlight;
 }
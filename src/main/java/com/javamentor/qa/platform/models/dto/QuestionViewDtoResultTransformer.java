@@ -37,7 +37,11 @@ public class QuestionViewDtoResultTransformer implements ResultTransformer {
                     questionViewDtoTemp.setCountAnswer(((BigInteger) tuple[10]).intValue());
                     questionViewDtoTemp.setViewCount(((BigInteger) tuple[11]).intValue());
                     questionViewDtoTemp.setListTagDto(new ArrayList<>());
-                    questionViewDtoTemp.setIsUserBookMarks(tuple[12].equals(new BigInteger("1")));
+                    questionViewDtoTemp.setIsUserBookMarks(false);
+                    if (tuple.length > 13) {
+                        questionViewDtoTemp.setTitleHighlight((String) tuple[12]);
+                        questionViewDtoTemp.setDescriptionHighlight((String) tuple[13]);
+                    }
 
                     return questionViewDtoTemp;
                 }
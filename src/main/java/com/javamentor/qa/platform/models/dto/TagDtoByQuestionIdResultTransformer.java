@@ -0,0 +1,38 @@
+package com.javamentor.qa.platform.models.dto;
+
+import org.hibernate.transform.ResultTransformer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Группирует строки (question id, tag id, tag name, tag description) в теги по ID вопроса.
+ * transformList возвращает один элемент - всю карту.
+ */
+public class TagDtoByQuestionIdResultTransformer implements ResultTransformer {
+
+    private static final long serialVersionUID = -2281364750139624453L;
+    private final transient Map<Long, List<TagDto>> map = new HashMap<>();
+
+    @Override
+    public Object transformTuple(Object[] objects, String[] strings) {
+        List<TagDto> tagDtoList = map.computeIfAbsent(
+                (Long) objects[0],
+                id -> new ArrayList<>());
+        tagDtoList.add(new TagDto(
+                (Long) objects[1],
+                (String) objects[2],
+                (String) objects[3]
+        ));
+        return map;
+    }
+
+    @Override
+    public List<Map<Long, List<TagDto>>> transformList(List list) {
+        List<Map<Long, List<TagDto>>> resultList = new ArrayList<>();
+        resultList.add(map);
+        return resultList;
+    }
+}
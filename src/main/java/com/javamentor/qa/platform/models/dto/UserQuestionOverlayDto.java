@@ -0,0 +1,31 @@
+package com.javamentor.qa.platform.models.dto;
+
+import com.javamentor.qa.platform.models.entity.question.answer.VoteType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Состояние вопроса для конкретного пользователя: его голос, закладка и наличие его ответа.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserQuestionOverlayDto {
+    private Long questionId;
+    private VoteType userVote;
+    private boolean bookmarked;
+    private boolean answered;
+
+    public UserQuestionOverlayDto(Long questionId, VoteType userVote, long bookmarkCount, long answerCount) {
+        this.questionId = questionId;
+        this.userVote = userVote;
+        this.bookmarked = bookmarkCount > 0;
+        this.answered = answerCount > 0;
+    }
+
+    public static UserQuestionOverlayDto empty(Long questionId) {
+        return new UserQuestionOverlayDto(questionId, null, false, false);
+    }
+}
@@ -0,0 +1,13 @@
+package com.javamentor.qa.platform.models.dto.enums;
+
+/**
+ * Как считать totalResultCount для страницы.
+ */
+public enum CountPolicy {
+    /** Точный count отдельным запросом */
+    EXACT,
+    /** Count из кэша, если он еще не устарел, иначе точный */
+    ESTIMATED,
+    /** Count не считается, вместо него возвращается hasNext */
+    NONE
+}
@@ -32,6 +32,20 @@ public class Chat {
     @Column(columnDefinition = "int2")
     private ChatType chatType;
 
+    /**
+     * Последнее сообщение чата, обновляется вместе с сохранением сообщения (MessageServiceImpl.persist),
+     * чтобы списки чатов не искали max(persistDate) по сообщениям каждого чата
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_message_id")
+    private Message lastMessage;
+
+    @Column(name = "last_message_at")
+    @Type(type = "org.hibernate.type.LocalDateTimeType")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_message_preview")
+    private String lastMessagePreview;
 
     public Chat(ChatType chatType) {
         this.chatType = chatType;
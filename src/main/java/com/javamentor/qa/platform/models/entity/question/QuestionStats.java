@@ -0,0 +1,60 @@
+package com.javamentor.qa.platform.models.entity.question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Счетчики вопроса (голоса, ответы, просмотры), которые обновляются вместе с записью
+ * голоса, ответа или просмотра. Ленты вопросов читают их одним join вместо подзапросов.
+ */
+@Entity
+@Table(name = "question_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionStats implements Serializable {
+
+    private static final long serialVersionUID = 2873414928846120461L;
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "up_votes", nullable = false)
+    private Long upVotes = 0L;
+
+    @Column(name = "down_votes", nullable = false)
+    private Long downVotes = 0L;
+
+    @Column(name = "votes", nullable = false)
+    private Long votes = 0L;
+
+    @Column(name = "answer_count", nullable = false)
+    private Long answerCount = 0L;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount = 0L;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QuestionStats that = (QuestionStats) o;
+        return Objects.equals(questionId, that.questionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(questionId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.javamentor.qa.platform.models.entity.user.reputation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Суммарная репутация пользователя. Обновляется вместе с записью {@link Reputation},
+ * чтобы DTO-запросы не суммировали всю историю репутации на каждом чтении.
+ */
+@Entity
+@Table(name = "user_reputation")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserReputation implements Serializable {
+
+    private static final long serialVersionUID = -3502714569870112744L;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "count", nullable = false)
+    private Long count = 0L;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserReputation that = (UserReputation) o;
+        return Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.javamentor.qa.platform.models.event;
+
+import com.javamentor.qa.platform.models.dto.MessageDto;
+
+/**
+ * В чате сохранено новое сообщение, его нужно разослать подписчикам чата.
+ */
+public class ChatMessageCreatedEvent {
+
+    private final Long chatId;
+    private final MessageDto message;
+
+    public ChatMessageCreatedEvent(Long chatId, MessageDto message) {
+        this.chatId = chatId;
+        this.message = message;
+    }
+
+    public Long getChatId() {
+        return chatId;
+    }
+
+    public MessageDto getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,37 @@
+package com.javamentor.qa.platform.models.event;
+
+/**
+ * Изменились данные, по которым строятся ленты вопросов: вопросы, ответы, голоса, просмотры.
+ * У {@link Change#VIEW} нет вопроса (questionId = null): одна запись буфера просмотров затрагивает много вопросов.
+ */
+public class QuestionFeedChangedEvent {
+
+    public enum Change {
+        /** Вопрос создан, изменен или удален - меняется состав лент */
+        QUESTION,
+        /** Ответ на вопрос добавлен или удален */
+        ANSWER,
+        /** Голос за вопрос, меняет и репутацию его автора */
+        QUESTION_VOTE,
+        /** Голос за ответ, меняет репутацию автора ответа */
+        ANSWER_VOTE,
+        /** Записан буфер просмотров вопросов */
+        VIEW
+    }
+
+    private final Long questionId;
+    private final Change change;
+
+    public QuestionFeedChangedEvent(Long questionId, Change change) {
+        this.questionId = questionId;
+        this.change = change;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+}
@@ -0,0 +1,7 @@
+package com.javamentor.qa.platform.models.event;
+
+/**
+ * Буфер просмотров вопросов заполнен, его нужно записать в БД, не дожидаясь планового flush.
+ */
+public class QuestionViewBufferFullEvent {
+}
@@ -0,0 +1,17 @@
+package com.javamentor.qa.platform.models.event;
+
+/**
+ * Изменились данные пользователя, от которых зависит аутентификация: пароль, роль, блокировка.
+ */
+public class UserChangedEvent {
+
+    private final String email;
+
+    public UserChangedEvent(String email) {
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,45 @@
+package com.javamentor.qa.platform.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Разобранный поисковый запрос вопросов, результат {@link SearchQueryParser}.
+ * Неизменяемый, поэтому один экземпляр можно отдавать в параллельные запросы count и items.
+ */
+@Value
+public class SearchQuery {
+
+    /** Слова без префикса, ищутся в заголовке и тексте вопроса */
+    List<String> words;
+
+    /** Слова после title: */
+    List<String> titleWords;
+
+    /** Слова после body: */
+    List<String> bodyWords;
+
+    /** Фразы в кавычках, каждая фраза - список слов подряд */
+    List<List<String>> phrases;
+
+    /** Тэги в квадратных скобках в нижнем регистре, вопрос должен иметь все */
+    List<String> tags;
+
+    /** Часть имени автора после user:, null если не задана */
+    String user;
+
+    public SearchQuery(List<String> words, List<String> titleWords, List<String> bodyWords,
+                       List<List<String>> phrases, List<String> tags, String user) {
+        this.words = List.copyOf(words);
+        this.titleWords = List.copyOf(titleWords);
+        this.bodyWords = List.copyOf(bodyWords);
+        this.phrases = List.copyOf(phrases);
+        this.tags = List.copyOf(tags);
+        this.user = user;
+    }
+
+    public boolean hasText() {
+        return !words.isEmpty() || !titleWords.isEmpty() || !bodyWords.isEmpty() || !phrases.isEmpty();
+    }
+}
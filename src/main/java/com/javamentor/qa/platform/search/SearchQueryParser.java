@@ -0,0 +1,133 @@
+package com.javamentor.qa.platform.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Разбор строки поиска вопросов в {@link SearchQuery}.
+ * Поддерживаются user:имя, title:слово, body:слово, [тэг] и "точная фраза",
+ * значение после префикса тоже можно взять в кавычки: title:"два слова".
+ * Префиксы без учета регистра, незакрытая кавычка продолжается до конца строки.
+ * Парсер без состояния и без регулярных выражений, один экземпляр обслуживает все запросы.
+ */
+@Component
+public class SearchQueryParser {
+
+    private static final String USER = "user:";
+    private static final String TITLE = "title:";
+    private static final String BODY = "body:";
+
+    public SearchQuery parse(String request) {
+        List<String> words = new ArrayList<>();
+        List<String> titleWords = new ArrayList<>();
+        List<String> bodyWords = new ArrayList<>();
+        List<List<String>> phrases = new ArrayList<>();
+        Set<String> tags = new LinkedHashSet<>();
+        String user = null;
+
+        String text = request == null ? "" : request;
+        int position = 0;
+        while (position < text.length()) {
+            char current = text.charAt(position);
+            if (Character.isWhitespace(current)) {
+                position++;
+            } else if (current == '"') {
+                int end = closingQuote(text, position + 1);
+                List<String> phrase = split(text, position + 1, end);
+                if (!phrase.isEmpty()) {
+                    phrases.add(phrase);
+                }
+                position = end + 1;
+            } else if (current == '[') {
+                int end = tagEnd(text, position + 1);
+                String tag = text.substring(position + 1, end).toLowerCase();
+                if (!tag.isEmpty()) {
+                    tags.add(tag);
+                }
+                position = end + 1;
+            } else if (startsWith(text, position, USER)) {
+                int start = position + USER.length();
+                int end = valueEnd(text, start);
+                List<String> name = split(text, valueStart(text, start), end);
+                if (!name.isEmpty()) {
+                    user = String.join(" ", name);
+                }
+                position = end + 1;
+            } else if (startsWith(text, position, TITLE)) {
+                int start = position + TITLE.length();
+                int end = valueEnd(text, start);
+                titleWords.addAll(split(text, valueStart(text, start), end));
+                position = end + 1;
+            } else if (startsWith(text, position, BODY)) {
+                int start = position + BODY.length();
+                int end = valueEnd(text, start);
+                bodyWords.addAll(split(text, valueStart(text, start), end));
+                position = end + 1;
+            } else {
+                int end = wordEnd(text, position, text.length());
+                words.add(text.substring(position, end));
+                position = end;
+            }
+        }
+        return new SearchQuery(words, titleWords, bodyWords, phrases, new ArrayList<>(tags), user);
+    }
+
+    private static boolean startsWith(String text, int position, String prefix) {
+        return text.regionMatches(true, position, prefix, 0, prefix.length());
+    }
+
+    private static boolean quoted(String text, int start) {
+        return start < text.length() && text.charAt(start) == '"';
+    }
+
+    private static int valueStart(String text, int start) {
+        return quoted(text, start) ? start + 1 : start;
+    }
+
+    /**
+     * Конец значения после префикса: закрывающая кавычка или первый пробел.
+     */
+    private static int valueEnd(String text, int start) {
+        return quoted(text, start) ? closingQuote(text, start + 1) : wordEnd(text, start, text.length());
+    }
+
+    private static int closingQuote(String text, int start) {
+        int end = text.indexOf('"', start);
+        return end < 0 ? text.length() : end;
+    }
+
+    private static int tagEnd(String text, int start) {
+        int end = start;
+        while (end < text.length() && text.charAt(end) != ']' && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int wordEnd(String text, int start, int limit) {
+        int end = start;
+        while (end < limit && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static List<String> split(String text, int start, int end) {
+        List<String> result = new ArrayList<>();
+        int position = start;
+        while (position < end) {
+            if (Character.isWhitespace(text.charAt(position))) {
+                position++;
+            } else {
+                int wordEnd = wordEnd(text, position, end);
+                result.add(text.substring(position, wordEnd));
+                position = wordEnd;
+            }
+        }
+        return result;
+    }
+}
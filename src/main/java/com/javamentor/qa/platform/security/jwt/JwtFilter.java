@@ -3,8 +3,8 @@ package com.javamentor.qa.platform.security.jwt;
 import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,14 +16,22 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
 
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final String USER_DISABLED_MESSAGE = "User is disabled";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** Тело ответа для заблокированного пользователя не меняется, поэтому сериализуется один раз */
+    private static final byte[] USER_DISABLED_BODY = errorBody("error_message", USER_DISABLED_MESSAGE);
+
     private final JwtUtil jwtUtil;
 
     public JwtFilter(JwtUtil jwtUtil) {
@@ -36,42 +44,43 @@ public class JwtFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader(AUTHORIZATION);
 
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+        if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
             try {
-                String token = authorizationHeader.substring("Bearer ".length());
+                String token = authorizationHeader.substring(BEARER_PREFIX.length());
                 DecodedJWT decodedJWT = jwtUtil.checkToken(token);
                 UsernamePasswordAuthenticationToken authenticationToken = jwtUtil.getAuthenticationTokenByDecodedJwtToken(decodedJWT);
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 
                 UserDetails userPrincipal = (UserDetails) authenticationToken.getPrincipal();
                 if (!userPrincipal.isEnabled()) {
-                    throw new DisabledException("User is disabled");
+                    writeError(response, 401, USER_DISABLED_MESSAGE, USER_DISABLED_BODY);
+                    return;
                 }
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 filterChain.doFilter(request, response);
             } catch (JWTDecodeException exception) {
-                response.setHeader("error", exception.getMessage());
-                response.setStatus(403);
-                Map<String, String> error = new HashMap<>();
-                error.put("error_message", exception.getMessage());
-                response.setContentType("application/json");
-                new ObjectMapper().writeValue(response.getOutputStream(), error);
-            } catch (DisabledException exception) {
-                response.setHeader("error", exception.getMessage());
-                response.setStatus(401);
-                Map<String, String> error = new HashMap<>();
-                error.put("error_message", exception.getMessage());
-                response.setContentType("application/json");
-                new ObjectMapper().writeValue(response.getOutputStream(), error);
+                writeError(response, 403, exception.getMessage(), errorBody("error_message", exception.getMessage()));
             } catch (JWTVerificationException exception) {
-                response.setHeader("error", exception.getMessage());
-                response.setStatus(401);
-                Map<String, String> error = new HashMap<>();
-                error.put("JWT verification exception", exception.getMessage());
-                response.setContentType("application/json");
-                new ObjectMapper().writeValue(response.getOutputStream(), error);
+                writeError(response, 401, exception.getMessage(),
+                        errorBody("JWT verification exception", exception.getMessage()));
             }
         } else {
             filterChain.doFilter(request, response);
         }
     }
+
+    private void writeError(HttpServletResponse response, int status, String message, byte[] body) throws IOException {
+        response.setHeader("error", message);
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] errorBody(String key, String message) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(Collections.singletonMap(key, message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.javamentor.qa.platform.security.jwt;
+
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.models.event.UserChangedEvent;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Пользователи, уже найденные по JWT, чтобы не ходить в БД на каждый запрос.
+ * Ключ - subject и время выдачи токена. Кэш ограничен jwt.principal-cache.max-size записями (вытесняются
+ * давно не использованные), записи живут jwt.principal-cache.ttl-seconds и удаляются после коммита
+ * смены пароля, роли или блокировки пользователя.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final Map<Key, Entry> principals;
+    private final long ttlMillis;
+
+    public JwtPrincipalCache(@Value("${jwt.principal-cache.max-size:10000}") int maxSize,
+                             @Value("${jwt.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.principals = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public User get(String subject, long issuedAt) {
+        Entry entry = principals.get(new Key(subject, issuedAt));
+        if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.user;
+    }
+
+    public void put(String subject, long issuedAt, User user) {
+        principals.put(new Key(subject, issuedAt), new Entry(user, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public void invalidate(String subject) {
+        synchronized (principals) {
+            principals.keySet().removeIf(key -> key.subject.equals(subject));
+        }
+    }
+
+    public void clear() {
+        principals.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getEmail());
+    }
+
+    @EqualsAndHashCode
+    private static final class Key {
+        private final String subject;
+        private final long issuedAt;
+
+        private Key(String subject, long issuedAt) {
+            this.subject = subject;
+            this.issuedAt = issuedAt;
+        }
+    }
+
+    private static final class Entry {
+        private final User user;
+        private final long expiresAt;
+
+        private Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -3,15 +3,20 @@ package com.javamentor.qa.platform.security.jwt;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.javamentor.qa.platform.dao.abstracts.model.UserDao;
 import com.javamentor.qa.platform.models.entity.user.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -20,14 +25,51 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String SECRET_KEY;
 
+    /** kid, которым подписываются новые токены */
+    @Value("${jwt.key-id:default}")
+    private String keyId;
+
+    /** Старые ключи, которые еще принимаются при проверке: kid1:secret1,kid2:secret2 */
+    @Value("${jwt.retired-keys:}")
+    private String retiredKeys;
+
+    private Algorithm signingAlgorithm;
+
+    private Map<String, JWTVerifier> verifiers;
+
     private final UserDao userDao;
+    private final JwtPrincipalCache jwtPrincipalCache;
 
-    public JwtUtil(UserDao userDao) {
+    public JwtUtil(UserDao userDao, JwtPrincipalCache jwtPrincipalCache) {
         this.userDao = userDao;
+        this.jwtPrincipalCache = jwtPrincipalCache;
+    }
+
+    /**
+     * Algorithm и JWTVerifier неизменяемы и потокобезопасны, поэтому строятся один раз на ключ.
+     */
+    @PostConstruct
+    public void initKeys() {
+        signingAlgorithm = Algorithm.HMAC256(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        Map<String, JWTVerifier> keyVerifiers = new HashMap<>();
+        keyVerifiers.put(keyId, JWT.require(signingAlgorithm).build());
+        for (String retiredKey : retiredKeys.split(",")) {
+            if (retiredKey.isBlank()) {
+                continue;
+            }
+            int separator = retiredKey.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("jwt.retired-keys: ожидается kid:secret");
+            }
+            String secret = retiredKey.substring(separator + 1).trim();
+            keyVerifiers.putIfAbsent(retiredKey.substring(0, separator).trim(),
+                    JWT.require(Algorithm.HMAC256(secret.getBytes(StandardCharsets.UTF_8))).build());
+        }
+        verifiers = Map.copyOf(keyVerifiers);
     }
 
     public Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        return signingAlgorithm;
     }
 
     public String generateAccessToken(User user) {
@@ -39,6 +81,7 @@ public class JwtUtil {
                 .withExpiresAt(new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000))
                 .withIssuedAt(new Date(System.currentTimeMillis()))
                 .withClaim("role", user.getRole().getId())
+                .withKeyId(keyId)
                 .sign(algorithm);
         return token;
     }
@@ -51,25 +94,38 @@ public class JwtUtil {
                 .withExpiresAt(new Date(System.currentTimeMillis() + 365 * 24 * 60 * 60 * 1000))
                 .withIssuedAt(new Date(System.currentTimeMillis()))
                 .withClaim("role", user.getRole().getId())
+                .withKeyId(keyId)
                 .sign(algorithm);
         return token;
     }
 
+    /**
+     * Токены без kid выданы до появления ротации ключей и проверяются текущим ключом.
+     */
     public DecodedJWT checkToken(String token) {
 
-        Algorithm algorithm = getAlgorithm();
-        JWTVerifier verifier = JWT.require(algorithm).build();
-        DecodedJWT decodedJWT = verifier.verify(token);
-        return decodedJWT;
+        DecodedJWT decodedJWT = JWT.decode(token);
+        String tokenKeyId = decodedJWT.getKeyId() == null ? keyId : decodedJWT.getKeyId();
+        JWTVerifier verifier = verifiers.get(tokenKeyId);
+        if (verifier == null) {
+            throw new JWTVerificationException("Unknown signing key id: " + tokenKeyId);
+        }
+        return verifier.verify(decodedJWT);
     }
 
     public UsernamePasswordAuthenticationToken getAuthenticationTokenByDecodedJwtToken(DecodedJWT decodedJWT) {
 
         String username = decodedJWT.getSubject();
-        Optional<User> user = userDao.getUserByEmail(username);
+        long issuedAt = decodedJWT.getIssuedAt() == null ? 0 : decodedJWT.getIssuedAt().getTime();
+        User user = jwtPrincipalCache.get(username, issuedAt);
+        if (user == null) {
+            Optional<User> userFromDb = userDao.getUserByEmail(username);
+            user = userFromDb.orElseThrow(() -> new JWTVerificationException("User not found: " + username));
+            jwtPrincipalCache.put(username, issuedAt, user);
+        }
 
         UsernamePasswordAuthenticationToken authenticationToken =
-                new UsernamePasswordAuthenticationToken(user.get(), null, user.get().getAuthorities());
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
         return authenticationToken;
     }
 }
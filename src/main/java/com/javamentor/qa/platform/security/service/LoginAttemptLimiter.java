@@ -0,0 +1,108 @@
+package com.javamentor.qa.platform.security.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограничивает неудачные попытки входа по паре (аккаунт, IP) и по IP в окне security.login.window-seconds.
+ * Попытка резервируется атомарно до хэширования пароля ({@link #tryAcquire}), поэтому параллельная пачка
+ * запросов не проходит мимо лимита, а подбор паролей не нагружает CPU; успешный вход резервацию снимает.
+ * Счетчик аккаунта ведется отдельно для каждого IP, чтобы чужие неудачные попытки не блокировали владельца.
+ * Счетчики живут в памяти одного узла; число отслеживаемых ключей ограничено, при переполнении
+ * вытесняются ключи, по которым дольше всего не было попыток, так что новые ключи всегда учитываются.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final Map<String, Window> failures;
+    private final int maxPerAccount;
+    private final int maxPerIp;
+    private final long windowMillis;
+
+    public LoginAttemptLimiter(@Value("${security.login.max-attempts-per-account:5}") int maxPerAccount,
+                               @Value("${security.login.max-attempts-per-ip:20}") int maxPerIp,
+                               @Value("${security.login.window-seconds:60}") long windowSeconds,
+                               @Value("${security.login.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.maxPerAccount = maxPerAccount;
+        this.maxPerIp = maxPerIp;
+        this.windowMillis = windowSeconds * 1000;
+        this.failures = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                return size() > maxTrackedKeys;
+            }
+        });
+    }
+
+    /**
+     * Резервирует попытку входа: увеличивает счетчики и сравнивает их с лимитом одной операцией.
+     * Неудачная попытка так и остается в счетчиках, успешная снимается через {@link #recordSuccess}.
+     *
+     * @return false, если лимит исчерпан и пароль проверять не нужно
+     */
+    public boolean tryAcquire(String account, String ip) {
+        long now = System.currentTimeMillis();
+        String accountKey = accountKey(account, ip);
+        String ipKey = ipKey(ip);
+        synchronized (failures) {
+            if (count(accountKey, now) >= maxPerAccount || count(ipKey, now) >= maxPerIp) {
+                return false;
+            }
+            increment(accountKey, now);
+            increment(ipKey, now);
+            return true;
+        }
+    }
+
+    /**
+     * Вход удался: счетчик пары (аккаунт, IP) сбрасывается, зарезервированная попытка возвращается IP.
+     */
+    public void recordSuccess(String account, String ip) {
+        long now = System.currentTimeMillis();
+        String ipKey = ipKey(ip);
+        synchronized (failures) {
+            failures.remove(accountKey(account, ip));
+            Window window = failures.get(ipKey);
+            if (window != null && !window.isExpired(now)) {
+                failures.put(ipKey, new Window(window.expiresAt, Math.max(window.count - 1, 0)));
+            }
+        }
+    }
+
+    private int count(String key, long now) {
+        Window window = failures.get(key);
+        return window == null || window.isExpired(now) ? 0 : window.count;
+    }
+
+    private void increment(String key, long now) {
+        failures.compute(key, (k, window) -> window == null || window.isExpired(now)
+                ? new Window(now + windowMillis, 1)
+                : new Window(window.expiresAt, window.count + 1));
+    }
+
+    private static String accountKey(String account, String ip) {
+        return "account:" + (account == null ? "" : account.toLowerCase()) + "@" + ip;
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+
+    private static final class Window {
+        private final long expiresAt;
+        private final int count;
+
+        private Window(long expiresAt, int count) {
+            this.expiresAt = expiresAt;
+            this.count = count;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt < now;
+        }
+    }
+}
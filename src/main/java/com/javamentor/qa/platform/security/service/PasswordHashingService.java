@@ -0,0 +1,108 @@
+package com.javamentor.qa.platform.security.service;
+
+import com.javamentor.qa.platform.exception.PasswordHashingBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt с подобранной под железо стоимостью. Стоимость берется из security.password.bcrypt.strength,
+ * а если она не задана - подбирается при старте как наибольшая, при которой хэш считается
+ * не дольше security.password.bcrypt.target-ms. Хэши с меньшей стоимостью пересчитываются
+ * при входе пользователя (см. {@link UserDetailsServiceImpl#updatePassword}).
+ * Хэширование выполняется в отдельном ограниченном пуле, при его переполнении -
+ * {@link PasswordHashingBusyException}.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 14;
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(@Value("${security.password.bcrypt.strength:0}") int strength,
+                                  @Value("${security.password.bcrypt.target-ms:250}") long targetMs,
+                                  @Value("${security.password.hash-threads:0}") int threads,
+                                  @Value("${security.password.queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encoder = new BCryptPasswordEncoder(strength > 0 ? strength : calibrateStrength(targetMs));
+    }
+
+    /**
+     * Стоимость BCrypt растет вдвое на каждую единицу strength, поэтому достаточно замерить минимальную.
+     */
+    private static int calibrateStrength(long targetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && elapsedMs * 2 <= targetMs) {
+            elapsedMs *= 2;
+            strength++;
+        }
+        log.info("BCrypt strength {} selected, ~{} ms per hash", strength, Math.round(elapsedMs));
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,7 +2,10 @@ package com.javamentor.qa.platform.security.service;
 
 import com.javamentor.qa.platform.dao.abstracts.model.UserDao;
 import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.service.abstracts.model.UserService;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -10,13 +13,14 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserDao userDao;
+    private final UserService userService;
 
-    public UserDetailsServiceImpl(UserDao userDao) {
+    public UserDetailsServiceImpl(UserDao userDao, @Lazy UserService userService) {
         this.userDao = userDao;
-
+        this.userService = userService;
     }
 
     @Override
@@ -28,4 +32,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
         return user.get();
     }
+
+    /**
+     * Вызывается DaoAuthenticationProvider'ом после успешного входа, если хэш пароля
+     * посчитан с меньшей стоимостью, чем текущая: пароль пересохраняется с новой.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userService.updatePasswordByEmail(userDetails.getUsername(), newPassword);
+        User user = (User) userDetails;
+        user.setPassword(newPassword);
+        return user;
+    }
 }
@@ -0,0 +1,7 @@
+package com.javamentor.qa.platform.service.abstracts.dto;
+
+import com.javamentor.qa.platform.models.dto.ChatInboxDto;
+
+public interface ChatInboxDtoService {
+    ChatInboxDto getInbox(Long userId);
+}
@@ -0,0 +1,10 @@
+package com.javamentor.qa.platform.service.abstracts.dto;
+
+import com.javamentor.qa.platform.models.dto.UserQuestionOverlayDto;
+
+import java.util.List;
+import java.util.Map;
+
+public interface UserQuestionOverlayService {
+    Map<Long, UserQuestionOverlayDto> getOverlays(Long userId, List<Long> questionIds);
+}
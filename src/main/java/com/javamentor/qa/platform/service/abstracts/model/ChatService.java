@@ -4,4 +4,6 @@ import com.javamentor.qa.platform.models.entity.chat.Chat;
 
 public interface ChatService extends ReadOnlyService<Chat, Long> {
     boolean isChatHasUser(Long chatId, Long userId);
+
+    void markRead(Long chatId, Long userId, Long messageId);
 }
@@ -8,4 +8,14 @@ public interface QuestionViewedService extends ReadWriteService<QuestionViewed,
     Boolean isUserViewedQuestion(String email, Long questionId);
 
     Boolean persistQuestionViewed(QuestionViewed questionViewed);
+
+    /**
+     * Ставит просмотр в буфер без запроса к БД, запись - в {@link #flushViews()}. Пары, которые уже есть
+     * в question_viewed (например, записанные до перезапуска), отбрасываются при записи уникальным индексом.
+     *
+     * @return true, если пары нет ни в буфере, ни среди недавно записанных
+     */
+    boolean registerView(Long userId, Long questionId);
+
+    void flushViews();
 }
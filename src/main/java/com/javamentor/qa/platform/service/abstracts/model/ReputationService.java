@@ -5,4 +5,5 @@ import com.javamentor.qa.platform.models.entity.user.reputation.Reputation;
 
 public interface ReputationService extends ReadWriteService<Reputation, Long> {
 
+    int rebuildUserReputation();
 }
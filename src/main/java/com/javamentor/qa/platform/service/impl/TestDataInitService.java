@@ -40,6 +40,7 @@ import com.javamentor.qa.platform.service.abstracts.model.UserService;
 import com.javamentor.qa.platform.service.abstracts.model.VoteOnAnswerService;
 import com.javamentor.qa.platform.service.abstracts.model.VoteOnQuestionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
@@ -92,6 +93,9 @@ public class TestDataInitService {
 
     private ChatService chatService;
 
+    /** Во сколько раз увеличить тестовые данные, например для нагрузочного теста */
+    private int scale = 1;
+
     public TestDataInitService() {
     }
 
@@ -115,7 +119,8 @@ public class TestDataInitService {
             @Lazy MessageService messageService,
             @Lazy MessageStarService messageStarService,
             @Lazy UserChatPinService userChatPinService,
-            @Lazy ChatService chatService) {
+            @Lazy ChatService chatService,
+            @Value("${test-data.scale:1}") int scale) {
         this.roleService = roleService;
         this.userService = userService;
         this.answerService = answerService;
@@ -135,6 +140,7 @@ public class TestDataInitService {
         this.messageStarService = messageStarService;
         this.userChatPinService = userChatPinService;
         this.chatService = chatService;
+        this.scale = scale;
     }
 
     public void createRole() {
@@ -145,6 +151,7 @@ public class TestDataInitService {
     }
 
     public void createUser(int count) {
+        Role roleUser = roleService.getAll().get(1);
         for (int i = 0; i <= count; i++) {
             User user = new User();
             user.setEmail((i + "@mail.com"));
@@ -161,7 +168,7 @@ public class TestDataInitService {
             user.setImageLink(("imageLink" + i));
             user.setLastUpdateDateTime(LocalDateTime.of(2021, 12, 4, 0, 0));
             user.setNickname(("nickName" + i));
-            user.setRole(roleService.getAll().get(1));
+            user.setRole(roleUser);
             userService.persist(user);
         }
     }
@@ -199,6 +206,9 @@ public class TestDataInitService {
     }
 
     public void createQuestion(int count) {
+        List<Tag> tags = tagService.getAll();
+        List<User> users = userService.getAll();
+
         //Question c 1 Tag`ом
         Question question1 = new Question();
         question1.setDescription("Question Description 0");
@@ -206,9 +216,9 @@ public class TestDataInitService {
         question1.setLastUpdateDateTime(LocalDateTime.of(2021, 10, 01, 18, 05, 00));
         question1.setTitle("Question Title 0");
         List<Tag> tagList1 = new ArrayList<>();
-        tagList1.add(tagService.getAll().get(0));
+        tagList1.add(tags.get(0));
         question1.setTags(tagList1);
-        question1.setUser(userService.getAll().get(1));
+        question1.setUser(users.get(1));
         questionService.persist(question1);
 
         //Question c 4 Tag`ами
@@ -219,10 +229,10 @@ public class TestDataInitService {
         question2.setTitle("Question Title 1");
         List<Tag> tagList2 = new ArrayList<>();
         for (int k = 0; k < 4; k++) {
-            tagList2.add(tagService.getAll().get(k));
+            tagList2.add(tags.get(k));
         }
         question2.setTags(tagList2);
-        question2.setUser(userService.getAll().get(1));
+        question2.setUser(users.get(1));
         questionService.persist(question2);
 
         //Question c рандомным кол-вом Tag`в
@@ -237,27 +247,35 @@ public class TestDataInitService {
             Set<Tag> tagSet = new HashSet<>();
             for (int j = 0; j <= random; j++) {
 
-                tagSet.add(tagService.getAll().get((int) (Math.random() * 4)));
+                tagSet.add(tags.get((int) (Math.random() * 4 * scale)));
             }
             List<Tag> tagList = new ArrayList<>(tagSet);
 
             question3.setTags(tagList);
-            question3.setUser(userService.getAll().get(i));
+            question3.setUser(users.get(i));
             questionService.persist(question3);
         }
     }
 
     public void createQuestionViewed(int count) {
+        Set<List<Long>> viewed = new HashSet<>();
         for (int i = 0; i < count; i++) {
+            long userId = 1 + (int) (Math.random() * (count - 1));
+            long questionId = 1 + (int) (Math.random() * (count - 1));
+            if (!viewed.add(List.of(userId, questionId))) {
+                continue;
+            }
             QuestionViewed questionViewed = new QuestionViewed();
-            questionViewed.setUser(userService.getById((long) (1 + (int) (Math.random() * 49))).get());
-            questionViewed.setQuestion(questionService.getById((long) (1 + (int) (Math.random() * 49))).get());
+            questionViewed.setUser(userService.getById(userId).get());
+            questionViewed.setQuestion(questionService.getById(questionId).get());
             questionViewedService.persist(questionViewed);
         }
     }
 
     public void createAnswer() {
         List<Question> questionList = questionService.getAll();
+        List<User> users = userService.getAll();
+        User moderator = userService.getAllByRole(roleService.getAll().get(0)).get(0);
 
         // У Question'a c id=1 нет answer
         for (int i = 1; i < questionList.size(); i++) {
@@ -272,12 +290,11 @@ public class TestDataInitService {
                 answer.setIsHelpful(true);
                 answer.setPersistDateTime(LocalDateTime.of(2021, 12, 01, 14, 05, 00));
                 answer.setUpdateDateTime(LocalDateTime.of(2021, 12, 01, 14, 05, 00));
-                answer.setUser(userService.getAll().get((int) (Math.random() * 50)));
+                answer.setUser(users.get((int) (Math.random() * 50 * scale)));
                 answer.setQuestion(questionList.get(i));
                 long rand = (long) (Math.random() * 3);
                 if (rand == 1) {
-                    answer.setEditModerator(userService.getAllByRole(roleService.getAll().get(0))
-                            .get(0));
+                    answer.setEditModerator(moderator);
                 }
                 answerService.persist(answer);
             }
@@ -332,6 +349,7 @@ public class TestDataInitService {
 
     public void createTrackedTag() {
         List<User> userList = userService.getAll();
+        List<Tag> tags = tagService.getAll();
 
         // У User'a c id=1 нет TrackedTag
         for (int i = 1; i < userList.size(); i++) {
@@ -340,8 +358,8 @@ public class TestDataInitService {
             for (int j = 1; j <= random; j++) {
                 TrackedTag trackedTag = new TrackedTag();
                 trackedTag.setPersistDateTime(LocalDateTime.of(2022, 01, 06, 12, 30, 00));
-                trackedTag.setTrackedTag(tagService.getAll().get(j));
-                trackedTag.setUser(userService.getAll().get(i));
+                trackedTag.setTrackedTag(tags.get(j));
+                trackedTag.setUser(userList.get(i));
                 trackedTagService.persist(trackedTag);
             }
         }
@@ -349,6 +367,7 @@ public class TestDataInitService {
 
     public void createIgnoredTag() {
         List<User> userList = userService.getAll();
+        List<Tag> tags = tagService.getAll();
 
         // У User'a c id=1 нет IgnoredTag
         for (int i = 1; i < userList.size(); i++) {
@@ -357,23 +376,21 @@ public class TestDataInitService {
             for (int j = 1; j <= random; j++) {
                 IgnoredTag ignoredTag = new IgnoredTag();
                 ignoredTag.setPersistDateTime(LocalDateTime.of(2022, 01, 06, 12, 30, 00));
-                ignoredTag.setIgnoredTag(tagService.getAll().get(j));
-                ignoredTag.setUser(userService.getAll().get(i));
+                ignoredTag.setIgnoredTag(tags.get(j));
+                ignoredTag.setUser(userList.get(i));
                 ignoredTagService.persist(ignoredTag);
             }
         }
     }
 
     public void createBookmark(int count) {
+        List<User> users = userService.getAll();
+        List<Question> questions = questionService.getAll();
         for (int i = 0; i <= count; i++) {
             BookMarks bookMarks = new BookMarks();
             bookMarks.setPersistDateTime(LocalDateTime.of(2023, 03, 20, 0, 0));
-            List<User> userList = new ArrayList<>();
-            userList.add(userService.getAll().get(1));
-            bookMarks.setUser(userService.getAll().get((int) (Math.random() * 50)));
-            List<Question> questionList = new ArrayList<>();
-            questionList.add(questionService.getAll().get(1));
-            bookMarks.setQuestion(questionService.getAll().get(i));
+            bookMarks.setUser(users.get((int) (Math.random() * 50 * scale)));
+            bookMarks.setQuestion(questions.get(i));
             bookMarksService.persist(bookMarks);
         }
     }
@@ -478,19 +495,21 @@ public class TestDataInitService {
     }
 
     public void createMessageStar(long count) {
+        List<User> users = userService.getAll();
+        List<Message> messages = messageService.getAll();
         for (int i = 1; i < count; i++) {
             Random r = new Random();
             int random = r.nextInt(3 - 1 + 1) + 1;
 
             for (int k = 1; k <= random; k++) {
-                int messageRandom = r.nextInt(19 - 1 + 1) + 1;
-                long chatId = messageService.getAll().get(messageRandom).getChat().getId();
-                if (messageStarService.isUserHasNoMoreThanThreeMessageStar(userService.getAll().get(i).getId()) &&
-                        chatService.isChatHasUser(chatId, userService.getAll().get(i).getId())) {
+                int messageRandom = r.nextInt(Math.min(19 * scale, messages.size() - 1)) + 1;
+                long chatId = messages.get(messageRandom).getChat().getId();
+                if (messageStarService.isUserHasNoMoreThanThreeMessageStar(users.get(i).getId()) &&
+                        chatService.isChatHasUser(chatId, users.get(i).getId())) {
                     MessageStar messageStar = new MessageStar();
                     messageStar.setPersistDateTime(LocalDateTime.of(2022, 8, 18, 23, 12));
-                    messageStar.setUser(userService.getAll().get(i));
-                    messageStar.setMessage(messageService.getAll().get(messageRandom));
+                    messageStar.setUser(users.get(i));
+                    messageStar.setMessage(messages.get(messageRandom));
                     messageStarService.persist(messageStar);
                 }
             }
@@ -516,20 +535,20 @@ public class TestDataInitService {
     public void init() {
         createRole();
         createAdmin(0);
-        createUser(50);
-        createTag(4);
-        createQuestion(50);
+        createUser(50 * scale);
+        createTag(4 * scale);
+        createQuestion(50 * scale);
         createAnswer();
         createReputation();
         createTrackedTag();
         createIgnoredTag();
-        createBookmark(50);
+        createBookmark(50 * scale);
         createRelatedTags();
-        createSingleChat(4);
-        createGroupChat(2);
+        createSingleChat(4 * scale);
+        createGroupChat(2 * scale);
         createGlobalGroupChat();
-        createQuestionViewed(50);
-        createMessageStar(50);
+        createQuestionViewed(50 * scale);
+        createMessageStar(50 * scale);
         createUserChatPin();
     }
 }
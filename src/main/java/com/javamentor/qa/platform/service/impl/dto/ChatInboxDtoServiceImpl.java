@@ -0,0 +1,21 @@
+package com.javamentor.qa.platform.service.impl.dto;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.ChatInboxDtoDao;
+import com.javamentor.qa.platform.models.dto.ChatInboxDto;
+import com.javamentor.qa.platform.service.abstracts.dto.ChatInboxDtoService;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChatInboxDtoServiceImpl implements ChatInboxDtoService {
+
+    private final ChatInboxDtoDao chatInboxDtoDao;
+
+    public ChatInboxDtoServiceImpl(ChatInboxDtoDao chatInboxDtoDao) {
+        this.chatInboxDtoDao = chatInboxDtoDao;
+    }
+
+    @Override
+    public ChatInboxDto getInbox(Long userId) {
+        return chatInboxDtoDao.getInbox(userId);
+    }
+}
@@ -1,31 +1,120 @@
 package com.javamentor.qa.platform.service.impl.dto;
 
+import com.javamentor.qa.platform.dao.abstracts.dto.KeysetPageDtoDao;
 import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.util.PageParams;
+import com.javamentor.qa.platform.dao.util.QueryCounter;
+import com.javamentor.qa.platform.models.dto.PageCursor;
 import com.javamentor.qa.platform.models.dto.PageDto;
+import com.javamentor.qa.platform.models.dto.enums.CountPolicy;
 import com.javamentor.qa.platform.service.abstracts.dto.PageDtoService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @NoArgsConstructor
 @Setter
 public class PageDtoServiceImpl<T> implements PageDtoService<T> {
 
+    /** totalResultCount и totalPageCount, когда count не считался */
+    private static final int UNKNOWN_COUNT = -1;
+
     @Autowired
     Map<String, PageDtoDao<T>> pageDtoDaoMap;
 
+    @Autowired
+    TotalResultCountCache totalResultCountCache;
+
+    @Autowired
+    @Qualifier("pageDtoExecutor")
+    Executor pageDtoExecutor;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${pagination.parallel-fetch:false}")
+    boolean parallelFetch;
+
+    @Value("${pagination.timeout.items-ms:5000}")
+    long itemsTimeoutMs;
+
+    @Value("${pagination.timeout.count-ms:3000}")
+    long countTimeoutMs;
+
+    @Value("${pagination.timeout.hydration-ms:3000}")
+    long hydrationTimeoutMs;
+
     public PageDtoServiceImpl(Map<String, PageDtoDao<T>> pageDtoDaoMap) {
         this.pageDtoDaoMap = pageDtoDaoMap;
     }
 
-    @Transactional
+    /**
+     * Параметр countPolicy ({@link CountPolicy}) задает, как считать totalResultCount, по умолчанию EXACT.
+     * Транзакция здесь не открывается: запросы страницы выполняются либо сами по себе, либо
+     * при pagination.parallel-fetch в своих read-only транзакциях в pageDtoExecutor.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     @Override
     public PageDto<T> getPageDto(String pageDtoDaoName, Map<String, Object> params) {
+        return getPageDto(pageDtoDaoName, params, null);
+    }
+
+    /**
+     * Время всей страницы пишется в pagination.page, число SQL-запросов за страницу - в pagination.page.statements.
+     *
+     * @param itemsHydrator дозаполняет items страницы (например, тэгами), когда известны их id
+     */
+    protected PageDto<T> getPageDto(String pageDtoDaoName, Map<String, Object> params,
+                                    Consumer<List<T>> itemsHydrator) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        QueryCounter.Scope queries = QueryCounter.open();
+        String outcome = "error";
+        try {
+            PageDto<T> pageDto = fetchPage(pageDtoDaoName, params, itemsHydrator);
+            outcome = "success";
+            return pageDto;
+        } finally {
+            queries.close();
+            sample.stop(Timer.builder("pagination.page")
+                    .tag("pageDtoDao", pageDtoDaoName)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            DistributionSummary.builder("pagination.page.statements")
+                    .tag("pageDtoDao", pageDtoDaoName)
+                    .register(meterRegistry)
+                    .record(queries.getCount());
+        }
+    }
+
+    private PageDto<T> fetchPage(String pageDtoDaoName, Map<String, Object> params,
+                                 Consumer<List<T>> itemsHydrator) {
 
         if (params.isEmpty()) {
             throw new IllegalArgumentException("Не получится искать записи, когда параметры == null");
@@ -44,19 +133,244 @@ public class PageDtoServiceImpl<T> implements PageDtoService<T> {
             throw new IllegalArgumentException("Неправильное имя PageDtoDao");
         }
 
-        pageDto.setItemsOnPage((int) params.get("itemsOnPage"));
-        pageDto.setCurrentPageNumber((int) params.get("currentPageNumber"));
-        pageDto.setItems(pageDtoDao.getItems(params));
-        pageDto.setTotalResultCount(pageDtoDao.getTotalResultCount(params));
-        pageDto.setTotalPageCount((int) (Math.ceil(((double) pageDto.getTotalResultCount() / (int) params.get("itemsOnPage")))));
+        CountPolicy countPolicy = params.get("countPolicy") == null
+                ? CountPolicy.EXACT : (CountPolicy) params.get("countPolicy");
+
+        if (params.get("cursor") != null) {
+            return getKeysetPageDto(pageDtoDaoName, pageDtoDao, params, countPolicy, itemsHydrator);
+        }
+
+        int itemsOnPage = (int) params.get("itemsOnPage");
+        int currentPageNumber = (int) params.get("currentPageNumber");
+        pageDto.setItemsOnPage(itemsOnPage);
+        pageDto.setCurrentPageNumber(currentPageNumber);
+
+        if (countPolicy == CountPolicy.NONE) {
+            List<T> items = fetchItems(pageDtoDaoName, () -> getItemsWithNext(pageDtoDao, params),
+                    itemsOnPage, itemsHydrator);
+            if (items.isEmpty() && currentPageNumber > 1) {
+                throw new IllegalArgumentException("Страницы под номером "
+                        + currentPageNumber + " пока не существует");
+            }
+            pageDto.setHasNext(items.size() > itemsOnPage);
+            pageDto.setItems(pageDto.isHasNext() ? new ArrayList<>(items.subList(0, itemsOnPage)) : items);
+            pageDto.setTotalResultCount(UNKNOWN_COUNT);
+            pageDto.setTotalPageCount(UNKNOWN_COUNT);
+            return pageDto;
+        }
+
+        CompletableFuture<Integer> totalResultCount = startTotalResultCount(pageDtoDaoName, pageDtoDao, params, countPolicy);
+        pageDto.setItems(fetchItems(pageDtoDaoName, () -> pageDtoDao.getItems(params), itemsOnPage, itemsHydrator));
+        pageDto.setTotalResultCount(awaitTotalResultCount(pageDtoDaoName, pageDtoDao, params, totalResultCount));
+
+        if (pageDto.getTotalResultCount() == UNKNOWN_COUNT) {
+            pageDto.setTotalPageCount(UNKNOWN_COUNT);
+            pageDto.setHasNext(pageDto.getItems().size() == itemsOnPage);
+            return pageDto;
+        }
+
+        pageDto.setTotalPageCount((int) (Math.ceil(((double) pageDto.getTotalResultCount() / itemsOnPage))));
         if (pageDto.getTotalPageCount() == 0) {
             pageDto.setTotalPageCount(1);
         }
-        if ((int) params.get("currentPageNumber") > pageDto.getTotalPageCount()) {
+        if (currentPageNumber > pageDto.getTotalPageCount() && countPolicy == CountPolicy.EXACT) {
             throw new IllegalArgumentException("Страницы под номером "
                     + params.get("currentPageNumber") + " пока не существует");
         }
+        pageDto.setHasNext(currentPageNumber < pageDto.getTotalPageCount());
 
         return pageDto;
     }
+
+    /**
+     * Курсорная пагинация: пустой cursor - первая страница, иначе DAO продолжает выборку
+     * после записи из cursor. Запрашивается на одну запись больше, чтобы понять, есть ли
+     * следующая страница, без offset'а.
+     */
+    private PageDto<T> getKeysetPageDto(String pageDtoDaoName, PageDtoDao<T> pageDtoDao, Map<String, Object> params,
+                                        CountPolicy countPolicy, Consumer<List<T>> itemsHydrator) {
+        if (!(pageDtoDao instanceof KeysetPageDtoDao)) {
+            throw new IllegalArgumentException("PageDtoDao не поддерживает пагинацию по cursor");
+        }
+        KeysetPageDtoDao<T> keysetPageDtoDao = (KeysetPageDtoDao<T>) pageDtoDao;
+        int itemsOnPage = (int) params.get("itemsOnPage");
+
+        Map<String, Object> keysetParams = new HashMap<>(params);
+        keysetParams.put("currentPageNumber", 1);
+        keysetParams.put("itemsOnPage", itemsOnPage + 1);
+        keysetParams.put("pageCursor", PageCursor.decode((String) params.get("cursor")));
+
+        CompletableFuture<Integer> totalResultCount = countPolicy == CountPolicy.NONE
+                ? CompletableFuture.completedFuture(UNKNOWN_COUNT)
+                : startTotalResultCount(pageDtoDaoName, pageDtoDao, keysetParams, countPolicy);
+
+        List<T> items = new ArrayList<>(fetchItems(pageDtoDaoName, () -> keysetPageDtoDao.getItems(keysetParams),
+                itemsOnPage, itemsHydrator));
+        boolean hasNext = items.size() > itemsOnPage;
+        if (hasNext) {
+            items = new ArrayList<>(items.subList(0, itemsOnPage));
+        }
+
+        PageDto<T> pageDto = new PageDto<>();
+        pageDto.setItemsOnPage(itemsOnPage);
+        pageDto.setItems(items);
+        pageDto.setHasNext(hasNext);
+        pageDto.setNextCursor(hasNext ? keysetPageDtoDao.getCursor(items.get(items.size() - 1)).encode() : null);
+        pageDto.setTotalResultCount(awaitTotalResultCount(pageDtoDaoName, pageDtoDao, keysetParams, totalResultCount));
+        pageDto.setTotalPageCount(pageDto.getTotalResultCount() == UNKNOWN_COUNT ? UNKNOWN_COUNT
+                : Math.max(1, (int) Math.ceil((double) pageDto.getTotalResultCount() / itemsOnPage)));
+        return pageDto;
+    }
+
+    /**
+     * Выборка страницы с одной лишней записью, по которой видно, есть ли следующая страница.
+     */
+    private List<T> getItemsWithNext(PageDtoDao<T> pageDtoDao, Map<String, Object> params) {
+        Map<String, Object> extendedParams = new HashMap<>(params);
+        extendedParams.put(PageParams.FETCH_NEXT, true);
+        return pageDtoDao.getItems(extendedParams);
+    }
+
+    /**
+     * Выборка items и их дозаполнение. Лишние записи сверх itemsOnPage (для hasNext) не дозаполняются.
+     * При pagination.parallel-fetch выполняется в pageDtoExecutor параллельно с count.
+     */
+    private List<T> fetchItems(String pageDtoDaoName, Supplier<List<T>> itemsQuery, int itemsOnPage,
+                               Consumer<List<T>> itemsHydrator) {
+        if (!parallelFetch) {
+            List<T> items = timed(pageDtoDaoName, "items", itemsQuery);
+            if (itemsHydrator != null && !items.isEmpty()) {
+                timed(pageDtoDaoName, "hydration", () -> {
+                    itemsHydrator.accept(pageItems(items, itemsOnPage));
+                    return items;
+                });
+            }
+            return items;
+        }
+
+        QueryCounter.Scope pageQueries = QueryCounter.current();
+        CompletableFuture<List<T>> items = supplyReadOnly(pageDtoDaoName, "items", pageQueries, itemsQuery,
+                itemsTimeoutMs);
+        if (itemsHydrator != null) {
+            items = items.thenCompose(list -> list.isEmpty() ? CompletableFuture.completedFuture(list)
+                    : supplyReadOnly(pageDtoDaoName, "hydration", pageQueries, () -> {
+                        itemsHydrator.accept(pageItems(list, itemsOnPage));
+                        return list;
+                    }, hydrationTimeoutMs));
+        }
+        return await(items);
+    }
+
+    private List<T> pageItems(List<T> items, int itemsOnPage) {
+        return items.size() > itemsOnPage ? items.subList(0, itemsOnPage) : items;
+    }
+
+    /**
+     * Запускает подсчет totalResultCount. Для ESTIMATED сначала смотрит в кэш.
+     */
+    private CompletableFuture<Integer> startTotalResultCount(String pageDtoDaoName, PageDtoDao<T> pageDtoDao,
+                                                             Map<String, Object> params, CountPolicy countPolicy) {
+        if (countPolicy == CountPolicy.ESTIMATED) {
+            Integer cached = totalResultCountCache.get(pageDtoDaoName, pageDtoDao.getCountParams(), params);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        Supplier<Integer> countQuery = () -> {
+            int count = pageDtoDao.getTotalResultCount(params);
+            totalResultCountCache.put(pageDtoDaoName, pageDtoDao.getCountParams(), params, count);
+            return count;
+        };
+        if (!parallelFetch) {
+            return CompletableFuture.completedFuture(timed(pageDtoDaoName, "count", countQuery));
+        }
+        return supplyReadOnly(pageDtoDaoName, "count", QueryCounter.current(), countQuery, countTimeoutMs);
+    }
+
+    /**
+     * Если count не уложился в таймаут, страница отдается с последним известным count или без него.
+     */
+    private int awaitTotalResultCount(String pageDtoDaoName, PageDtoDao<T> pageDtoDao, Map<String, Object> params,
+                                      CompletableFuture<Integer> totalResultCount) {
+        try {
+            return await(totalResultCount);
+        } catch (PageStageTimeoutException e) {
+            Integer cached = totalResultCountCache.get(pageDtoDaoName, pageDtoDao.getCountParams(), params);
+            return cached == null ? UNKNOWN_COUNT : cached;
+        }
+    }
+
+    /**
+     * Запрос в pageDtoExecutor в отдельной read-only транзакции, т.е. на своем соединении.
+     * Таймаут транзакции ограничивает и сам запрос в БД, а не только ожидание результата.
+     */
+    private <R> CompletableFuture<R> supplyReadOnly(String pageDtoDaoName, String stage, QueryCounter.Scope pageQueries,
+                                                    Supplier<R> query, long timeoutMs) {
+        TransactionTemplate transactionTemplate = readOnlyTransactionTemplate(timeoutMs);
+
+        return CompletableFuture.supplyAsync(() -> timed(pageDtoDaoName, stage, pageQueries,
+                        () -> transactionTemplate.execute(status -> query.get())), pageDtoExecutor)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> {
+                    if (e instanceof TimeoutException) {
+                        meterRegistry.counter("pagination.stage.timeouts",
+                                "pageDtoDao", pageDtoDaoName, "stage", stage).increment();
+                    }
+                });
+    }
+
+    protected TransactionTemplate readOnlyTransactionTemplate(long timeoutMs) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+        return transactionTemplate;
+    }
+
+    private <R> R timed(String pageDtoDaoName, String stage, Supplier<R> query) {
+        return timed(pageDtoDaoName, stage, QueryCounter.current(), query);
+    }
+
+    /**
+     * Время этапа страницы (pagination.stage) и число его SQL-запросов (pagination.stage.statements).
+     *
+     * @param pageQueries счетчик запросов страницы, в который добавляются запросы этапа
+     */
+    private <R> R timed(String pageDtoDaoName, String stage, QueryCounter.Scope pageQueries, Supplier<R> query) {
+        QueryCounter.Scope queries = QueryCounter.open(pageQueries);
+        try {
+            return Timer.builder("pagination.stage")
+                    .tag("pageDtoDao", pageDtoDaoName)
+                    .tag("stage", stage)
+                    .register(meterRegistry)
+                    .record(query);
+        } finally {
+            queries.close();
+            DistributionSummary.builder("pagination.stage.statements")
+                    .tag("pageDtoDao", pageDtoDaoName)
+                    .tag("stage", stage)
+                    .register(meterRegistry)
+                    .record(queries.getCount());
+        }
+    }
+
+    protected <R> R await(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new PageStageTimeoutException();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class PageStageTimeoutException extends RuntimeException {
+        PageStageTimeoutException() {
+            super("Превышено время ожидания запроса страницы");
+        }
+    }
 }
@@ -4,17 +4,31 @@ import com.javamentor.qa.platform.dao.abstracts.dto.AnswerDtoDao;
 import com.javamentor.qa.platform.dao.abstracts.dto.CommentDtoDao;
 import com.javamentor.qa.platform.dao.abstracts.dto.QuestionDtoDao;
 import com.javamentor.qa.platform.dao.abstracts.dto.TagDtoDao;
+import com.javamentor.qa.platform.models.dto.AnswerDto;
+import com.javamentor.qa.platform.models.dto.CommentDto;
 import com.javamentor.qa.platform.models.dto.PageDto;
 import com.javamentor.qa.platform.models.dto.QuestionDto;
 import com.javamentor.qa.platform.models.dto.QuestionViewDto;
 import com.javamentor.qa.platform.models.dto.TagDto;
+import com.javamentor.qa.platform.models.dto.UserQuestionOverlayDto;
 import com.javamentor.qa.platform.service.abstracts.dto.QuestionDtoService;
+import com.javamentor.qa.platform.service.abstracts.dto.UserQuestionOverlayService;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -28,35 +42,145 @@ public class QuestionDtoServiceImpl extends PageDtoServiceImpl<QuestionViewDto>
     private final CommentDtoDao commentDtoDao;
     private final TagDtoDao tagDtoDao;
     private final AnswerDtoDao answerDtoDao;
+    private final UserQuestionOverlayService userQuestionOverlayService;
+    private final QuestionFeedCache questionFeedCache;
+
+    @Value("${question.detail.parallel-fetch:false}")
+    boolean detailParallelFetch;
+
+    @Value("${question.detail.timeout-ms:5000}")
+    long detailTimeoutMs;
 
     @Autowired
     public QuestionDtoServiceImpl(QuestionDtoDao questionDtoDao, CommentDtoDao commentDtoDao,
-                                  TagDtoDao tagDtoDao, AnswerDtoDao answerDtoDao) {
+                                  TagDtoDao tagDtoDao, AnswerDtoDao answerDtoDao,
+                                  UserQuestionOverlayService userQuestionOverlayService,
+                                  QuestionFeedCache questionFeedCache) {
         this.questionDtoDao = questionDtoDao;
         this.commentDtoDao = commentDtoDao;
         this.tagDtoDao = tagDtoDao;
         this.answerDtoDao = answerDtoDao;
+        this.userQuestionOverlayService = userQuestionOverlayService;
+        this.questionFeedCache = questionFeedCache;
     }
 
+    /**
+     * Вопрос собирается из четырех независимых частей: вопрос с флагами пользователя, тэги,
+     * комментарии и ответы с их комментариями (одним запросом на все ответы).
+     * При question.detail.parallel-fetch части запрашиваются параллельно в pageDtoExecutor,
+     * каждая в своей read-only транзакции. Время каждого запроса пишется в question.detail.stage.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     @Override
     public Optional<QuestionDto> getQuestionByQuestionIdAndUserId(Long questionId, Long userId) {
-        Optional<QuestionDto> questionDto = questionDtoDao.getQuestionByQuestionIdAndUserId(questionId, userId);
-        questionDto.ifPresent(dto -> dto.setListCommentDto(commentDtoDao.getCommentDtosByQuestionId(questionId)));
-        questionDto.ifPresent(dto -> dto.setListTagDto(tagDtoDao.getTagsByQuestionId(questionId)));
-        questionDto.ifPresent(dto -> dto.setListAnswerDto(answerDtoDao.getAllByQuestionId(questionId)));
+        if (!detailParallelFetch) {
+            Optional<QuestionDto> questionDto = getQuestionWithOverlay(questionId, userId);
+            questionDto.ifPresent(dto -> {
+                dto.setListTagDto(timedDetail("tags", () -> tagDtoDao.getTagsByQuestionId(questionId)));
+                dto.setListCommentDto(timedDetail("comments", () -> commentDtoDao.getCommentDtosByQuestionId(questionId)));
+                dto.setListAnswerDto(getAnswersWithComments(questionId));
+            });
+            return questionDto;
+        }
+
+        CompletableFuture<Optional<QuestionDto>> question = supplyDetail(() -> getQuestionWithOverlay(questionId, userId));
+        CompletableFuture<List<TagDto>> tags = supplyDetail(
+                () -> timedDetail("tags", () -> tagDtoDao.getTagsByQuestionId(questionId)));
+        CompletableFuture<List<CommentDto>> comments = supplyDetail(
+                () -> timedDetail("comments", () -> commentDtoDao.getCommentDtosByQuestionId(questionId)));
+        CompletableFuture<List<AnswerDto>> answers = supplyDetail(() -> getAnswersWithComments(questionId));
+
+        Optional<QuestionDto> questionDto = await(question);
+        questionDto.ifPresent(dto -> {
+            dto.setListTagDto(await(tags));
+            dto.setListCommentDto(await(comments));
+            dto.setListAnswerDto(await(answers));
+        });
         return questionDto;
     }
 
     @Override
     public PageDto<QuestionViewDto> getPageQuestionsWithTags(String pageDtoDaoName, Map<String, Object> params) {
+        String cacheKey = questionFeedCache.getKey(pageDtoDaoName, params);
+        PageDto<QuestionViewDto> sharedPage = cacheKey == null ? null : questionFeedCache.get(cacheKey);
+        if (sharedPage == null) {
+            long cacheVersion = questionFeedCache.getVersion();
+            sharedPage = getPageDto(pageDtoDaoName, params, this::setTags);
+            if (cacheKey != null) {
+                questionFeedCache.put(cacheKey, pageDtoDaoName, cacheVersion, sharedPage);
+            }
+        }
+
+        PageDto<QuestionViewDto> pageDto = new PageDto<>(sharedPage.getCurrentPageNumber(), sharedPage.getTotalPageCount(),
+                sharedPage.getTotalResultCount(),
+                sharedPage.getItems().stream().map(q -> q.toBuilder().build()).collect(Collectors.toList()),
+                sharedPage.getItemsOnPage(), sharedPage.getNextCursor(), sharedPage.isHasNext());
+        setOverlays(pageDto.getItems(), (Long) params.get("userId"));
+        return pageDto;
+    }
+
+    private void setOverlays(List<QuestionViewDto> questions, Long userId) {
+        if (questions.isEmpty() || userId == null) {
+            return;
+        }
+        Map<Long, UserQuestionOverlayDto> overlays = userQuestionOverlayService.getOverlays(userId,
+                questions.stream().map(QuestionViewDto::getId).collect(Collectors.toList()));
+        for (QuestionViewDto q : questions) {
+            UserQuestionOverlayDto overlay = overlays.getOrDefault(q.getId(), UserQuestionOverlayDto.empty(q.getId()));
+            q.setIsUserBookMarks(overlay.isBookmarked());
+            q.setIsUserVote(overlay.getUserVote());
+            q.setIsUserAnswer(overlay.isAnswered());
+        }
+    }
+
+    private Optional<QuestionDto> getQuestionWithOverlay(Long questionId, Long userId) {
+        Optional<QuestionDto> questionDto = timedDetail("question", () -> questionDtoDao.getQuestionById(questionId));
+        questionDto.ifPresent(dto -> setOverlay(dto, timedDetail("overlay", () -> userQuestionOverlayService
+                .getOverlays(userId, Collections.singletonList(questionId)).get(questionId))));
+        return questionDto;
+    }
+
+    private List<AnswerDto> getAnswersWithComments(Long questionId) {
+        List<AnswerDto> answers = timedDetail("answers", () -> answerDtoDao.getAllByQuestionId(questionId));
+        if (answers.isEmpty()) {
+            return answers;
+        }
+        List<Long> ids = answers.stream().map(AnswerDto::getId).collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = timedDetail("answerComments",
+                () -> commentDtoDao.getCommentDtosByAnswerIds(ids));
+        for (AnswerDto answer : answers) {
+            answer.setListOfComeentsDto(comments.getOrDefault(answer.getId(), new ArrayList<>()));
+        }
+        return answers;
+    }
+
+    private <R> CompletableFuture<R> supplyDetail(Supplier<R> query) {
+        TransactionTemplate transactionTemplate = readOnlyTransactionTemplate(detailTimeoutMs);
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> query.get()), pageDtoExecutor)
+                .orTimeout(detailTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <R> R timedDetail(String stage, Supplier<R> query) {
+        return Timer.builder("question.detail.stage")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(query);
+    }
 
-        PageDto<QuestionViewDto> pageDto = super.getPageDto(pageDtoDaoName, params);
-        List ids = pageDto.getItems().stream().map(
-                questionViewDto -> questionViewDto.getId()).collect(Collectors.toList());
+    private void setOverlay(QuestionDto questionDto, UserQuestionOverlayDto overlay) {
+        if (overlay == null) {
+            overlay = UserQuestionOverlayDto.empty(questionDto.getId());
+        }
+        questionDto.setIsUserVote(overlay.getUserVote());
+        questionDto.setIsUserBookmark(overlay.isBookmarked());
+        questionDto.setIsUserAnswerVote(overlay.isAnswered());
+    }
+
+    private void setTags(List<QuestionViewDto> questions) {
+        List<Long> ids = questions.stream().map(QuestionViewDto::getId).collect(Collectors.toList());
         Map<Long, List<TagDto>> tags = tagDtoDao.getTagsByQuestionIds(ids);
-        for (QuestionViewDto q : pageDto.getItems()) {
+        for (QuestionViewDto q : questions) {
             q.setListTagDto(tags.get(q.getId()));
         }
-        return pageDto;
     }
 }
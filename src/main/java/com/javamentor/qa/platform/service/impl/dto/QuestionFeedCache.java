@@ -0,0 +1,170 @@
+package com.javamentor.qa.platform.service.impl.dto;
+
+import com.javamentor.qa.platform.models.dto.PageDto;
+import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent.Change;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Первые страницы популярных лент вопросов, общие для всех пользователей.
+ * Хранится страница без пользовательских полей (закладки), которые дозаполняются на каждый запрос.
+ * <p>
+ * После коммита изменения сбрасываются только затронутые страницы: у лент, на сортировку или состав которых
+ * влияет изменение, увеличивается поколение и все их страницы устаревают, у остальных лент удаляются
+ * страницы с измененным вопросом. Страница не кэшируется, если во время ее расчета сменилось поколение ее ленты
+ * или изменился один из ее вопросов: она могла прочитать данные до коммита.
+ * <p>
+ * Записанные просмотры ({@link Change#VIEW}) сбрасывают ленты, отсортированные с учетом просмотров;
+ * счетчик просмотров на страницах остальных лент обновляется только по истечении ttl.
+ */
+@Component
+public class QuestionFeedCache {
+
+    /** Кэшируемые ленты и изменения, от которых зависят их сортировка и состав */
+    private static final Map<String, Set<Change>> CACHED_FEEDS = Map.of(
+            "paginationAllQuestionsWithTagsSortedByPersistDate", EnumSet.of(Change.QUESTION),
+            "paginationAllQuestionsWithTagsSortedByViewCount", EnumSet.of(Change.QUESTION, Change.VIEW),
+            "paginationAllQuestionsSortedByVoteUseful", EnumSet.of(Change.QUESTION, Change.QUESTION_VOTE),
+            "paginationQuestionsMostPopularWeek", EnumSet.allOf(Change.class),
+            "paginationAllQuestionsSortedByVoteAndAnswerAndViewsByMonth",
+            EnumSet.of(Change.QUESTION, Change.QUESTION_VOTE, Change.ANSWER, Change.VIEW));
+
+    /** Параметры, которые не влияют на общую часть страницы */
+    private static final Set<String> USER_PARAMS = Set.of("userId");
+
+    /** Сколько последних измененных вопросов помнится для проверки страниц, которые сейчас считаются */
+    private static final int MAX_TRACKED_CHANGES = 10000;
+
+    private final Map<String, Entry> pages;
+    private final Map<String, Long> generations = new HashMap<>();
+    /** Версия последней смены поколения ленты */
+    private final Map<String, Long> feedChangedAt = new HashMap<>();
+    /** Версия последнего изменения вопроса, в порядке изменений */
+    private final Map<Long, Long> questionChangedAt = new LinkedHashMap<>();
+    private final long ttlMillis;
+    private final int maxPage;
+
+    /** Число изменений с запуска, по нему отбрасываются страницы, посчитанные во время изменения */
+    private long version;
+    /** Последняя версия, изменения которой уже вытеснены из questionChangedAt */
+    private long forgottenVersion;
+
+    public QuestionFeedCache(@Value("${question.feed-cache.max-size:1000}") int maxSize,
+                             @Value("${question.feed-cache.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${question.feed-cache.max-page:3}") int maxPage) {
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        CACHED_FEEDS.keySet().forEach(feed -> {
+            generations.put(feed, 0L);
+            feedChangedAt.put(feed, 0L);
+        });
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxPage = maxPage;
+    }
+
+    /**
+     * @return ключ страницы или null, если страница не кэшируется
+     */
+    public String getKey(String pageDtoDaoName, Map<String, Object> params) {
+        if (!CACHED_FEEDS.containsKey(pageDtoDaoName) || params.get("cursor") != null
+                || (int) params.get("currentPageNumber") > maxPage) {
+            return null;
+        }
+        Map<String, Object> shared = new TreeMap<>(params);
+        shared.keySet().removeAll(USER_PARAMS);
+        return pageDtoDaoName + shared;
+    }
+
+    public synchronized PageDto<QuestionViewDto> get(String key) {
+        Entry entry = pages.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis() || entry.generation != generations.get(entry.feed)) {
+            pages.remove(key);
+            return null;
+        }
+        return entry.page;
+    }
+
+    /**
+     * @return версия, которую нужно передать в {@link #put} после расчета страницы
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Кэширует страницу, если с начала ее расчета (version) не сменилось поколение ленты
+     * и не изменился ни один вопрос страницы.
+     */
+    public synchronized void put(String key, String pageDtoDaoName, long version, PageDto<QuestionViewDto> page) {
+        if (feedChangedAt.get(pageDtoDaoName) > version || forgottenVersion > version) {
+            return;
+        }
+        Set<Long> questionIds = page.getItems().stream().map(QuestionViewDto::getId).collect(Collectors.toSet());
+        for (Long questionId : questionIds) {
+            if (questionChangedAt.getOrDefault(questionId, 0L) > version) {
+                return;
+            }
+        }
+        pages.put(key, new Entry(pageDtoDaoName, generations.get(pageDtoDaoName), questionIds, page,
+                System.currentTimeMillis() + ttlMillis));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onQuestionFeedChanged(QuestionFeedChangedEvent event) {
+        version++;
+        CACHED_FEEDS.forEach((feed, changes) -> {
+            if (changes.contains(event.getChange())) {
+                generations.merge(feed, 1L, Long::sum);
+                feedChangedAt.put(feed, version);
+            }
+        });
+        Long questionId = event.getQuestionId();
+        if (questionId == null) {
+            return;
+        }
+        pages.values().removeIf(entry -> entry.questionIds.contains(questionId));
+        questionChangedAt.remove(questionId);
+        questionChangedAt.put(questionId, version);
+        if (questionChangedAt.size() > MAX_TRACKED_CHANGES) {
+            Iterator<Long> eldest = questionChangedAt.values().iterator();
+            forgottenVersion = eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final String feed;
+        private final long generation;
+        private final Set<Long> questionIds;
+        private final PageDto<QuestionViewDto> page;
+        private final long expiresAt;
+
+        private Entry(String feed, long generation, Set<Long> questionIds, PageDto<QuestionViewDto> page,
+                      long expiresAt) {
+            this.feed = feed;
+            this.generation = generation;
+            this.questionIds = questionIds;
+            this.page = page;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.javamentor.qa.platform.service.impl.dto;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Последние посчитанные totalResultCount по имени PageDtoDao и параметрам, от которых зависит count
+ * ({@link com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao#getCountParams()}). Поэтому, например,
+ * count общей ленты вопросов один для всех пользователей.
+ * Используется для CountPolicy.ESTIMATED, когда точное число записей клиенту не нужно.
+ * При переполнении вытесняются давно не запрошенные count'ы.
+ */
+@Component
+public class TotalResultCountCache {
+
+    private final Map<String, Entry> counts;
+    private final long ttlMillis;
+
+    public TotalResultCountCache(@Value("${pagination.count.cache-ttl-seconds:60}") long ttlSeconds,
+                                 @Value("${pagination.count.cache-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.counts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Integer get(String pageDtoDaoName, Set<String> countParams, Map<String, Object> params) {
+        String key = key(pageDtoDaoName, countParams, params);
+        Entry entry = counts.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            counts.remove(key, entry);
+            return null;
+        }
+        return entry.count;
+    }
+
+    public void put(String pageDtoDaoName, Set<String> countParams, Map<String, Object> params, int count) {
+        counts.put(key(pageDtoDaoName, countParams, params), new Entry(count, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private String key(String pageDtoDaoName, Set<String> countParams, Map<String, Object> params) {
+        Map<String, Object> filter = new TreeMap<>();
+        for (String name : countParams) {
+            filter.put(name, params.get(name));
+        }
+        return pageDtoDaoName + filter;
+    }
+
+    private static final class Entry {
+        private final int count;
+        private final long expiresAt;
+
+        private Entry(int count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
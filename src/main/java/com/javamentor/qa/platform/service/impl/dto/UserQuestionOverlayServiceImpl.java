@@ -0,0 +1,38 @@
+package com.javamentor.qa.platform.service.impl.dto;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.UserQuestionOverlayDtoDao;
+import com.javamentor.qa.platform.models.dto.UserQuestionOverlayDto;
+import com.javamentor.qa.platform.service.abstracts.dto.UserQuestionOverlayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Пользовательские флаги для списка вопросов одним запросом. Общая часть страницы
+ * (вопросы, счётчики, теги) от пользователя не зависит и может кэшироваться отдельно.
+ */
+
+@Service
+public class UserQuestionOverlayServiceImpl implements UserQuestionOverlayService {
+
+    private final UserQuestionOverlayDtoDao userQuestionOverlayDtoDao;
+
+    @Autowired
+    public UserQuestionOverlayServiceImpl(UserQuestionOverlayDtoDao userQuestionOverlayDtoDao) {
+        this.userQuestionOverlayDtoDao = userQuestionOverlayDtoDao;
+    }
+
+    @Override
+    public Map<Long, UserQuestionOverlayDto> getOverlays(Long userId, List<Long> questionIds) {
+        if (userId == null || questionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userQuestionOverlayDtoDao.getOverlaysByQuestionIds(userId, questionIds).stream()
+                .collect(Collectors.toMap(UserQuestionOverlayDto::getQuestionId, Function.identity()));
+    }
+}
@@ -1,26 +1,55 @@
 package com.javamentor.qa.platform.service.impl.model;
 
 import com.javamentor.qa.platform.dao.abstracts.model.AnswerDao;
+import com.javamentor.qa.platform.dao.abstracts.model.QuestionStatsDao;
 import com.javamentor.qa.platform.models.entity.question.answer.Answer;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent;
 import com.javamentor.qa.platform.service.abstracts.model.AnswerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Service
 public class AnswerServiceImpl extends ReadWriteServiceImpl<Answer, Long> implements AnswerService {
 
     private final AnswerDao answerDao;
+    private final QuestionStatsDao questionStatsDao;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AnswerServiceImpl(AnswerDao answerDao) {
+    public AnswerServiceImpl(AnswerDao answerDao, QuestionStatsDao questionStatsDao,
+                             ApplicationEventPublisher eventPublisher) {
         super(answerDao);
         this.answerDao = answerDao;
+        this.questionStatsDao = questionStatsDao;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    @Override
+    public void persist(Answer answer) {
+        super.persist(answer);
+        if (!Boolean.TRUE.equals(answer.getIsDeleted())) {
+            questionStatsDao.addAnswerCount(answer.getQuestion().getId(), 1);
+            eventPublisher.publishEvent(new QuestionFeedChangedEvent(answer.getQuestion().getId(),
+                    QuestionFeedChangedEvent.Change.ANSWER));
+        }
     }
 
+    @Transactional
     @Override
     public void deleteById(Long id) {
+        Optional<Answer> answer = answerDao.getById(id);
+        if (answer.isEmpty() || Boolean.TRUE.equals(answer.get().getIsDeleted())) {
+            return;
+        }
         answerDao.deleteById(id);
+        questionStatsDao.addAnswerCount(answer.get().getQuestion().getId(), -1);
+        eventPublisher.publishEvent(new QuestionFeedChangedEvent(answer.get().getQuestion().getId(),
+                QuestionFeedChangedEvent.Change.ANSWER));
     }
 
     @Transactional
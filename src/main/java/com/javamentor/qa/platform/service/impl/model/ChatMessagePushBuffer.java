@@ -0,0 +1,90 @@
+package com.javamentor.qa.platform.service.impl.model;
+
+import com.javamentor.qa.platform.models.dto.ChatMessagePushDto;
+import com.javamentor.qa.platform.models.dto.MessageDto;
+import com.javamentor.qa.platform.models.event.ChatMessageCreatedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Новые сообщения чатов, еще не разосланные подписчикам.
+ * Сообщения одного чата за время между рассылками уходят одним кадром. Если в чате за это время
+ * набралось больше chat.push.max-batch сообщений, старые выбрасываются - клиент догрузит их пагинацией.
+ * Чтобы клиент заметил пропуск (здесь или в очереди WebSocket-сессии), сообщения чата нумеруются подряд,
+ * см. {@link ChatMessagePushDto}. Номера хранятся для chat.push.max-tracked-chats последних чатов,
+ * у вытесненного чата нумерация начинается заново, и клиент просто перезагрузит его.
+ */
+@Component
+public class ChatMessagePushBuffer {
+
+    private final Map<Long, Batch> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Long> sequences;
+    private final String node = UUID.randomUUID().toString();
+    private final int maxBatch;
+
+    public ChatMessagePushBuffer(@Value("${chat.push.max-batch:100}") int maxBatch,
+                                 @Value("${chat.push.max-tracked-chats:100000}") int maxTrackedChats,
+                                 MeterRegistry meterRegistry) {
+        this.maxBatch = maxBatch;
+        this.sequences = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxTrackedChats;
+            }
+        });
+        Gauge.builder("chat.push.buffer.chats", pending, Map::size)
+                .description("Чаты с сообщениями, ожидающими рассылки")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageCreated(ChatMessageCreatedEvent event) {
+        add(event.getChatId(), event.getMessage());
+    }
+
+    public void add(Long chatId, MessageDto message) {
+        pending.compute(chatId, (id, batch) -> {
+            Batch messages = batch == null ? new Batch() : batch;
+            long seq = sequences.merge(chatId, 1L, Long::sum);
+            if (messages.messages.size() >= maxBatch) {
+                messages.messages.pollFirst();
+            }
+            messages.messages.addLast(message);
+            messages.lastSeq = seq;
+            return messages;
+        });
+    }
+
+    /**
+     * Забирает накопленные сообщения по чатам в порядке сохранения.
+     */
+    public Map<Long, ChatMessagePushDto> drain() {
+        Map<Long, ChatMessagePushDto> drained = new HashMap<>();
+        for (Long chatId : pending.keySet()) {
+            Batch batch = pending.remove(chatId);
+            if (batch != null) {
+                drained.put(chatId, new ChatMessagePushDto(chatId, node,
+                        batch.lastSeq - batch.messages.size() + 1, new ArrayList<>(batch.messages)));
+            }
+        }
+        return drained;
+    }
+
+    private static final class Batch {
+        private final Deque<MessageDto> messages = new ArrayDeque<>();
+        private long lastSeq;
+    }
+}
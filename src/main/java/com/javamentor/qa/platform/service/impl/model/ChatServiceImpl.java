@@ -3,10 +3,12 @@ package com.javamentor.qa.platform.service.impl.model;
 import com.javamentor.qa.platform.dao.abstracts.model.ChatDao;
 import com.javamentor.qa.platform.dao.abstracts.model.GroupChatDao;
 import com.javamentor.qa.platform.dao.abstracts.model.SingleChatDao;
+import com.javamentor.qa.platform.dao.abstracts.model.UserChatReadDao;
 import com.javamentor.qa.platform.models.entity.chat.Chat;
 import com.javamentor.qa.platform.service.abstracts.model.ChatService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ChatServiceImpl extends ReadOnlyServiceImpl<Chat, Long> implements ChatService {
@@ -14,14 +16,17 @@ public class ChatServiceImpl extends ReadOnlyServiceImpl<Chat, Long> implements
     private GroupChatDao groupChatDao;
     private ChatDao chatDao;
     private SingleChatDao singleChatDao;
+    private UserChatReadDao userChatReadDao;
 
 
     @Autowired
-    public ChatServiceImpl(ChatDao chatDao, GroupChatDao groupChatDao, SingleChatDao singleChatDao) {
+    public ChatServiceImpl(ChatDao chatDao, GroupChatDao groupChatDao, SingleChatDao singleChatDao,
+                           UserChatReadDao userChatReadDao) {
         super(chatDao);
         this.chatDao = chatDao;
         this.singleChatDao = singleChatDao;
         this.groupChatDao = groupChatDao;
+        this.userChatReadDao = userChatReadDao;
     }
 
     @Override
@@ -29,4 +34,10 @@ public class ChatServiceImpl extends ReadOnlyServiceImpl<Chat, Long> implements
         return (singleChatDao.isUsersChat(chatId, userId) || groupChatDao.isUsersChat(chatId, userId));
     }
 
+    @Override
+    @Transactional
+    public void markRead(Long chatId, Long userId, Long messageId) {
+        userChatReadDao.markRead(chatId, userId, messageId);
+    }
+
 }
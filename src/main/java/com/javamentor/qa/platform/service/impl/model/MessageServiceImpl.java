@@ -1,19 +1,77 @@
 package com.javamentor.qa.platform.service.impl.model;
 
+import com.javamentor.qa.platform.dao.abstracts.model.ChatDao;
 import com.javamentor.qa.platform.dao.abstracts.model.MessageDao;
+import com.javamentor.qa.platform.models.dto.MessageDto;
 import com.javamentor.qa.platform.models.entity.chat.Message;
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.models.event.ChatMessageCreatedEvent;
 import com.javamentor.qa.platform.service.abstracts.model.MessageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class MessageServiceImpl extends ReadWriteServiceImpl<Message, Long> implements MessageService {
 
+    private static final int PREVIEW_LENGTH = 255;
+
     private final MessageDao messageDao;
+    private final ChatDao chatDao;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public MessageServiceImpl(MessageDao messageDao) {
+    public MessageServiceImpl(MessageDao messageDao, ChatDao chatDao, ApplicationEventPublisher eventPublisher) {
         super(messageDao);
         this.messageDao = messageDao;
+        this.chatDao = chatDao;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    @Override
+    public void persist(Message message) {
+        super.persist(message);
+        LocalDateTime persistDate = message.getPersistDate() != null ? message.getPersistDate() : LocalDateTime.now();
+        String text = message.getMessage();
+        chatDao.updateLastMessage(message.getChat().getId(), message.getId(), persistDate,
+                text != null && text.length() > PREVIEW_LENGTH ? text.substring(0, PREVIEW_LENGTH) : text);
+
+        User sender = message.getUserSender();
+        MessageDto messageDto = new MessageDto(message.getId(), message.getMessage(), sender.getNickname(),
+                sender.getId(), sender.getImageLink(), persistDate);
+        eventPublisher.publishEvent(new ChatMessageCreatedEvent(message.getChat().getId(), messageDto));
+    }
+
+    @Transactional
+    @Override
+    public void delete(Message message) {
+        Long chatId = message.getChat().getId();
+        super.delete(message);
+        chatDao.recomputeLastMessage(List.of(chatId));
+    }
+
+    @Transactional
+    @Override
+    public void deleteById(Long id) {
+        Optional<Long> chatId = messageDao.getById(id).map(message -> message.getChat().getId());
+        super.deleteById(id);
+        chatId.ifPresent(value -> chatDao.recomputeLastMessage(List.of(value)));
+    }
+
+    @Transactional
+    @Override
+    public void deleteAll(Collection<Message> messages) {
+        Set<Long> chatIds = messages.stream().map(message -> message.getChat().getId()).collect(Collectors.toSet());
+        super.deleteAll(messages);
+        chatDao.recomputeLastMessage(chatIds);
     }
 }
@@ -4,9 +4,12 @@ import com.javamentor.qa.platform.dao.abstracts.model.QuestionDao;
 import com.javamentor.qa.platform.models.entity.question.Question;
 import com.javamentor.qa.platform.dao.abstracts.model.TagDao;
 import com.javamentor.qa.platform.models.entity.question.Tag;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent;
 import com.javamentor.qa.platform.service.abstracts.model.QuestionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,13 +21,15 @@ public class QuestionServiceImpl extends ReadWriteServiceImpl<Question, Long> im
 
     private QuestionDao questionDao;
     private TagDao tagDao;
+    private ApplicationEventPublisher eventPublisher;
 
 
     @Autowired
-    public QuestionServiceImpl(QuestionDao questionDao, TagDao tagDao) {
+    public QuestionServiceImpl(QuestionDao questionDao, TagDao tagDao, ApplicationEventPublisher eventPublisher) {
         super(questionDao);
         this.questionDao = questionDao;
         this.tagDao = tagDao;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -54,6 +59,21 @@ public class QuestionServiceImpl extends ReadWriteServiceImpl<Question, Long> im
         }
         question.setTags(listTagForQuestion);
         super.persist(question);
+        eventPublisher.publishEvent(new QuestionFeedChangedEvent(question.getId(), QuestionFeedChangedEvent.Change.QUESTION));
+    }
+
+    @Transactional
+    @Override
+    public void update(Question question) {
+        super.update(question);
+        eventPublisher.publishEvent(new QuestionFeedChangedEvent(question.getId(), QuestionFeedChangedEvent.Change.QUESTION));
+    }
+
+    @Transactional
+    @Override
+    public void deleteById(Long id) {
+        super.deleteById(id);
+        eventPublisher.publishEvent(new QuestionFeedChangedEvent(id, QuestionFeedChangedEvent.Change.QUESTION));
     }
 
 
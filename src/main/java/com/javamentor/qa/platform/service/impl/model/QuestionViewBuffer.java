@@ -0,0 +1,107 @@
+package com.javamentor.qa.platform.service.impl.model;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Буфер просмотров вопросов, которые еще не записаны в question_viewed.
+ * Каждая пара (userId, questionId) попадает в буфер один раз; недавно записанные пары
+ * хранятся в LRU-множестве seen на question.view-buffer.seen-size пар (около 100 байт на пару,
+ * по умолчанию ~10 МБ). Пара, вытесненная из seen, при повторном просмотре снова попадет в буфер
+ * и будет отброшена при записи уникальным индексом question_viewed.
+ * Пара считается записанной только после коммита flush'а, до этого она числится в flushing.
+ * При падении приложения теряются только просмотры, не успевшие записаться за один flush.
+ */
+@Component
+public class QuestionViewBuffer {
+
+    private final Map<ViewKey, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Set<ViewKey> flushing = ConcurrentHashMap.newKeySet();
+    private final Set<ViewKey> seen;
+    private final int maxPending;
+
+    public QuestionViewBuffer(@Value("${question.view-buffer.max-pending:10000}") int maxPending,
+                              @Value("${question.view-buffer.seen-size:100000}") int seenSize,
+                              MeterRegistry meterRegistry) {
+        this.maxPending = maxPending;
+        this.seen = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ViewKey, Boolean> eldest) {
+                return size() > seenSize;
+            }
+        }));
+        Gauge.builder("question.view.buffer.depth", pending, Map::size)
+                .description("Просмотры вопросов, ожидающие записи в БД")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true, если пара уже в буфере, записывается или недавно записана
+     */
+    public boolean isSeen(Long userId, Long questionId) {
+        ViewKey key = new ViewKey(userId, questionId);
+        return pending.containsKey(key) || flushing.contains(key) || seen.contains(key);
+    }
+
+    /**
+     * @return true, если просмотр добавлен, false - если такой уже ждет записи
+     */
+    public boolean add(Long userId, Long questionId) {
+        return pending.putIfAbsent(new ViewKey(userId, questionId), LocalDateTime.now()) == null;
+    }
+
+    public boolean isFull() {
+        return pending.size() >= maxPending;
+    }
+
+    /**
+     * Забирает все ожидающие просмотры. Пока flush не завершен ({@link #complete}), забранные пары
+     * числятся в flushing, чтобы повторный просмотр во время flush не попал в буфер второй раз.
+     */
+    public Map<ViewKey, LocalDateTime> drain() {
+        Map<ViewKey, LocalDateTime> drained = new HashMap<>();
+        for (ViewKey key : pending.keySet()) {
+            LocalDateTime viewed = pending.remove(key);
+            if (viewed != null) {
+                flushing.add(key);
+                drained.put(key, viewed);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Завершает flush забранных пар: после коммита они считаются записанными, после отката
+     * забываются, и следующий просмотр снова попадет в буфер.
+     */
+    public void complete(Set<ViewKey> keys, boolean committed) {
+        if (committed) {
+            seen.addAll(keys);
+        }
+        flushing.removeAll(keys);
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    public static final class ViewKey {
+        private final Long userId;
+        private final Long questionId;
+
+        private ViewKey(Long userId, Long questionId) {
+            this.userId = userId;
+            this.questionId = questionId;
+        }
+    }
+}
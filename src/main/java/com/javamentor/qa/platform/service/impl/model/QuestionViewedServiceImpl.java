@@ -1,11 +1,27 @@
 package com.javamentor.qa.platform.service.impl.model;
 
+import com.javamentor.qa.platform.dao.abstracts.model.QuestionStatsDao;
 import com.javamentor.qa.platform.dao.abstracts.model.QuestionViewedDao;
 import com.javamentor.qa.platform.dao.abstracts.model.ReadWriteDao;
+import com.javamentor.qa.platform.models.entity.question.Question;
 import com.javamentor.qa.platform.models.entity.question.QuestionViewed;
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent;
+import com.javamentor.qa.platform.models.event.QuestionViewBufferFullEvent;
 import com.javamentor.qa.platform.service.abstracts.model.QuestionViewedService;
+import com.javamentor.qa.platform.service.impl.model.QuestionViewBuffer.ViewKey;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 @Service
@@ -13,10 +29,24 @@ import org.springframework.transaction.annotation.Transactional;
 public class QuestionViewedServiceImpl extends ReadWriteServiceImpl<QuestionViewed, Long> implements QuestionViewedService {
 
     private QuestionViewedDao questionViewedDao;
+    private QuestionStatsDao questionStatsDao;
+    private QuestionViewBuffer questionViewBuffer;
+    private ApplicationEventPublisher eventPublisher;
 
-    public QuestionViewedServiceImpl(ReadWriteDao<QuestionViewed, Long> readWriteDao, QuestionViewedDao questionViewedDao) {
+    public QuestionViewedServiceImpl(ReadWriteDao<QuestionViewed, Long> readWriteDao, QuestionViewedDao questionViewedDao,
+                                     QuestionStatsDao questionStatsDao, QuestionViewBuffer questionViewBuffer,
+                                     ApplicationEventPublisher eventPublisher) {
         super(readWriteDao);
         this.questionViewedDao = questionViewedDao;
+        this.questionStatsDao = questionStatsDao;
+        this.questionViewBuffer = questionViewBuffer;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void persist(QuestionViewed questionViewed) {
+        super.persist(questionViewed);
+        questionStatsDao.addViewCount(questionViewed.getQuestion().getId(), 1);
     }
 
     @Override
@@ -27,6 +57,55 @@ public class QuestionViewedServiceImpl extends ReadWriteServiceImpl<QuestionView
 
     @Override
     public Boolean persistQuestionViewed(QuestionViewed questionViewed) {
-        return questionViewedDao.persistQuestionViewed(questionViewed);
+        Boolean persisted = questionViewedDao.persistQuestionViewed(questionViewed);
+        if (Boolean.TRUE.equals(persisted)) {
+            questionStatsDao.addViewCount(questionViewed.getQuestion().getId(), 1);
+        }
+        return persisted;
+    }
+
+    @Override
+    public boolean registerView(Long userId, Long questionId) {
+        if (questionViewBuffer.isSeen(userId, questionId)) {
+            return false;
+        }
+        if (!questionViewBuffer.add(userId, questionId)) {
+            return false;
+        }
+        if (questionViewBuffer.isFull()) {
+            eventPublisher.publishEvent(new QuestionViewBufferFullEvent());
+        }
+        return true;
+    }
+
+    /**
+     * Пишет накопленные просмотры одним insert'ом на пачку (см. {@link QuestionViewedDao#persistViews}).
+     * Пары считаются записанными только после коммита. Если запись не удалась, пачка теряется - просмотры
+     * не критичны, а повтор мог бы упираться в ту же ошибку бесконечно; следующий просмотр пары снова попадет в буфер.
+     * После коммита сбрасываются ленты, отсортированные с учетом просмотров.
+     */
+    @Override
+    public void flushViews() {
+        Map<ViewKey, LocalDateTime> views = questionViewBuffer.drain();
+        if (views.isEmpty()) {
+            return;
+        }
+        Set<ViewKey> keys = views.keySet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                questionViewBuffer.complete(keys, status == TransactionSynchronization.STATUS_COMMITTED);
+            }
+        });
+        List<QuestionViewed> questionViewedList = new ArrayList<>(views.size());
+        views.forEach((key, viewed) -> {
+            User user = new User();
+            user.setId(key.getUserId());
+            Question question = new Question();
+            question.setId(key.getQuestionId());
+            questionViewedList.add(new QuestionViewed(user, question, viewed));
+        });
+        questionViewedDao.persistViews(questionViewedList);
+        eventPublisher.publishEvent(new QuestionFeedChangedEvent(null, QuestionFeedChangedEvent.Change.VIEW));
     }
 }
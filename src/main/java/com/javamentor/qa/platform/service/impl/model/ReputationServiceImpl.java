@@ -1,17 +1,35 @@
 package com.javamentor.qa.platform.service.impl.model;
 
 import com.javamentor.qa.platform.dao.abstracts.model.ReputationDao;
+import com.javamentor.qa.platform.dao.abstracts.model.UserReputationDao;
 import com.javamentor.qa.platform.models.entity.user.reputation.Reputation;
 import com.javamentor.qa.platform.service.abstracts.model.ReputationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
 public class ReputationServiceImpl extends ReadWriteServiceImpl<Reputation, Long> implements ReputationService {
 
+    private final UserReputationDao userReputationDao;
+
     @Autowired
-    public ReputationServiceImpl(ReputationDao reputationDao) {
+    public ReputationServiceImpl(ReputationDao reputationDao, UserReputationDao userReputationDao) {
         super(reputationDao);
+        this.userReputationDao = userReputationDao;
+    }
+
+    @Transactional
+    @Override
+    public void persist(Reputation reputation) {
+        super.persist(reputation);
+        userReputationDao.addCount(reputation.getAuthor().getId(), reputation.getCount());
+    }
+
+    @Transactional
+    @Override
+    public int rebuildUserReputation() {
+        return userReputationDao.rebuildFromReputation();
     }
 }
@@ -3,8 +3,10 @@ package com.javamentor.qa.platform.service.impl.model;
 import com.javamentor.qa.platform.dao.abstracts.model.UserDao;
 import com.javamentor.qa.platform.models.entity.user.Role;
 import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.models.event.UserChangedEvent;
 import com.javamentor.qa.platform.service.abstracts.model.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,13 +19,15 @@ public class UserServiceImpl extends ReadWriteServiceImpl<User,Long> implements
 
     private final PasswordEncoder passwordEncoder;
     private final UserDao userDao;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Autowired
-    public UserServiceImpl( PasswordEncoder passwordEncoder, UserDao userDao) {
+    public UserServiceImpl( PasswordEncoder passwordEncoder, UserDao userDao, ApplicationEventPublisher eventPublisher) {
         super(userDao);
         this.passwordEncoder = passwordEncoder;
         this.userDao = userDao;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -39,16 +43,19 @@ public class UserServiceImpl extends ReadWriteServiceImpl<User,Long> implements
         String pass = user.getPassword();
         user.setPassword(passwordEncoder.encode(pass));
         super.update(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
     }
 
     @Override
     public void updatePasswordByEmail(String email, String password) {
         userDao.updatePasswordByEmail(email, password);
+        eventPublisher.publishEvent(new UserChangedEvent(email));
     }
 
     @Override
     public void disableUserByEmail(String email) {
         userDao.disableUserByEmail(email);
+        eventPublisher.publishEvent(new UserChangedEvent(email));
     }
 
     @Override
@@ -1,11 +1,14 @@
 package com.javamentor.qa.platform.service.impl.model;
 
 import com.javamentor.qa.platform.dao.abstracts.model.ReputationDao;
+import com.javamentor.qa.platform.dao.abstracts.model.UserReputationDao;
 import com.javamentor.qa.platform.dao.abstracts.model.VoteOnAnswerDao;
 import com.javamentor.qa.platform.models.entity.question.answer.VoteAnswer;
 import com.javamentor.qa.platform.models.entity.user.reputation.Reputation;
 import com.javamentor.qa.platform.models.entity.user.reputation.ReputationType;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent;
 import com.javamentor.qa.platform.service.abstracts.model.VoteOnAnswerService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,11 +20,16 @@ public class VoteOnAnswerServiceImpl extends ReadWriteServiceImpl<VoteAnswer, Lo
 
     private final VoteOnAnswerDao voteOnAnswerDao;
     private final ReputationDao reputationDao;
+    private final UserReputationDao userReputationDao;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public VoteOnAnswerServiceImpl(VoteOnAnswerDao voteOnAnswerDao, ReputationDao reputationDao) {
+    public VoteOnAnswerServiceImpl(VoteOnAnswerDao voteOnAnswerDao, ReputationDao reputationDao,
+                                   UserReputationDao userReputationDao, ApplicationEventPublisher eventPublisher) {
         super(voteOnAnswerDao);
         this.voteOnAnswerDao = voteOnAnswerDao;
         this.reputationDao = reputationDao;
+        this.userReputationDao = userReputationDao;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -44,6 +52,9 @@ public class VoteOnAnswerServiceImpl extends ReadWriteServiceImpl<VoteAnswer, Lo
                 ReputationType.VoteAnswer,
                 voteAnswer.getAnswer());
         reputationDao.persist(reputation);
+        userReputationDao.addCount(reputation.getAuthor().getId(), reputation.getCount());
         super.persist(voteAnswer);
+        eventPublisher.publishEvent(new QuestionFeedChangedEvent(voteAnswer.getAnswer().getQuestion().getId(),
+                QuestionFeedChangedEvent.Change.ANSWER_VOTE));
     }
 }
@@ -1,12 +1,16 @@
 package com.javamentor.qa.platform.service.impl.model;
 
+import com.javamentor.qa.platform.dao.abstracts.model.QuestionStatsDao;
 import com.javamentor.qa.platform.dao.abstracts.model.ReputationDao;
+import com.javamentor.qa.platform.dao.abstracts.model.UserReputationDao;
 import com.javamentor.qa.platform.dao.abstracts.model.VoteOnQuestionDao;
 import com.javamentor.qa.platform.models.entity.question.VoteQuestion;
 import com.javamentor.qa.platform.models.entity.user.reputation.Reputation;
 import com.javamentor.qa.platform.models.entity.user.reputation.ReputationType;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent;
 import com.javamentor.qa.platform.service.abstracts.model.VoteOnQuestionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,13 +23,21 @@ public class VoteOnQuestionServiceImpl extends ReadWriteServiceImpl<VoteQuestion
 
     private VoteOnQuestionDao voteOnQuestionDao;
     private ReputationDao reputationDao;
+    private QuestionStatsDao questionStatsDao;
+    private UserReputationDao userReputationDao;
+    private ApplicationEventPublisher eventPublisher;
 
 
     @Autowired
-    public VoteOnQuestionServiceImpl(VoteOnQuestionDao voteOnQuestionDao, ReputationDao reputationDao) {
+    public VoteOnQuestionServiceImpl(VoteOnQuestionDao voteOnQuestionDao, ReputationDao reputationDao,
+                                     QuestionStatsDao questionStatsDao, UserReputationDao userReputationDao,
+                                     ApplicationEventPublisher eventPublisher) {
         super(voteOnQuestionDao);
         this.voteOnQuestionDao = voteOnQuestionDao;
         this.reputationDao = reputationDao;
+        this.questionStatsDao = questionStatsDao;
+        this.userReputationDao = userReputationDao;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -43,6 +55,10 @@ public class VoteOnQuestionServiceImpl extends ReadWriteServiceImpl<VoteQuestion
     public void persist(VoteQuestion voteQuestion) {
         Reputation reputation = new Reputation(LocalDateTime.now(), voteQuestion.getQuestion().getUser(), voteQuestion.getUser(), voteQuestion.getVote().getValue(), ReputationType.VoteQuestion, voteQuestion.getQuestion());
         reputationDao.persist(reputation);
+        userReputationDao.addCount(reputation.getAuthor().getId(), reputation.getCount());
         super.persist(voteQuestion);
+        questionStatsDao.addVote(voteQuestion.getQuestion().getId(), voteQuestion.getVote());
+        eventPublisher.publishEvent(new QuestionFeedChangedEvent(voteQuestion.getQuestion().getId(),
+                QuestionFeedChangedEvent.Change.QUESTION_VOTE));
     }
 }
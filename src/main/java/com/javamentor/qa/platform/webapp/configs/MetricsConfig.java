@@ -0,0 +1,56 @@
+package com.javamentor.qa.platform.webapp.configs;
+
+import com.javamentor.qa.platform.dao.util.QueryCountStatementInspector;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Метрики для /actuator/prometheus сверх стандартных Spring Boot.
+ * Счетчики Hibernate (hibernate.entities.loads, hibernate.query.executions, hibernate.second.level.cache.requests
+ * и др.) Spring Boot регистрирует сам при hibernate.generate_statistics=true.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** static: нужен для EntityManagerFactory раньше, чем будет готов сам MetricsConfig */
+    @Bean
+    public static HibernatePropertiesCustomizer queryCountStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountStatementInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Доля попаданий во второй уровень кэша Hibernate с запуска приложения, NaN пока к нему не обращались.
+     * Регистрируется после создания EntityManagerFactory, как и счетчики Hibernate в Spring Boot.
+     */
+    @Autowired
+    public void bindSecondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, MetricsConfig::hitRatio)
+                .register(meterRegistry);
+    }
+
+    private static double hitRatio(Statistics statistics) {
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long requests = hits + statistics.getSecondLevelCacheMissCount();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+}
@@ -0,0 +1,29 @@
+package com.javamentor.qa.platform.webapp.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PaginationConfig {
+
+    /**
+     * Пул для запросов страницы (items, count, дозаполнение), выполняемых параллельно.
+     * Каждый запрос занимает свое соединение, поэтому размер пула должен быть заметно меньше
+     * пула соединений. При заполненной очереди задача выполняется в вызывающем потоке.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor pageDtoExecutor(@Value("${pagination.executor.pool-size:8}") int poolSize,
+                                                  @Value("${pagination.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("page-dto-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
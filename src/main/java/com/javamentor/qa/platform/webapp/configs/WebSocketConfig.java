@@ -1,15 +1,43 @@
 package com.javamentor.qa.platform.webapp.configs;
 
+import com.javamentor.qa.platform.webapp.configs.websocket.BoundedSendQueueSession;
+import com.javamentor.qa.platform.webapp.configs.websocket.ChatBroker;
+import com.javamentor.qa.platform.webapp.configs.websocket.ChatDestinations;
+import com.javamentor.qa.platform.webapp.configs.websocket.ChatSubscriptionInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer{
 
+    private final ChatBroker chatBroker;
+    private final ChatSubscriptionInterceptor chatSubscriptionInterceptor;
+
+    @Value("${chat.push.session-queue-size:256}")
+    private int sessionQueueSize;
+
+    @Value("${chat.push.send-time-limit-ms:10000}")
+    private long sendTimeLimitMs;
+
+    @Value("${chat.push.executor.pool-size:8}")
+    private int poolSize;
+
+    public WebSocketConfig(ChatBroker chatBroker, ChatSubscriptionInterceptor chatSubscriptionInterceptor) {
+        this.chatBroker = chatBroker;
+        this.chatSubscriptionInterceptor = chatSubscriptionInterceptor;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/chat-messaging").withSockJS();
@@ -17,7 +45,40 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer{
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/chat");
-        registry.setApplicationDestinationPrefixes("/app");
+        chatBroker.configure(registry);
+        registry.setApplicationDestinationPrefixes(ChatDestinations.APP_PREFIX);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(chatSubscriptionInterceptor);
+    }
+
+    /**
+     * Каждая сессия получает свою ограниченную очередь исходящих кадров,
+     * поэтому медленный клиент не задерживает рассылку остальным.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(
+                        new BoundedSendQueueSession(session, chatPushExecutor(), sessionQueueSize, sendTimeLimitMs));
+            }
+        });
+    }
+
+    /**
+     * Пул, отправляющий очереди кадров WebSocket-сессий. Сессия занимает не больше одного потока,
+     * поэтому в очереди пула не больше задач, чем открытых сессий.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor chatPushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("chat-push-");
+        return executor;
     }
 }
@@ -0,0 +1,37 @@
+package com.javamentor.qa.platform.webapp.configs.scheduler;
+
+import com.javamentor.qa.platform.service.impl.model.ChatMessagePushBuffer;
+import com.javamentor.qa.platform.webapp.configs.websocket.ChatDestinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Рассылает подписчикам чатов накопившиеся новые сообщения, по одному кадру на чат.
+ */
+@Slf4j
+@Component
+public class ChatMessagePushJob {
+
+    private final ChatMessagePushBuffer chatMessagePushBuffer;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    public ChatMessagePushJob(ChatMessagePushBuffer chatMessagePushBuffer, SimpMessagingTemplate messagingTemplate) {
+        this.chatMessagePushBuffer = chatMessagePushBuffer;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.push.flush-ms:50}")
+    public void push() {
+        chatMessagePushBuffer.drain().forEach((chatId, frame) -> {
+            try {
+                messagingTemplate.convertAndSend(ChatDestinations.messages(chatId), frame);
+            } catch (RuntimeException e) {
+                log.error("chat {} messages push failed", chatId, e);
+            }
+        });
+    }
+}
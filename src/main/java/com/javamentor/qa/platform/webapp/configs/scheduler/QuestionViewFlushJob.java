@@ -0,0 +1,59 @@
+package com.javamentor.qa.platform.webapp.configs.scheduler;
+
+import com.javamentor.qa.platform.models.event.QuestionViewBufferFullEvent;
+import com.javamentor.qa.platform.service.abstracts.model.QuestionViewedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Периодически записывает буфер просмотров вопросов в БД, а также при остановке приложения.
+ * Заполненный буфер записывается сразу, но в отдельном потоке, а не в запросе просмотра.
+ */
+@Slf4j
+@Component
+public class QuestionViewFlushJob {
+
+    private final QuestionViewedService questionViewedService;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "question-view-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public QuestionViewFlushJob(QuestionViewedService questionViewedService) {
+        this.questionViewedService = questionViewedService;
+    }
+
+    @EventListener
+    public void onBufferFull(QuestionViewBufferFullEvent event) {
+        if (flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${question.view-buffer.flush-ms:1000}")
+    public synchronized void flush() {
+        flushRequested.set(false);
+        try {
+            questionViewedService.flushViews();
+        } catch (RuntimeException e) {
+            log.error("question views flush failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushExecutor.shutdown();
+        flush();
+    }
+}
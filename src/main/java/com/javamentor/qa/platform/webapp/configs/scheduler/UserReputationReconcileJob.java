@@ -0,0 +1,30 @@
+package com.javamentor.qa.platform.webapp.configs.scheduler;
+
+import com.javamentor.qa.platform.service.abstracts.model.ReputationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Периодически сверяет user_reputation с таблицей reputation и исправляет расхождения.
+ */
+@Slf4j
+@Component
+public class UserReputationReconcileJob {
+
+    private final ReputationService reputationService;
+
+    @Autowired
+    public UserReputationReconcileJob(ReputationService reputationService) {
+        this.reputationService = reputationService;
+    }
+
+    @Scheduled(cron = "${reputation.reconcile.cron:0 0 4 * * *}")
+    public void reconcile() {
+        int fixed = reputationService.rebuildUserReputation();
+        if (fixed > 0) {
+            log.warn("user_reputation reconciled, {} rows fixed", fixed);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket-сессия с ограниченной очередью исходящих кадров.
+ * sendMessage не блокирует вызывающий поток: кадр ставится в очередь, а отправляет очередь
+ * не больше одного потока из пула за раз. Если клиент не успевает читать и очередь заполнена,
+ * самые старые кадры выбрасываются; если одна отправка висит дольше sendTimeLimitMs, сессия закрывается.
+ * Выброшенный кадр чата клиент замечает по пропуску в нумерации сообщений (ChatMessagePushDto.firstSeq).
+ */
+@Slf4j
+public class BoundedSendQueueSession extends WebSocketSessionDecorator {
+
+    private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Executor executor;
+    private final int capacity;
+    private final long sendTimeLimitMs;
+
+    private volatile long sendStartedAt;
+
+    public BoundedSendQueueSession(WebSocketSession delegate, Executor executor, int capacity, long sendTimeLimitMs) {
+        super(delegate);
+        this.executor = executor;
+        this.capacity = capacity;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (isSendStuck()) {
+            log.warn("WebSocket session {} is not reading for more than {} ms, closing", getId(), sendTimeLimitMs);
+            closeQuietly();
+            return;
+        }
+        synchronized (queue) {
+            if (queue.size() >= capacity) {
+                queue.pollFirst();
+                dropped.incrementAndGet();
+            }
+            queue.addLast(message);
+        }
+        if (sending.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+                throw new IOException("WebSocket send executor is full", e);
+            }
+        }
+    }
+
+    /**
+     * @return сколько кадров выброшено из-за переполнения очереди
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private boolean isSendStuck() {
+        long startedAt = sendStartedAt;
+        return startedAt != 0 && System.currentTimeMillis() - startedAt > sendTimeLimitMs;
+    }
+
+    private void drain() {
+        do {
+            try {
+                WebSocketMessage<?> next;
+                while ((next = poll()) != null && isOpen()) {
+                    sendStartedAt = System.currentTimeMillis();
+                    getDelegate().sendMessage(next);
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("WebSocket session {} send failed", getId(), e);
+                closeQuietly();
+            } finally {
+                sendStartedAt = 0;
+                sending.set(false);
+            }
+        } while (hasQueued() && isOpen() && sending.compareAndSet(false, true));
+    }
+
+    private WebSocketMessage<?> poll() {
+        synchronized (queue) {
+            return queue.pollFirst();
+        }
+    }
+
+    private boolean hasQueued() {
+        synchronized (queue) {
+            return !queue.isEmpty();
+        }
+    }
+
+    private void closeQuietly() {
+        synchronized (queue) {
+            queue.clear();
+        }
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("WebSocket session {} close failed", getId(), e);
+        }
+    }
+}
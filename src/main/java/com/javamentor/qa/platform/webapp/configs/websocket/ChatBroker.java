@@ -0,0 +1,13 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+
+/**
+ * Брокер, через который STOMP-сообщения чатов расходятся подписчикам. Выбирается свойством chat.broker.type:
+ * simple - брокер в памяти приложения, подходит для одного узла (по умолчанию);
+ * relay - внешний STOMP-брокер, через который сообщения и подключенные пользователи видны всем узлам.
+ */
+public interface ChatBroker {
+
+    void configure(MessageBrokerRegistry registry);
+}
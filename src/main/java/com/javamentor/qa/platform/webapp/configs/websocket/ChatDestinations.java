@@ -0,0 +1,54 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP destination'ы чатов. Новые сообщения чата приходят в /topic/chat.{chatId}.messages
+ * объектом ChatMessagePushDto - одним кадром на все сообщения, накопившиеся между рассылками.
+ * Общий чат - /topic/chat.messages. Клиент отправляет кадры только в /app/..., рассылать в /topic/...
+ * может только сервер. Подписаться можно только на эти destination'ы целиком: брокер в памяти и внешние
+ * брокеры понимают шаблоны (/topic/**, /topic/#, /topic/>), и подписка по шаблону получила бы все чаты.
+ * Формат /topic/... понимают и брокер в памяти, и внешние брокеры (RabbitMQ, ActiveMQ).
+ * USER_DESTINATION_BROADCAST и USER_REGISTRY_BROADCAST - служебные topic'и обмена между узлами
+ * при внешнем брокере, в список доступных клиенту они не входят.
+ */
+public final class ChatDestinations {
+
+    public static final String PREFIX = "/topic";
+
+    public static final String APP_PREFIX = "/app";
+
+    public static final String GLOBAL_MESSAGES = PREFIX + "/chat.messages";
+
+    public static final String USER_DESTINATION_BROADCAST = PREFIX + "/unresolved-user-destination";
+
+    public static final String USER_REGISTRY_BROADCAST = PREFIX + "/simp-user-registry";
+
+    /** Символы шаблонов destination'ов брокера в памяти (AntPathMatcher), RabbitMQ и ActiveMQ */
+    private static final Pattern WILDCARD = Pattern.compile("[*#>{?]");
+
+    private static final Pattern CHAT_MESSAGES = Pattern.compile("^/topic/chat\\.(\\d{1,18})\\.messages$");
+
+    private ChatDestinations() {
+    }
+
+    public static String messages(Long chatId) {
+        return PREFIX + "/chat." + chatId + ".messages";
+    }
+
+    public static boolean hasWildcard(String destination) {
+        return WILDCARD.matcher(destination).find();
+    }
+
+    /**
+     * @return id чата или null, если destination не относится к сообщениям чата
+     */
+    public static Long chatIdOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = CHAT_MESSAGES.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
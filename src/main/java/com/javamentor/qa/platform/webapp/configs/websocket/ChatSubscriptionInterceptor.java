@@ -0,0 +1,105 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.security.jwt.JwtUtil;
+import com.javamentor.qa.platform.service.abstracts.model.ChatService;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Аутентификация STOMP-сессии по JWT из заголовка Authorization кадра CONNECT
+ * и проверка подписок. Подписаться можно только на /topic/chat.messages и, если пользователь состоит в чате,
+ * на /topic/chat.{chatId}.messages; destination'ы с символами шаблонов и любые другие отклоняются.
+ * Без заголовка сессия анонимная: ей доступен только общий чат.
+ * SEND клиента принимается только в /app/...: иначе клиент мог бы отправить кадр прямо в брокер,
+ * в том числе в чужой /topic/chat.{chatId}.messages.
+ * Членство проверяется один раз при подписке, дальше сообщения чата рассылаются без проверок.
+ */
+@Component
+public class ChatSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final ChatService chatService;
+
+    public ChatSubscriptionInterceptor(JwtUtil jwtUtil, ChatService chatService) {
+        this.jwtUtil = jwtUtil;
+        this.chatService = chatService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String authorizationHeader = accessor.getFirstNativeHeader(AUTHORIZATION);
+            if (authorizationHeader != null) {
+                accessor.setUser(authenticate(authorizationHeader));
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            checkSubscription(accessor.getDestination(), accessor.getUser());
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            checkSend(accessor.getDestination());
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String authorizationHeader) {
+        if (!authorizationHeader.startsWith(BEARER_PREFIX)) {
+            throw new BadCredentialsException("Отсутствует JWT токен");
+        }
+        UsernamePasswordAuthenticationToken authenticationToken;
+        try {
+            authenticationToken = jwtUtil.getAuthenticationTokenByDecodedJwtToken(
+                    jwtUtil.checkToken(authorizationHeader.substring(BEARER_PREFIX.length())));
+        } catch (JWTVerificationException e) {
+            throw new BadCredentialsException(e.getMessage());
+        }
+        if (!((User) authenticationToken.getPrincipal()).isEnabled()) {
+            throw new BadCredentialsException("Пользователь заблокирован");
+        }
+        return authenticationToken;
+    }
+
+    private void checkSend(String destination) {
+        if (destination == null || !destination.startsWith(ChatDestinations.APP_PREFIX + "/")) {
+            throw new AccessDeniedException("Отправка доступна только в " + ChatDestinations.APP_PREFIX + "/...");
+        }
+    }
+
+    private void checkSubscription(String destination, Principal principal) {
+        if (destination == null || ChatDestinations.hasWildcard(destination)) {
+            throw new AccessDeniedException("Подписка по шаблону недоступна");
+        }
+        if (ChatDestinations.GLOBAL_MESSAGES.equals(destination)) {
+            return;
+        }
+        Long chatId = ChatDestinations.chatIdOf(destination);
+        if (chatId == null) {
+            throw new AccessDeniedException("Подписка на " + destination + " недоступна");
+        }
+        if (!(principal instanceof UsernamePasswordAuthenticationToken)) {
+            throw new AccessDeniedException("Подписка на чат доступна только после аутентификации");
+        }
+        User user = (User) ((UsernamePasswordAuthenticationToken) principal).getPrincipal();
+        if (!chatService.isChatHasUser(chatId, user.getId())) {
+            throw new AccessDeniedException("Пользователь не состоит в чате с id=" + chatId);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Пересылка STOMP-кадров во внешний брокер (RabbitMQ со STOMP-плагином, ActiveMQ и т.п.).
+ * Через брокер узлы также обмениваются списком подключенных пользователей и сообщениями
+ * в user destination'ы, поэтому SimpUserRegistry на каждом узле видит пользователей всех узлов.
+ * Шаблоны подписок брокера (/topic/>, /topic/#) и служебные topic'и узлов клиенту недоступны,
+ * см. {@link ChatSubscriptionInterceptor}.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker.type", havingValue = "relay")
+public class RelayChatBroker implements ChatBroker {
+
+    private final String host;
+    private final int port;
+    private final String login;
+    private final String passcode;
+    private final String virtualHost;
+
+    public RelayChatBroker(@Value("${chat.broker.relay.host:localhost}") String host,
+                           @Value("${chat.broker.relay.port:61613}") int port,
+                           @Value("${chat.broker.relay.login:guest}") String login,
+                           @Value("${chat.broker.relay.passcode:guest}") String passcode,
+                           @Value("${chat.broker.relay.virtual-host:}") String virtualHost) {
+        this.host = host;
+        this.port = port;
+        this.login = login;
+        this.passcode = passcode;
+        this.virtualHost = virtualHost;
+    }
+
+    @Override
+    public void configure(MessageBrokerRegistry registry) {
+        StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay(ChatDestinations.PREFIX)
+                .setRelayHost(host)
+                .setRelayPort(port)
+                .setClientLogin(login)
+                .setClientPasscode(passcode)
+                .setSystemLogin(login)
+                .setSystemPasscode(passcode)
+                .setUserDestinationBroadcast(ChatDestinations.USER_DESTINATION_BROADCAST)
+                .setUserRegistryBroadcast(ChatDestinations.USER_REGISTRY_BROADCAST);
+        if (!virtualHost.isEmpty()) {
+            relay.setVirtualHost(virtualHost);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "chat.broker.type", havingValue = "simple", matchIfMissing = true)
+public class SimpleChatBroker implements ChatBroker {
+
+    @Override
+    public void configure(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker(ChatDestinations.PREFIX);
+    }
+}
@@ -4,6 +4,7 @@ import com.javamentor.qa.platform.models.dto.AuthenticationRequest;
 import com.javamentor.qa.platform.models.dto.JwtTokenDto;
 import com.javamentor.qa.platform.models.entity.user.User;
 import com.javamentor.qa.platform.security.jwt.JwtUtil;
+import com.javamentor.qa.platform.security.service.LoginAttemptLimiter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.Collection;
 
 @RestController
@@ -32,10 +34,13 @@ public class AuthenticationResourceController {
 
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
-    public AuthenticationResourceController(JwtUtil jwtUtil, AuthenticationManager authenticationManager) {
+    public AuthenticationResourceController(JwtUtil jwtUtil, AuthenticationManager authenticationManager,
+                                            LoginAttemptLimiter loginAttemptLimiter) {
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.loginAttemptLimiter = loginAttemptLimiter;
     }
 
     @PostMapping("/auth/token/")
@@ -43,10 +48,16 @@ public class AuthenticationResourceController {
             "который содержит username, password и значение поля isRemember")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Получен JWT токен"),
-            @ApiResponse(code = 400, message = "Ошибка аутентификации: имя или пароль неправильны")
+            @ApiResponse(code = 400, message = "Ошибка аутентификации: имя или пароль неправильны"),
+            @ApiResponse(code = 429, message = "Слишком много неудачных попыток входа")
     })
-    public ResponseEntity<?> getToken(@RequestBody AuthenticationRequest request)
+    public ResponseEntity<?> getToken(@RequestBody AuthenticationRequest request, HttpServletRequest httpRequest)
     {
+        String ip = httpRequest.getRemoteAddr();
+        if (!loginAttemptLimiter.tryAcquire(request.getUsername(), ip)) {
+            return new ResponseEntity<>("Слишком много неудачных попыток входа, попробуйте позже",
+                    HttpStatus.TOO_MANY_REQUESTS);
+        }
         JwtTokenDto jwtTokenDTO = new JwtTokenDto();
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -62,6 +73,7 @@ public class AuthenticationResourceController {
         catch (BadCredentialsException exception) {
             return new ResponseEntity<>("Имя или пароль неправильны", HttpStatus.BAD_REQUEST);
         }
+        loginAttemptLimiter.recordSuccess(request.getUsername(), ip);
         return new ResponseEntity<>(jwtTokenDTO, HttpStatus.OK);
     }
 
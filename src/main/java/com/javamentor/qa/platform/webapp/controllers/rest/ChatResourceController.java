@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.webapp.controllers.rest;
 
 import com.javamentor.qa.platform.models.dto.ChatDto;
+import com.javamentor.qa.platform.models.dto.ChatInboxDto;
 import com.javamentor.qa.platform.models.dto.CreateGroupChatDto;
 import com.javamentor.qa.platform.models.dto.CreateSingleChatDto;
 import com.javamentor.qa.platform.models.dto.MessageDto;
@@ -12,8 +13,10 @@ import com.javamentor.qa.platform.models.entity.chat.GroupChat;
 import com.javamentor.qa.platform.models.entity.chat.SingleChat;
 import com.javamentor.qa.platform.models.entity.user.User;
 import com.javamentor.qa.platform.service.abstracts.dto.ChatDtoService;
+import com.javamentor.qa.platform.service.abstracts.dto.ChatInboxDtoService;
 import com.javamentor.qa.platform.service.abstracts.dto.GroupChatDtoService;
 import com.javamentor.qa.platform.service.abstracts.dto.MessageDtoService;
+import com.javamentor.qa.platform.service.abstracts.model.ChatService;
 import com.javamentor.qa.platform.service.abstracts.model.GroupChatService;
 import com.javamentor.qa.platform.service.abstracts.model.SingleChatService;
 import com.javamentor.qa.platform.service.abstracts.model.UserService;
@@ -57,6 +60,8 @@ public class ChatResourceController {
     private final UserService userService;
     private final GroupChatService groupChatService;
     private final ChatDtoService chatDtoService;
+    private final ChatInboxDtoService chatInboxDtoService;
+    private final ChatService chatService;
 
 
     @GetMapping("/single")
@@ -105,8 +110,34 @@ public class ChatResourceController {
                 "paginationGroupChat", params), HttpStatus.OK);
     }
 
+    @GetMapping("/inbox")
+    @ApiOperation("Возвращает количество чатов авторизованного пользователя, непрочитанных чатов и непрочитанных сообщений")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Счетчики чатов получены")
+    })
+    public ResponseEntity<ChatInboxDto> getInbox() {
+        Long userId = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+        return new ResponseEntity<>(chatInboxDtoService.getInbox(userId), HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/read")
+    @ApiOperation("Отмечает прочитанными сообщения чата до messageId включительно, без messageId - все сообщения чата")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Сообщения чата отмечены прочитанными"),
+            @ApiResponse(code = 400, message = "Пользователь не состоит в чате")
+    })
+    public ResponseEntity<?> markChatRead(@PathVariable("id") Long chatId,
+                                          @RequestParam(value = "messageId", required = false) Long messageId) {
+        Long userId = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+        if (!chatService.isChatHasUser(chatId, userId)) {
+            return new ResponseEntity<>("Пользователь не состоит в чате", HttpStatus.BAD_REQUEST);
+        }
+        chatService.markRead(chatId, userId, messageId);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
     @GetMapping("/{id}/single/message")
-    @ApiOperation("Возвращает все сообщения singleChat как объект класса PageDto<MessageDto> с учетом заданных параметров пагинации, " +
+    @ApiOperation("Возвращает все сообщения singleChat как объект класса PageDto<MessageDto> с учетом заданных параметров пагинации (page или cursor), " +
             "Сообщения сортируются по дате добавления: сначала самые новые.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Получены все сообщения, отсортированные по дате добавление, сначала самые новые " +
@@ -115,11 +146,16 @@ public class ChatResourceController {
             @ApiResponse(code = 500, message = "Страницы под номером page=* пока не существует")
     })
     public ResponseEntity<?> getAllMessageDtoInSingleChatSortedByPersistDate(
-            @RequestParam("page") Integer page,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
             @RequestParam(value = "sortAscendingFlag", required = false, defaultValue = "false") Boolean sortAscendingFlag,
             @PathVariable("id") Long chatId){
 
+        if (page == null && cursor == null) {
+            return new ResponseEntity<>("Необходимо ввести обязательный параметр: номер страницы", HttpStatus.BAD_REQUEST);
+        }
+
         if (!singleChatService.existsById(chatId)) {
             return new ResponseEntity<>("Чат с данным ID = " + chatId + ", не найден.", HttpStatus.NOT_FOUND);
         }
@@ -129,10 +165,13 @@ public class ChatResourceController {
         }
 
         Map<String, Object> params = new HashMap<>();
-        params.put("currentPageNumber", page);
+        params.put("currentPageNumber", page == null ? 1 : page);
         params.put("itemsOnPage", items);
         params.put("chatId", chatId);
         params.put("sortAscendingFlag", sortAscendingFlag);
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
 
         return new ResponseEntity<>(messageDtoService.getPageDto(
                 "paginationAllMessagesSortedByPersistDate", params), HttpStatus.OK);
@@ -216,7 +255,8 @@ public class ChatResourceController {
     }
 
     @GetMapping("/{chatId}/message/find")
-    @ApiOperation("Возвращает сообщения в чате в виде PageDto<MessageDto> при не точном поиске")
+    @ApiOperation("Возвращает сообщения в чате в виде PageDto<MessageDto> при не точном поиске, " +
+            "без учета регистра и с опечатками. Поиск только в чатах пользователя")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Успешно возвращены все сообщения"),
             @ApiResponse(code = 400, message = "Не введены все обязательные параметры, либо введены не корректно")
@@ -232,6 +272,7 @@ public class ChatResourceController {
         params.put("itemsOnPage", items);
         params.put("currentPageNumber", page);
         params.put("word", word);
+        params.put("userId", ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId());
 
         return new ResponseEntity<>(messageDtoService.getPageDto("paginationSearchByChatMessage", params), HttpStatus.OK);
     }
@@ -1,13 +1,11 @@
 package com.javamentor.qa.platform.webapp.controllers.rest;
 
-import com.javamentor.qa.platform.models.dto.PageDto;
 import com.javamentor.qa.platform.models.dto.QuestionCreateDto;
 import com.javamentor.qa.platform.models.dto.QuestionDto;
-import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+import com.javamentor.qa.platform.models.dto.enums.CountPolicy;
 import com.javamentor.qa.platform.models.dto.enums.Period;
 import com.javamentor.qa.platform.models.entity.BookMarks;
 import com.javamentor.qa.platform.models.entity.question.Question;
-import com.javamentor.qa.platform.models.entity.question.QuestionViewed;
 import com.javamentor.qa.platform.models.entity.question.VoteQuestion;
 import com.javamentor.qa.platform.models.entity.question.answer.VoteType;
 import com.javamentor.qa.platform.models.entity.user.User;
@@ -39,7 +37,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +71,7 @@ public class QuestionResourceController {
     public ResponseEntity<?> getQuestionsSortedByVotesAndAnswersAndQuestionViewed(
             @RequestParam("page") Integer page,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag,
             @RequestParam(value = "period", required = false, defaultValue = "ALL") Period period) {
@@ -88,6 +86,7 @@ public class QuestionResourceController {
         Map<String, Object> params = new HashMap<>();
         params.put("currentPageNumber", page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
@@ -106,13 +105,11 @@ public class QuestionResourceController {
     })
     public ResponseEntity<?> insertAuthUserToQuestionViewedByQuestionId(@PathVariable("questionId") Long questionId) {
         User userPrincipal = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal());
-        Optional<Question> question = questionService.getById(questionId);
 
-        if (!question.isPresent()) {
+        if (!questionService.existsById(questionId)) {
             return new ResponseEntity<>("Вопрос с id=" + questionId + " не найден", HttpStatus.NOT_FOUND);
         }
-        if (!questionViewedService.isUserViewedQuestion(userPrincipal.getEmail(), question.get().getId())) {
-            questionViewedService.persistQuestionViewed(new QuestionViewed(userPrincipal, question.get(), LocalDateTime.now()));
+        if (questionViewedService.registerView(userPrincipal.getId(), questionId)) {
             return new ResponseEntity<>("Вопрос просмотрен впервые", HttpStatus.OK);
         }
 
@@ -223,6 +220,7 @@ public class QuestionResourceController {
     public ResponseEntity<?> getQuestions(
             @RequestParam("page") Integer page,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag,
             @RequestParam(value = "period", required = false, defaultValue = "ALL") Period period) {
@@ -237,6 +235,7 @@ public class QuestionResourceController {
         Map<String, Object> params = new HashMap<>();
         params.put("currentPageNumber", page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
@@ -258,6 +257,7 @@ public class QuestionResourceController {
     public ResponseEntity<?> mostPopularQuestionsWeek(
             @RequestParam("page") Integer page,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag,
             @RequestParam(value = "period", required = false, defaultValue = "ALL") Period period) {
@@ -272,6 +272,7 @@ public class QuestionResourceController {
         Map<String, Object> params = new HashMap<>();
         params.put("currentPageNumber", page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
@@ -291,12 +292,17 @@ public class QuestionResourceController {
             @ApiResponse(code = 500, message = "Страницы под номером page=* пока не существует")
     })
     public ResponseEntity<?> getQuestionsNoAnswer(
-            @RequestParam("page") Integer page,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag,
             @RequestParam(value = "period", required = false, defaultValue = "ALL") Period period) {
 
+        if (page == null && cursor == null) {
+            return new ResponseEntity<>("Необходимо ввести обязательный параметр: номер страницы", HttpStatus.BAD_REQUEST);
+        }
 
         if (!tagService.isTagsMappingToTrackedAndIgnoredCorrect(trackedTag, ignoredTag)) {
             return new ResponseEntity<>("Неправильно переданы тэги в списки trackedTag или ignoredTag", HttpStatus.BAD_REQUEST);
@@ -305,11 +311,15 @@ public class QuestionResourceController {
         Long userId = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
 
         Map<String, Object> params = new HashMap<>();
-        params.put("currentPageNumber", page);
+        params.put("currentPageNumber", page == null ? 1 : page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
         params.put("period", period);
 
         return new ResponseEntity<>(questionDtoService.getPageQuestionsWithTags(
@@ -317,7 +327,7 @@ public class QuestionResourceController {
     }
 
     @GetMapping("/new")
-    @ApiOperation("Возращает все вопросы как объект класса PageDto<QuestionViewDto> с учетом заданных параметров пагинации, " +
+    @ApiOperation("Возращает все вопросы как объект класса PageDto<QuestionViewDto> с учетом заданных параметров пагинации (page или cursor), " +
             "Вопросы сотртируются по дате добавление: сначала самые новые.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Получены все вопросы с тэгами, отсортированные по дате добавление, сначала самые новые " +
@@ -326,12 +336,17 @@ public class QuestionResourceController {
             @ApiResponse(code = 500, message = "Страницы под номером page=* пока не существует")
     })
     public ResponseEntity<?> getAllQuestionDtoSortedByPersistDate(
-            @RequestParam("page") Integer page,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag,
             @RequestParam(value = "period", required = false, defaultValue = "ALL") Period period) {
 
+        if (page == null && cursor == null) {
+            return new ResponseEntity<>("Необходимо ввести обязательный параметр: номер страницы", HttpStatus.BAD_REQUEST);
+        }
 
         if (!tagService.isTagsMappingToTrackedAndIgnoredCorrect(trackedTag, ignoredTag)) {
             return new ResponseEntity<>("Неправильно переданы тэги в списки trackedTag или ignoredTag", HttpStatus.BAD_REQUEST);
@@ -340,11 +355,15 @@ public class QuestionResourceController {
         Long userId = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
 
         Map<String, Object> params = new HashMap<>();
-        params.put("currentPageNumber", page);
+        params.put("currentPageNumber", page == null ? 1 : page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
         params.put("period", period);
 
         return new ResponseEntity<>(questionDtoService.getPageQuestionsWithTags(
@@ -364,6 +383,7 @@ public class QuestionResourceController {
     public ResponseEntity<?> getQuestionsSortedByVotesAndAnswersAndViewsByMonth(
             @RequestParam("page") Integer page,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag,
             @RequestParam(value = "period", required = false, defaultValue = "ALL") Period period) {
@@ -378,6 +398,7 @@ public class QuestionResourceController {
         Map<String, Object> params = new HashMap<>();
         params.put("currentPageNumber", page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
@@ -400,6 +421,7 @@ public class QuestionResourceController {
     public ResponseEntity<?> getQuestionsByReputation(
             @RequestParam("page") Integer page,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag) {
 
@@ -412,6 +434,7 @@ public class QuestionResourceController {
         Map<String, Object> params = new HashMap<>();
         params.put("currentPageNumber", page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
@@ -421,7 +444,7 @@ public class QuestionResourceController {
     }
 
     @GetMapping("/viewed")
-    @ApiOperation("Возращает все вопросы как объект класса PageDto<QuestionViewDto> с учетом заданных параметров пагинации, " +
+    @ApiOperation("Возращает все вопросы как объект класса PageDto<QuestionViewDto> с учетом заданных параметров пагинации (page или cursor), " +
             "Вопросы сортируются по количеству просмотров: сначала самые просматриваемые.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Получены все вопросы с тэгами, отсортированные по количеству просмотров," +
@@ -429,12 +452,18 @@ public class QuestionResourceController {
             @ApiResponse(code = 400, message = "Необходимо ввести обязательный параметр: номер страницы"),
             @ApiResponse(code = 500, message = "Страницы под номером page=* пока не существует")
     })
-    public ResponseEntity<PageDto<QuestionViewDto>> getAllQuestionDtoSortedByViewCount(
-            @RequestParam("page") Integer page,
+    public ResponseEntity<?> getAllQuestionDtoSortedByViewCount(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag) {
 
+        if (page == null && cursor == null) {
+            return new ResponseEntity<>("Необходимо ввести обязательный параметр: номер страницы", HttpStatus.BAD_REQUEST);
+        }
+
         if (!tagService.isTagsMappingToTrackedAndIgnoredCorrect(trackedTag, ignoredTag)) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -442,18 +471,22 @@ public class QuestionResourceController {
         Long userId = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
 
         Map<String, Object> params = new HashMap<>();
-        params.put("currentPageNumber", page);
+        params.put("currentPageNumber", page == null ? 1 : page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
 
         return new ResponseEntity<>(questionDtoService.getPageQuestionsWithTags(
                 "paginationAllQuestionsWithTagsSortedByViewCount", params), HttpStatus.OK);
     }
 
     @GetMapping("/vote")
-    @ApiOperation("Возращает все вопросы как объект класса PageDto<QuestionViewDto> с учетом заданных параметров пагинации, " +
+    @ApiOperation("Возращает все вопросы как объект класса PageDto<QuestionViewDto> с учетом заданных параметров пагинации (page или cursor), " +
             "Вопросы сортируются по количеству голосов: сначала самые полезные (больше голосов).")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Получены все вопросы с тэгами, отсортированные по количеству голосов," +
@@ -461,12 +494,18 @@ public class QuestionResourceController {
             @ApiResponse(code = 400, message = "Необходимо ввести обязательный параметр: номер страницы"),
             @ApiResponse(code = 500, message = "Страницы под номером page=* пока не существует")
     })
-    public ResponseEntity<PageDto<QuestionViewDto>> getAllQuestionDtoSortedByVotes (
-            @RequestParam("page") Integer page,
+    public ResponseEntity<?> getAllQuestionDtoSortedByVotes (
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "items", defaultValue = "10") Integer items,
+            @RequestParam(value = "count", required = false, defaultValue = "EXACT") CountPolicy count,
             @RequestParam(value = "trackedTag", defaultValue = "-1") List<Long> trackedTag,
             @RequestParam(value = "ignoredTag", defaultValue = "-1") List<Long> ignoredTag) {
 
+        if (page == null && cursor == null) {
+            return new ResponseEntity<>("Необходимо ввести обязательный параметр: номер страницы", HttpStatus.BAD_REQUEST);
+        }
+
         if (!tagService.isTagsMappingToTrackedAndIgnoredCorrect(trackedTag, ignoredTag)) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -474,11 +513,15 @@ public class QuestionResourceController {
         Long userId = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
 
         Map<String, Object> params = new HashMap<>();
-        params.put("currentPageNumber", page);
+        params.put("currentPageNumber", page == null ? 1 : page);
         params.put("itemsOnPage", items);
+        params.put("countPolicy", count);
         params.put("trackedTag", trackedTag);
         params.put("ignoredTag", ignoredTag);
         params.put("userId", userId);
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
 
         return new ResponseEntity<>(questionDtoService.getPageQuestionsWithTags(
                 "paginationAllQuestionsSortedByVoteUseful", params), HttpStatus.OK);
@@ -211,19 +211,27 @@ public class TagResourceController {
     }
 
     @GetMapping("/date")
-    @ApiOperation("Выводит все тэги, отсортированные по дате добавления, с учетом заданных параметров пагинации, " +
+    @ApiOperation("Выводит все тэги, отсортированные по дате добавления, с учетом заданных параметров пагинации (page или cursor), " +
             " где первый тэг, является самым новым")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Получены все тэги, отсортированные по дате, с учетом заданных параметров пагинации"),
             @ApiResponse(code = 400, message = "Необходимо ввести обязательный параметр: номер страницы"),
             @ApiResponse(code = 500, message = "Страницы под номером page=* пока не существует")
     })
-    public ResponseEntity<PageDto<TagViewDto>> getAllTagsOrderByDateDesc(
-            @RequestParam(value = "page") Integer page,
+    public ResponseEntity<?> getAllTagsOrderByDateDesc(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "items", required = false, defaultValue = "10") Integer items) {
+        if (page == null && cursor == null) {
+            return new ResponseEntity<>("Необходимо ввести обязательный параметр: номер страницы", HttpStatus.BAD_REQUEST);
+        }
+
         Map<String, Object> params = new HashMap<>();
-        params.put("currentPageNumber", page);
+        params.put("currentPageNumber", page == null ? 1 : page);
         params.put("itemsOnPage", items);
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
 
         PageDto<TagViewDto> pageDto = tagDtoService.getPageDto("paginationAllTagsSortedByDate", params);
         return new ResponseEntity<>(pageDto, HttpStatus.OK);
@@ -22,7 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -49,6 +49,7 @@ public class UserResourceController {
     private final UserService userService;
     private final BookMarksDtoService bookMarksDtoService;
     private final AnswerDtoService answerDtoService;
+    private final PasswordEncoder passwordEncoder;
 
 
     @GetMapping("/{userId}")
@@ -90,22 +91,30 @@ public class UserResourceController {
 
     @GetMapping("/reputation")
     @ApiOperation("Возращает всех пользователей как объект класса PageDto<UserDto> отсортированных " +
-            "по репутации с учетом заданных параметров пагинации")
+            "по репутации с учетом заданных параметров пагинации (page или cursor)")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Получены все пользователи, отсортированные " +
                     "по репутации с учетом заданных параметров пагинации"),
             @ApiResponse(code = 400, message = "Необходимо ввести обязательный параметр: номер страницы"),
             @ApiResponse(code = 500, message = "Страницы под номером page=* пока не существует")
     })
-    public ResponseEntity<PageDto<UserDto>> getPageAllUserSortedByReputation(@RequestParam("page") Integer page,
-                                                                             @RequestParam(required = false, name = "items",
-                                                                                     defaultValue = "10") Integer itemsOnPage,
-                                                                             @RequestParam(value = "filter", required = false,
-                                                                                     defaultValue = "") String filter) {
+    public ResponseEntity<?> getPageAllUserSortedByReputation(@RequestParam(value = "page", required = false) Integer page,
+                                                              @RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestParam(required = false, name = "items",
+                                                                      defaultValue = "10") Integer itemsOnPage,
+                                                              @RequestParam(value = "filter", required = false,
+                                                                      defaultValue = "") String filter) {
+        if (page == null && cursor == null) {
+            return new ResponseEntity<>("Необходимо ввести обязательный параметр: номер страницы", HttpStatus.BAD_REQUEST);
+        }
+
         Map<String, Object> params = new HashMap<>();
-        params.put("currentPageNumber", page);
+        params.put("currentPageNumber", page == null ? 1 : page);
         params.put("itemsOnPage", itemsOnPage);
         params.put("filter", filter);
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
 
         return new ResponseEntity<>(userDtoService.getPageDto(
                 "paginationAllUsersSortedByReputation", params), HttpStatus.OK);
@@ -144,7 +153,6 @@ public class UserResourceController {
                     "одну цифру, один из спецсимволов: @#$%. Пароль не должен совпадать с ранее существующим")
     })
     public ResponseEntity<?> updatePasswordByEmail(@PathVariable("userId") long userId, @RequestBody String password) {
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         if (user.getId().equals(userId)) {
@@ -1,6 +1,7 @@
 package com.javamentor.qa.platform.webapp.controllers.rest;
 
 import com.javamentor.qa.platform.models.entity.chat.Message;
+import com.javamentor.qa.platform.webapp.configs.websocket.ChatDestinations;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.stereotype.Controller;
@@ -10,7 +11,7 @@ public class WebSocketController {
 
 
     @MessageMapping("/message")
-    @SendTo("/chat/messages")
+    @SendTo(ChatDestinations.GLOBAL_MESSAGES)
     public Message getMessages(Message message) {
         System.out.println(message);
         return message;
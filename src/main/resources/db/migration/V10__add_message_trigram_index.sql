@@ -0,0 +1,4 @@
+create extension if not exists pg_trgm;
+
+create index message_message_trgm_idx on message using gin (message gin_trgm_ops);
+create index message_chat_persist_date_idx on message (chat_id, persist_date desc);
@@ -0,0 +1,24 @@
+alter table chat
+    add column last_message_id int8,
+    add column last_message_at timestamp,
+    add column last_message_preview varchar(255);
+
+alter table chat
+    add constraint chat_last_message_fk
+        foreign key (last_message_id)
+            references message
+            on delete set null;
+
+update chat c
+set last_message_id      = m.id,
+    last_message_at      = m.persist_date,
+    last_message_preview = left(m.message, 255)
+from (select distinct on (chat_id) id, chat_id, persist_date, message
+      from message
+      order by chat_id, persist_date desc, id desc) m
+where m.chat_id = c.id;
+
+create index chat_last_message_at_idx on chat (last_message_at desc, id desc);
+create index single_chat_user_one_idx on single_chat (user_one_id);
+create index single_chat_use_two_idx on single_chat (use_two_id);
+create index groupchat_has_users_user_idx on groupchat_has_users (user_id, chat_id);
@@ -0,0 +1,24 @@
+create sequence user_chat_read_seq start 1 increment 1;
+create table user_chat_read (
+                                id int8 not null,
+                                last_read_at timestamp not null,
+                                chat_id int8 not null,
+                                user_id int8 not null,
+                                primary key (id)
+);
+
+alter table user_chat_read
+    add constraint user_chat_read_user_chat_uk
+        unique (user_id, chat_id);
+
+alter table user_chat_read
+    add constraint user_chat_read_chat_fk
+        foreign key (chat_id)
+            references chat
+            on delete cascade;
+
+alter table user_chat_read
+    add constraint user_chat_read_user_fk
+        foreign key (user_id)
+            references user_entity
+            on delete cascade;
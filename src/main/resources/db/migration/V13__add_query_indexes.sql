@@ -0,0 +1,35 @@
+-- голоса: суммы по вопросу/ответу, голос пользователя и голоса пользователя за период (рейтинг пользователей)
+create index votes_on_questions_question_user_idx on votes_on_questions (question_id, user_id);
+create index votes_on_questions_user_vote_idx on votes_on_questions (user_id, vote);
+create index votes_on_answers_answer_user_idx on votes_on_answers (answer_id, user_id);
+create index votes_on_answers_user_vote_idx on votes_on_answers (user_id, vote);
+
+-- ответы: количество по вопросу, неудаленные ответы вопроса и ответы пользователя за период
+create index answer_question_idx on answer (question_id);
+create index answer_question_active_idx on answer (question_id, persist_date) where is_deleted = false;
+create index answer_user_persist_date_idx on answer (user_id, persist_date);
+
+create index question_user_idx on question (user_id);
+
+-- один просмотр на пару (вопрос, пользователь): по этому ключу пачка просмотров пишется через ON CONFLICT DO NOTHING
+delete from question_viewed qv
+using question_viewed dup
+where dup.question_id = qv.question_id
+  and dup.user_id = qv.user_id
+  and dup.id < qv.id;
+
+create unique index question_viewed_question_user_uq on question_viewed (question_id, user_id);
+
+update question_stats qs
+set view_count = (select count(*) from question_viewed qv where qv.question_id = qs.question_id);
+
+-- в question_has_tag нет первичного ключа: фильтры по тэгу (ленты, популярные тэги) и тэги вопроса
+create index question_has_tag_tag_question_idx on question_has_tag (tag_id, question_id);
+create index question_has_tag_question_tag_idx on question_has_tag (question_id, tag_id);
+
+create index reputation_author_persist_date_idx on reputation (author_id, persist_date);
+create index bookmarks_user_question_idx on bookmarks (user_id, question_id);
+create index tag_tracked_user_tag_idx on tag_tracked (user_id, tracked_tag_id);
+create index tag_ignore_user_tag_idx on tag_ignore (user_id, ignored_tag_id);
+create index comment_question_question_idx on comment_question (question_id);
+create index comment_answer_answer_idx on comment_answer (answer_id);
@@ -0,0 +1,46 @@
+create table question_stats (
+                                question_id int8 not null,
+                                up_votes int8 not null default 0,
+                                down_votes int8 not null default 0,
+                                votes int8 not null default 0,
+                                answer_count int8 not null default 0,
+                                view_count int8 not null default 0,
+                                primary key (question_id)
+);
+
+alter table question_stats
+    add constraint question_stats_question_fk
+        foreign key (question_id)
+            references question
+            on delete cascade;
+
+-- строка счетчиков есть у каждого вопроса, поэтому ленты соединяют question_stats обычным join
+-- и сортируются по этим индексам; второй ключ question_id совпадает со вторым ключом сортировки лент
+create index question_stats_votes_idx on question_stats (votes desc, question_id desc);
+create index question_stats_view_count_idx on question_stats (view_count desc, question_id desc);
+create index question_stats_total_idx on question_stats ((votes + answer_count + view_count) desc, question_id desc);
+create index question_stats_no_answer_idx on question_stats (question_id) where answer_count = 0;
+
+create or replace function question_stats_create() returns trigger as $$
+begin
+    insert into question_stats (question_id) values (new.id);
+    return new;
+end
+$$ language plpgsql;
+
+create trigger question_stats_create_trigger
+    after insert
+    on question
+    for each row
+execute procedure question_stats_create();
+
+insert into question_stats (question_id, up_votes, down_votes, votes, answer_count, view_count)
+select q.id,
+       (select count(*) from votes_on_questions v where v.question_id = q.id and v.vote = 'UP_VOTE'),
+       (select count(*) from votes_on_questions v where v.question_id = q.id and v.vote = 'DOWN_VOTE'),
+       0,
+       (select count(*) from answer a where a.question_id = q.id and a.is_deleted = false),
+       (select count(*) from question_viewed qv where qv.question_id = q.id)
+from question q;
+
+update question_stats set votes = up_votes - down_votes;
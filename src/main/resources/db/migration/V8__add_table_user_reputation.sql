@@ -0,0 +1,18 @@
+create table user_reputation (
+                                 user_id int8 not null,
+                                 count int8 not null default 0,
+                                 primary key (user_id)
+);
+
+alter table user_reputation
+    add constraint user_reputation_user_fk
+        foreign key (user_id)
+            references user_entity;
+
+create index user_reputation_count_idx on user_reputation (count desc);
+
+insert into user_reputation (user_id, count)
+select r.author_id, sum(r.count)
+from reputation r
+where r.author_id is not null
+group by r.author_id;
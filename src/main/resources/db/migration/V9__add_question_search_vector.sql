@@ -0,0 +1,21 @@
+alter table question add column search_vector tsvector;
+
+create or replace function question_search_vector_update() returns trigger as $$
+begin
+    new.search_vector := setweight(to_tsvector('simple', coalesce(new.title, '')), 'A') ||
+                         setweight(to_tsvector('simple', coalesce(new.description, '')), 'B');
+    return new;
+end
+$$ language plpgsql;
+
+create trigger question_search_vector_trigger
+    before insert or update of title, description
+    on question
+    for each row
+execute procedure question_search_vector_update();
+
+update question
+set search_vector = setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+                    setweight(to_tsvector('simple', coalesce(description, '')), 'B');
+
+create index question_search_vector_idx on question using gin (search_vector);
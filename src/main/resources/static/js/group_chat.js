@@ -5,9 +5,9 @@ myHeaders.append('Authorization','Bearer '+ getCookie('token'));
 function connect(){
     var socket = new SockJS('/chat-messaging');
     stompClient = Stomp.over(socket);
-    stompClient.connect({}, function (frame) {
+    stompClient.connect({'Authorization': 'Bearer ' + getCookie('token')}, function (frame) {
         console.log("connected: " + frame);
-        stompClient.subscribe('/chat/messages', function (response) {
+        stompClient.subscribe('/topic/chat.messages', function (response) {
             var data = JSON.parse(response.body);
             draw("left", data.message);
         });
@@ -0,0 +1,105 @@
+package com.javamentor.qa.platform.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.javamentor.qa.platform.models.entity.user.Role;
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.security.jwt.JwtFilter;
+import com.javamentor.qa.platform.security.jwt.JwtPrincipalCache;
+import com.javamentor.qa.platform.security.jwt.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Пропускная способность проверки JWT на одном потоке (операций в секунду на ядро).
+ * freshVerifier - как было раньше: Algorithm и JWTVerifier создаются на каждый токен;
+ * prebuiltVerifier - JwtUtil.checkToken; filter - весь JwtFilter с прогретым кэшем principal'ов.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "SecretKey";
+
+    private JwtUtil jwtUtil;
+    private JwtFilter jwtFilter;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Role role = new Role();
+        role.setId(1L);
+        role.setName("ROLE_USER");
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@mail.com");
+        user.setPassword("password");
+        user.setRole(role);
+
+        JwtPrincipalCache principalCache = new JwtPrincipalCache(100, 3600);
+        jwtUtil = new JwtUtil(null, principalCache);
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "keyId", "default");
+        ReflectionTestUtils.setField(jwtUtil, "retiredKeys", "");
+        jwtUtil.initKeys();
+        jwtFilter = new JwtFilter(jwtUtil);
+
+        token = jwtUtil.generateAccessToken(user);
+        DecodedJWT decodedJWT = jwtUtil.checkToken(token);
+        principalCache.put(decodedJWT.getSubject(), decodedJWT.getIssuedAt().getTime(), user);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public DecodedJWT freshVerifier() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET.getBytes(StandardCharsets.UTF_8));
+        JWTVerifier verifier = JWT.require(algorithm).build();
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT prebuiltVerifier() {
+        return jwtUtil.checkToken(token);
+    }
+
+    @Benchmark
+    public int filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/question/count");
+        request.addHeader(AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,97 @@
+package com.javamentor.qa.platform.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.javamentor.qa.platform.models.dto.PageDto;
+import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+import com.javamentor.qa.platform.models.dto.TagDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация страницы ленты PageDto&lt;QuestionViewDto&gt; в JSON на одном потоке (страниц в секунду).
+ * ObjectMapper настроен как в Spring Boot по умолчанию (JavaTimeModule, даты строками).
+ * objectMapper - writeValueAsBytes, как делает MappingJackson2HttpMessageConverter;
+ * typedWriter - заранее созданный ObjectWriter для PageDto&lt;QuestionViewDto&gt;.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class PageDtoSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int itemsOnPage;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter typedWriter;
+    private PageDto<QuestionViewDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        typedWriter = objectMapper.writerFor(new TypeReference<PageDto<QuestionViewDto>>() {
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        List<QuestionViewDto> items = new ArrayList<>();
+        for (long id = 1; id <= itemsOnPage; id++) {
+            List<TagDto> tags = new ArrayList<>();
+            for (long tag = 0; tag < 3; tag++) {
+                tags.add(new TagDto(id * 3 + tag, "tag" + (id * 3 + tag), "description of tag"));
+            }
+            items.add(QuestionViewDto.builder()
+                    .id(id)
+                    .title("title " + id)
+                    .description("description of question " + id)
+                    .authorId(id % 100)
+                    .authorName("user " + id % 100)
+                    .authorImage("/images/" + id % 100 + ".png")
+                    .authorReputation(id * 7)
+                    .viewCount((int) id * 11)
+                    .countAnswer((int) id % 3)
+                    .countValuable((int) id % 5)
+                    .persistDateTime(now)
+                    .lastUpdateDateTime(now)
+                    .listTagDto(tags)
+                    .isUserBookMarks(false)
+                    .build());
+        }
+        page = new PageDto<>(1, 100, 100 * itemsOnPage, items, itemsOnPage, null, true);
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return typedWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,96 @@
+package com.javamentor.qa.platform.benchmark;
+
+import com.javamentor.qa.platform.models.dto.CommentDtoByAnswerIdResultTransformer;
+import com.javamentor.qa.platform.models.dto.QuestionViewDtoResultTransformer;
+import com.javamentor.qa.platform.models.dto.TagDtoByQuestionIdResultTransformer;
+import org.hibernate.transform.ResultTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка DTO из строк результата запроса на одном потоке (страниц в секунду).
+ * Строки подготовлены заранее в том виде, в каком их отдает Hibernate: questionView - нативный запрос ленты
+ * (BigInteger, Timestamp), по одной строке на вопрос; tagsByQuestionId - по 3 тега на вопрос;
+ * commentsByAnswerId - по 5 комментариев на ответ. Каждая операция - новый трансформер на всю страницу.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ResultTransformerBenchmark {
+
+    private static final String[] NO_ALIASES = new String[0];
+
+    @Param({"10", "50"})
+    public int itemsOnPage;
+
+    private List<Object[]> questionRows;
+    private List<Object[]> tagRows;
+    private List<Object[]> commentRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        questionRows = new ArrayList<>();
+        tagRows = new ArrayList<>();
+        commentRows = new ArrayList<>();
+        for (long id = 1; id <= itemsOnPage; id++) {
+            questionRows.add(new Object[]{
+                    BigInteger.valueOf(id), "title " + id, "description of question " + id, now, now,
+                    BigInteger.valueOf(id % 100), "user " + id % 100, "/images/" + id % 100 + ".png",
+                    BigInteger.valueOf(id * 7), BigInteger.valueOf(id % 5), BigInteger.valueOf(id % 3),
+                    BigInteger.valueOf(id * 11)});
+            for (long tag = 0; tag < 3; tag++) {
+                tagRows.add(new Object[]{id, id * 3 + tag, "tag" + (id * 3 + tag), "description of tag"});
+            }
+            for (long comment = 0; comment < 5; comment++) {
+                commentRows.add(new Object[]{id * 5 + comment, "comment text " + comment, id % 100,
+                        "user " + id % 100, id * 7, now.toLocalDateTime(), id});
+            }
+        }
+    }
+
+    @Benchmark
+    public List<?> questionView() {
+        return transform(new QuestionViewDtoResultTransformer(), questionRows);
+    }
+
+    @Benchmark
+    public List<?> tagsByQuestionId() {
+        return transform(new TagDtoByQuestionIdResultTransformer(), tagRows);
+    }
+
+    @Benchmark
+    public List<?> commentsByAnswerId() {
+        return transform(new CommentDtoByAnswerIdResultTransformer(), commentRows);
+    }
+
+    private static List<?> transform(ResultTransformer transformer, List<Object[]> rows) {
+        List<Object> tuples = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            tuples.add(transformer.transformTuple(row, NO_ALIASES));
+        }
+        return transformer.transformList(tuples);
+    }
+}
@@ -0,0 +1,80 @@
+package com.javamentor.qa.platform.benchmark;
+
+import com.javamentor.qa.platform.search.SearchQuery;
+import com.javamentor.qa.platform.search.SearchQueryParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Разбор строки поиска вопросов на 4 потоках (операций в секунду на поток).
+ * regexPerRequest - как было раньше в SearchQuestionOutputParam: Pattern.compile на каждое ключевое слово
+ * в каждом запросе (без общего изменяемого состояния, иначе результат под нагрузкой неверный);
+ * parser - SearchQueryParser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SearchQueryParserBenchmark {
+
+    private static final Map<String, String> KEY_WORDS = Map.of(
+            "user", "User:",
+            "body", "Body:",
+            "title", "Title:",
+            "tag", "^[\\[](.*)[\\]]$",
+            "fullMatch", "^[\"](.*)[\"]$");
+
+    @Param({"spring hibernate", "spring User:Ivan Title:cache Body:lazy [java] \"exact\" jpa"})
+    public String request;
+
+    private final SearchQueryParser parser = new SearchQueryParser();
+
+    @Benchmark
+    public Map<String, Object> regexPerRequest() {
+        List<String> words = new ArrayList<>(List.of(request.split("\\s")));
+        Map<String, Object> output = new HashMap<>();
+        for (Map.Entry<String, String> keyWord : KEY_WORDS.entrySet()) {
+            Pattern pattern = Pattern.compile(keyWord.getValue());
+            for (Iterator<String> iterator = words.iterator(); iterator.hasNext(); ) {
+                String word = iterator.next();
+                Matcher matcher = pattern.matcher(word);
+                if (matcher.find()) {
+                    output.put(keyWord.getKey(), keyWord.getValue().contains("*")
+                            ? word.substring(1, word.length() - 1)
+                            : word.substring(matcher.end()));
+                    iterator.remove();
+                }
+            }
+        }
+        for (String word : words) {
+            output.merge("request", word, (a, b) -> a + " " + b);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public SearchQuery parser() {
+        return parser.parse(request);
+    }
+}
@@ -0,0 +1,131 @@
+package com.javamentor.qa.platform.dao;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.AnswerDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.CommentDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.QuestionDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.TagDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.TrackedTagDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.UserDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.model.BookMarksDao;
+import com.javamentor.qa.platform.dao.abstracts.model.QuestionViewedDao;
+import com.javamentor.qa.platform.dao.abstracts.model.VoteOnAnswerDao;
+import com.javamentor.qa.platform.dao.abstracts.model.VoteOnQuestionDao;
+import com.javamentor.qa.platform.dao.explain.CapturedStatement;
+import com.javamentor.qa.platform.dao.explain.QueryPlan;
+import com.javamentor.qa.platform.dao.explain.StatementRecorder;
+import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+/**
+ * Проверяет по EXPLAIN, что запросы DAO к большим таблицам идут по индексам из V10/V13, а не полным просмотром.
+ * Вызываются сами методы DAO, запросы перехватываются {@link StatementRecorder} в том виде,
+ * в каком их отправил Hibernate, поэтому изменение запроса DAO проверяется без правки теста.
+ */
+@Import(StatementRecorder.class)
+public class TestQueryIndexUsage extends AbstractControllerTest {
+
+    private static final Long ID = 150L;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Test
+    @Sql(scripts = "/script/TestQueryIndexUsage/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQueryIndexUsage/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void daoQueriesDoNotScanWholeTables() {
+        VoteOnQuestionDao voteOnQuestionDao = applicationContext.getBean(VoteOnQuestionDao.class);
+        VoteOnAnswerDao voteOnAnswerDao = applicationContext.getBean(VoteOnAnswerDao.class);
+        QuestionViewedDao questionViewedDao = applicationContext.getBean(QuestionViewedDao.class);
+        BookMarksDao bookMarksDao = applicationContext.getBean(BookMarksDao.class);
+        AnswerDtoDao answerDtoDao = applicationContext.getBean(AnswerDtoDao.class);
+        CommentDtoDao commentDtoDao = applicationContext.getBean(CommentDtoDao.class);
+        QuestionDtoDao questionDtoDao = applicationContext.getBean(QuestionDtoDao.class);
+        TagDtoDao tagDtoDao = applicationContext.getBean(TagDtoDao.class);
+        TrackedTagDtoDao trackedTagDtoDao = applicationContext.getBean(TrackedTagDtoDao.class);
+        UserDtoDao userDtoDao = applicationContext.getBean(UserDtoDao.class);
+        PageDtoDao<?> messages = (PageDtoDao<?>) applicationContext.getBean("paginationAllMessagesSortedByPersistDate");
+        Map<String, Object> messageParams = new HashMap<>();
+        messageParams.put("chatId", ID);
+        messageParams.put("sortAscendingFlag", false);
+        messageParams.put("currentPageNumber", 1);
+        messageParams.put("itemsOnPage", 10);
+
+        List<Executable> checks = new ArrayList<>();
+        checks.addAll(noSeqScan("votes_on_questions", "VoteOnQuestionDao.getIfNotExists",
+                () -> voteOnQuestionDao.getIfNotExists(ID, ID)));
+        checks.addAll(noSeqScan("votes_on_questions", "VoteOnQuestionDao.getCountOfVotes",
+                () -> voteOnQuestionDao.getCountOfVotes(ID)));
+        checks.addAll(noSeqScan("votes_on_answers", "VoteOnAnswerDao.getIfNotExists",
+                () -> voteOnAnswerDao.getIfNotExists(ID, ID)));
+        checks.addAll(noSeqScan("votes_on_answers", "VoteOnAnswerDao.getCountOfVotes",
+                () -> voteOnAnswerDao.getCountOfVotes(ID)));
+        checks.addAll(noSeqScan("answer", "QuestionDtoDao.getQuestionById",
+                () -> questionDtoDao.getQuestionById(ID)));
+        checks.addAll(noSeqScan("answer", "AnswerDtoDao.getAllByQuestionId",
+                () -> answerDtoDao.getAllByQuestionId(ID)));
+        checks.addAll(noSeqScan("answer", "AnswerDtoDao.getAmountAllAnswersByUserId",
+                () -> answerDtoDao.getAmountAllAnswersByUserId(ID)));
+        checks.addAll(noSeqScan("answer", "UserDtoDao.getAllQuestionsByUserId",
+                () -> userDtoDao.getAllQuestionsByUserId(ID)));
+        checks.addAll(noSeqScan("question", "UserDtoDao.getAllDeletedQuestionsByUserId",
+                () -> userDtoDao.getAllDeletedQuestionsByUserId(ID)));
+        checks.addAll(noSeqScan("question_viewed", "QuestionViewedDao.isUserViewedQuestion",
+                () -> questionViewedDao.isUserViewedQuestion(ID + "@mail.com", ID)));
+        checks.addAll(noSeqScan("question_has_tag", "TagDtoDao.getTagsByQuestionId",
+                () -> tagDtoDao.getTagsByQuestionId(ID)));
+        checks.addAll(noSeqScan("reputation", "UserDtoDao.getReputationByUserId",
+                () -> userDtoDao.getReputationByUserId(ID)));
+        checks.addAll(noSeqScan("bookmarks", "BookMarksDao.isQuestionAlreadyExistOnUserBookmarks",
+                () -> bookMarksDao.isQuestionAlreadyExistOnUserBookmarks(ID, ID)));
+        checks.addAll(noSeqScan("tag_tracked", "TrackedTagDtoDao.getTrackedTags",
+                () -> trackedTagDtoDao.getTrackedTags(ID)));
+        checks.addAll(noSeqScan("tag_ignore", "TagDtoDao.getIgnoredTags",
+                () -> tagDtoDao.getIgnoredTags(ID)));
+        checks.addAll(noSeqScan("comment_question", "CommentDtoDao.getCommentDtosByQuestionId",
+                () -> commentDtoDao.getCommentDtosByQuestionId(ID)));
+        checks.addAll(noSeqScan("comment_answer", "CommentDtoDao.getCommentDtosByAnswerIds",
+                () -> commentDtoDao.getCommentDtosByAnswerIds(List.of(ID, ID + 1))));
+        checks.addAll(noSeqScan("message", "PaginationAllMessagesSortedByPersistDate.getItems",
+                () -> messages.getItems(messageParams)));
+        Assertions.assertAll(checks);
+    }
+
+    private List<Executable> noSeqScan(String table, String daoCall, Runnable call) {
+        List<CapturedStatement> statements;
+        try {
+            statements = statementRecorder.record(call);
+        } catch (RuntimeException e) {
+            return List.of(() -> Assertions.fail(daoCall + " failed", e));
+        }
+        List<Executable> checks = new ArrayList<>();
+        checks.add(() -> Assertions.assertFalse(statements.isEmpty(), daoCall + " did not query the database"));
+        for (CapturedStatement statement : statements) {
+            checks.add(() -> {
+                QueryPlan plan = QueryPlan.explain(statementRecorder.getTarget(), statement);
+                Assertions.assertFalse(plan.getSeqScans().contains(table),
+                        daoCall + " - полный просмотр " + table + ":\n" + statement.getSql() + "\n" + plan.getJson());
+            });
+        }
+        return checks;
+    }
+}
@@ -0,0 +1,41 @@
+package com.javamentor.qa.platform.dao.explain;
+
+import java.util.List;
+
+/**
+ * SELECT, выполненный DAO, и значения его параметров в порядке номеров.
+ */
+public class CapturedStatement {
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    public CapturedStatement(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = List.copyOf(parameters);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Параметр, выставленный через setNull.
+     */
+    public static final class SqlNull {
+
+        private final int sqlType;
+
+        public SqlNull(int sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        public int getSqlType() {
+            return sqlType;
+        }
+    }
+}
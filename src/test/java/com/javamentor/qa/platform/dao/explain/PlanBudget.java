@@ -0,0 +1,62 @@
+package com.javamentor.qa.platform.dao.explain;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Предельные значения плана одного запроса на тестовом наборе данных.
+ * Кроме числа строк, буферов и времени бюджет запрещает полный просмотр больших таблиц:
+ * такой запрос растет вместе с таблицей, даже если на тестовом наборе укладывается в лимит строк.
+ */
+public class PlanBudget {
+
+    /** Таблицы с сотнями тысяч строк, которые читаются только по индексу: ответы, голоса, просмотры и т.п. */
+    public static final Set<String> LARGE_TABLES = Set.of("answer", "votes_on_questions", "votes_on_answers",
+            "question_viewed", "reputation", "bookmarks", "comment", "comment_question", "comment_answer",
+            "message", "question_has_tag");
+
+    /** Выборка по id или по пользователю: читает несколько индексных диапазонов */
+    public static final PlanBudget LOOKUP = new PlanBudget(5_000, 2_000, 500, withQuestions(LARGE_TABLES));
+
+    /**
+     * Страница списка с подсчетом total: допускает один проход по основной таблице списка
+     * (вопросы, пользователи, тэги), зависимые таблицы читаются только по индексу.
+     */
+    public static final PlanBudget PAGE = new PlanBudget(250_000, 10_000, 2_000, LARGE_TABLES);
+
+    /** Сортировка или фильтр по агрегату всех строк зависимой таблицы, например голосов всех пользователей */
+    public static final PlanBudget AGGREGATE = new PlanBudget(2_000_000, 50_000, 5_000, Set.of());
+
+    private final long maxRowsScanned;
+    private final long maxBuffers;
+    private final double maxMillis;
+    private final Set<String> noSeqScan;
+
+    public PlanBudget(long maxRowsScanned, long maxBuffers, double maxMillis, Set<String> noSeqScan) {
+        this.maxRowsScanned = maxRowsScanned;
+        this.maxBuffers = maxBuffers;
+        this.maxMillis = maxMillis;
+        this.noSeqScan = noSeqScan;
+    }
+
+    public void check(String daoCall, CapturedStatement statement, QueryPlan plan) {
+        Set<String> seqScans = new HashSet<>(plan.getSeqScans());
+        seqScans.retainAll(noSeqScan);
+        String message = String.format("%s: rows scanned %d (max %d), buffers %d (max %d), %.1f ms (max %.0f), " +
+                        "seq scans %s%n%s%n%s",
+                daoCall, plan.getRowsScanned(), maxRowsScanned, plan.getBuffers(), maxBuffers,
+                plan.getExecutionMillis(), maxMillis, seqScans, statement.getSql(), plan.getJson());
+        Assertions.assertTrue(plan.getRowsScanned() <= maxRowsScanned
+                && plan.getBuffers() <= maxBuffers
+                && plan.getExecutionMillis() <= maxMillis
+                && seqScans.isEmpty(), message);
+    }
+
+    private static Set<String> withQuestions(Set<String> tables) {
+        Set<String> result = new HashSet<>(tables);
+        result.add("question");
+        return Set.copyOf(result);
+    }
+}
@@ -0,0 +1,125 @@
+package com.javamentor.qa.platform.dao.explain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javamentor.qa.platform.dao.explain.CapturedStatement.SqlNull;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Итог EXPLAIN (ANALYZE, BUFFERS) одного запроса.
+ * rowsScanned - строки, прочитанные из таблиц, включая отброшенные фильтром, по всем циклам;
+ * buffers - страницы shared buffers, найденные в кэше и прочитанные с диска;
+ * seqScans - таблицы, которые план читает полным просмотром.
+ */
+public class QueryPlan {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final long rowsScanned;
+    private final long buffers;
+    private final double executionMillis;
+    private final Set<String> seqScans;
+    private final String json;
+
+    private QueryPlan(long rowsScanned, long buffers, double executionMillis, Set<String> seqScans, String json) {
+        this.rowsScanned = rowsScanned;
+        this.buffers = buffers;
+        this.executionMillis = executionMillis;
+        this.seqScans = seqScans;
+        this.json = json;
+    }
+
+    /**
+     * Выполняет запрос под EXPLAIN ANALYZE в транзакции, которая затем откатывается.
+     */
+    public static QueryPlan explain(DataSource dataSource, CapturedStatement statement) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.getSql())) {
+                List<Object> parameters = statement.getParameters();
+                for (int i = 0; i < parameters.size(); i++) {
+                    Object value = parameters.get(i);
+                    if (value instanceof SqlNull) {
+                        explain.setNull(i + 1, ((SqlNull) value).getSqlType());
+                    } else {
+                        explain.setObject(i + 1, value);
+                    }
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return parse(resultSet.getString(1));
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    static QueryPlan parse(String json) throws IOException {
+        JsonNode root = OBJECT_MAPPER.readTree(json).get(0);
+        JsonNode plan = root.get("Plan");
+        long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+        Set<String> seqScans = new HashSet<>();
+        collectSeqScans(plan, seqScans);
+        return new QueryPlan(rowsScanned(plan), buffers, root.path("Execution Time").asDouble(), seqScans, json);
+    }
+
+    private static void collectSeqScans(JsonNode node, Set<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    /**
+     * Считаются только узлы, читающие таблицу (с "Relation Name"): Bitmap Index Scan возвращает те же
+     * строки, что и его Bitmap Heap Scan, и учитывать его отдельно значило бы считать строки дважды.
+     */
+    private static long rowsScanned(JsonNode node) {
+        long rows = 0;
+        if (node.has("Relation Name")) {
+            double perLoop = node.path("Actual Rows").asDouble()
+                    + node.path("Rows Removed by Filter").asDouble()
+                    + node.path("Rows Removed by Index Recheck").asDouble();
+            rows += Math.round(perLoop * node.path("Actual Loops").asDouble());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            rows += rowsScanned(child);
+        }
+        return rows;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public long getBuffers() {
+        return buffers;
+    }
+
+    public double getExecutionMillis() {
+        return executionMillis;
+    }
+
+    public Set<String> getSeqScans() {
+        return seqScans;
+    }
+
+    public String getJson() {
+        return json;
+    }
+}
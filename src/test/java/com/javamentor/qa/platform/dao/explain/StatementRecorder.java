@@ -0,0 +1,106 @@
+package com.javamentor.qa.platform.dao.explain;
+
+import com.javamentor.qa.platform.dao.explain.CapturedStatement.SqlNull;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Оборачивает DataSource приложения и запоминает SELECT-запросы, которые Hibernate отправляет в базу,
+ * вместе с параметрами, чтобы их можно было повторить под EXPLAIN. Запись идет только внутри {@link #record}.
+ */
+public class StatementRecorder implements BeanPostProcessor {
+
+    private final List<CapturedStatement> captured = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+    private DataSource target;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || target != null) {
+            return bean;
+        }
+        target = (DataSource) bean;
+        return wrap(target);
+    }
+
+    /**
+     * @return SELECT-запросы, выполненные во время daoCall
+     */
+    public List<CapturedStatement> record(Runnable daoCall) {
+        captured.clear();
+        recording = true;
+        try {
+            daoCall.run();
+        } finally {
+            recording = false;
+        }
+        return new ArrayList<>(captured);
+    }
+
+    /**
+     * @return исходный DataSource, запросы через него не записываются
+     */
+    public DataSource getTarget() {
+        return target;
+    }
+
+    private DataSource wrap(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return "getConnection".equals(method.getName()) ? wrap((Connection) result) : result;
+                });
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if ("prepareStatement".equals(method.getName()) && args[0] instanceof String) {
+                        return wrap((PreparedStatement) result, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        parameters.put((Integer) args[0], "setNull".equals(name) ? new SqlNull((Integer) args[1]) : args[1]);
+                    } else if ("clearParameters".equals(name)) {
+                        parameters.clear();
+                    } else if ("executeQuery".equals(name) && recording && isSelect(sql)) {
+                        captured.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isSelect(String sql) {
+        String start = sql.stripLeading().toLowerCase();
+        return start.startsWith("select") || start.startsWith("with");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
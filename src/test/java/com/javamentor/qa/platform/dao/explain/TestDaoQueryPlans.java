@@ -0,0 +1,181 @@
+package com.javamentor.qa.platform.dao.explain;
+
+import com.javamentor.qa.platform.dao.abstracts.dto.AnswerDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.BookMarksDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.ChatDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.ChatInboxDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.CommentDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.PageDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.QuestionDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.TagDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.TrackedTagDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.UserDtoDao;
+import com.javamentor.qa.platform.dao.abstracts.dto.UserQuestionOverlayDtoDao;
+import com.javamentor.qa.platform.models.dto.enums.Period;
+import com.javamentor.qa.platform.search.SearchQueryParser;
+import com.javamentor.qa.platform.webapp.configs.JmApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Бюджеты планов запросов всех PageDtoDao и DTO DAO на синтетическом наборе данных
+ * (сотни тысяч вопросов, ответов, голосов и сообщений, см. Before.sql).
+ * Запросы перехватываются на уровне JDBC в том виде, в каком их отправил Hibernate,
+ * и повторяются под EXPLAIN (ANALYZE, BUFFERS). Новый бин PageDtoDao проверяется автоматически;
+ * новый метод DTO DAO нужно добавить в dtoDaoCalls.
+ */
+@SpringBootTest(classes = JmApplication.class)
+@Import(StatementRecorder.class)
+@TestPropertySource(properties = {"spring.config.location = src/test/resources/application.properties",
+        "question.feed-cache.max-page = 0", "security.password.bcrypt.strength = 10"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestDaoQueryPlans {
+
+    private static final Long ID = 150L;
+
+    /** Бины, которым нужен бюджет больше стандартного: сортировка по голосам или вопросам всех пользователей */
+    private static final Map<String, PlanBudget> PAGE_BUDGETS = Map.of(
+            "paginationAllUsersSortedByVote", PlanBudget.AGGREGATE,
+            "paginationAllTagsSortedByPopular", PlanBudget.AGGREGATE);
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @BeforeAll
+    public void seed() {
+        new ResourceDatabasePopulator(
+                new ClassPathResource("script/TestQueryIndexUsage/Before.sql"),
+                new ClassPathResource("script/TestDaoQueryPlans/Before.sql"))
+                .execute(statementRecorder.getTarget());
+    }
+
+    @AfterAll
+    public void clean() {
+        new ResourceDatabasePopulator(new ClassPathResource("script/TestQueryIndexUsage/After.sql"))
+                .execute(statementRecorder.getTarget());
+    }
+
+    @Test
+    public void everyPageDtoDaoStaysWithinBudget() {
+        List<Executable> checks = new ArrayList<>();
+        applicationContext.getBeansOfType(PageDtoDao.class).forEach((name, dao) -> {
+            PlanBudget budget = PAGE_BUDGETS.getOrDefault(name, PlanBudget.PAGE);
+            checks.addAll(checkCall(name + ".getItems", budget, () -> dao.getItems(pageParams())));
+            checks.addAll(checkCall(name + ".getTotalResultCount", budget, () -> dao.getTotalResultCount(pageParams())));
+        });
+        Assertions.assertAll(checks);
+    }
+
+    @Test
+    public void everyDtoDaoStaysWithinBudget() {
+        AnswerDtoDao answerDtoDao = applicationContext.getBean(AnswerDtoDao.class);
+        BookMarksDtoDao bookMarksDtoDao = applicationContext.getBean(BookMarksDtoDao.class);
+        ChatDtoDao chatDtoDao = applicationContext.getBean(ChatDtoDao.class);
+        ChatInboxDtoDao chatInboxDtoDao = applicationContext.getBean(ChatInboxDtoDao.class);
+        CommentDtoDao commentDtoDao = applicationContext.getBean(CommentDtoDao.class);
+        QuestionDtoDao questionDtoDao = applicationContext.getBean(QuestionDtoDao.class);
+        TagDtoDao tagDtoDao = applicationContext.getBean(TagDtoDao.class);
+        TrackedTagDtoDao trackedTagDtoDao = applicationContext.getBean(TrackedTagDtoDao.class);
+        UserDtoDao userDtoDao = applicationContext.getBean(UserDtoDao.class);
+        UserQuestionOverlayDtoDao overlayDtoDao = applicationContext.getBean(UserQuestionOverlayDtoDao.class);
+        List<Long> ids = List.of(ID, ID + 1, ID + 2);
+
+        Map<String, Runnable> lookups = new HashMap<>();
+        lookups.put("AnswerDtoDao.getAllByQuestionId", () -> answerDtoDao.getAllByQuestionId(ID));
+        lookups.put("AnswerDtoDao.getDeletedAnswersByUserId", () -> answerDtoDao.getDeletedAnswersByUserId(ID));
+        lookups.put("AnswerDtoDao.getAmountAllAnswersByUserId", () -> answerDtoDao.getAmountAllAnswersByUserId(ID));
+        lookups.put("AnswerDtoDao.getAnswerUserDtoForWeek", () -> answerDtoDao.getAnswerUserDtoForWeek(ID));
+        lookups.put("BookMarksDtoDao.getAllBookMarksUsersById", () -> bookMarksDtoDao.getAllBookMarksUsersById(ID));
+        lookups.put("ChatDtoDao.getChatByString", () -> chatDtoDao.getChatByString(ID, "User 1"));
+        lookups.put("ChatInboxDtoDao.getInbox", () -> chatInboxDtoDao.getInbox(ID));
+        lookups.put("CommentDtoDao.getCommentDtosByQuestionId", () -> commentDtoDao.getCommentDtosByQuestionId(ID));
+        lookups.put("CommentDtoDao.getCommentDtoByCommentId", () -> commentDtoDao.getCommentDtoByCommentId(ID));
+        lookups.put("CommentDtoDao.getCommentDtosByAnswerIds", () -> commentDtoDao.getCommentDtosByAnswerIds(ids));
+        lookups.put("QuestionDtoDao.getQuestionById", () -> questionDtoDao.getQuestionById(ID));
+        lookups.put("TagDtoDao.getIgnoredTags", () -> tagDtoDao.getIgnoredTags(ID));
+        lookups.put("TagDtoDao.getTagsByQuestionId", () -> tagDtoDao.getTagsByQuestionId(ID));
+        lookups.put("TagDtoDao.getTagsByQuestionIds", () -> tagDtoDao.getTagsByQuestionIds(ids));
+        lookups.put("TagDtoDao.getTop3UserTagsByReputation", () -> tagDtoDao.getTop3UserTagsByReputation(ID));
+        lookups.put("TrackedTagDtoDao.getTrackedTags", () -> trackedTagDtoDao.getTrackedTags(ID));
+        lookups.put("UserDtoDao.getUserById", () -> userDtoDao.getUserById(ID));
+        lookups.put("UserDtoDao.getAllQuestionsByUserId", () -> userDtoDao.getAllQuestionsByUserId(ID));
+        lookups.put("UserDtoDao.getAllDeletedQuestionsByUserId", () -> userDtoDao.getAllDeletedQuestionsByUserId(ID));
+        lookups.put("UserDtoDao.getReputationByUserId", () -> userDtoDao.getReputationByUserId(ID));
+        lookups.put("UserQuestionOverlayDtoDao.getOverlaysByQuestionIds",
+                () -> overlayDtoDao.getOverlaysByQuestionIds(ID, ids));
+
+        // выборки по всем тэгам или всем пользователям
+        Map<String, Runnable> listings = new HashMap<>();
+        listings.put("TagDtoDao.getTop10FoundTags", () -> tagDtoDao.getTop10FoundTags("tag1"));
+        listings.put("UserDtoDao.getTop10UserDtoForAnswer", userDtoDao::getTop10UserDtoForAnswer);
+        listings.put("UserDtoDao.getTop10UserDtoForAnswerOnTheMonth", userDtoDao::getTop10UserDtoForAnswerOnTheMonth);
+        listings.put("UserDtoDao.getTop10UserDtoForAnswerOnTheYear", userDtoDao::getTop10UserDtoForAnswerOnTheYear);
+
+        List<Executable> checks = new ArrayList<>();
+        lookups.forEach((name, call) -> checks.addAll(checkCall(name, PlanBudget.LOOKUP, call)));
+        listings.forEach((name, call) -> checks.addAll(checkCall(name, PlanBudget.AGGREGATE, call)));
+        Assertions.assertAll(checks);
+    }
+
+    /**
+     * Параметры, которых хватает любому PageDtoDao: каждый бин берет из карты только свои ключи.
+     */
+    private Map<String, Object> pageParams() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("currentPageNumber", 1);
+        params.put("itemsOnPage", 10);
+        params.put("userId", ID);
+        params.put("chatId", ID);
+        params.put("questionId", ID);
+        params.put("sortAscendingFlag", false);
+        params.put("filter", "");
+        params.put("tagsFilter", "");
+        params.put("period", Period.ALL);
+        params.put("trackedTag", List.of(-1L));
+        params.put("ignoredTag", List.of(-1L));
+        params.put("text", "Message 15");
+        params.put("word", "Message 15");
+        params.put("searchQuery", new SearchQueryParser().parse("question 150"));
+        return params;
+    }
+
+    /**
+     * Выполняет вызов DAO с записью запросов и возвращает проверки бюджета для каждого из них.
+     * Ошибка самого вызова тоже становится проваленной проверкой, чтобы отчет был по всем DAO сразу.
+     */
+    private List<Executable> checkCall(String daoCall, PlanBudget budget, Runnable call) {
+        List<CapturedStatement> statements;
+        try {
+            statements = statementRecorder.record(call);
+        } catch (RuntimeException e) {
+            return List.of(() -> Assertions.fail(daoCall + " failed", e));
+        }
+        List<Executable> checks = new ArrayList<>();
+        checks.add(() -> Assertions.assertFalse(statements.isEmpty(), daoCall + " did not query the database"));
+        for (CapturedStatement statement : statements) {
+            checks.add(() -> budget.check(daoCall, statement, QueryPlan.explain(statementRecorder.getTarget(), statement)));
+        }
+        return checks;
+    }
+}
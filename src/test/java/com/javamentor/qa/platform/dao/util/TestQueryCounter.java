@@ -0,0 +1,55 @@
+package com.javamentor.qa.platform.dao.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TestQueryCounter {
+
+    private final QueryCountStatementInspector inspector = new QueryCountStatementInspector();
+
+    @Test
+    public void nestedScopesAddToParent() {
+        inspector.inspect("select 1");
+        Assertions.assertNull(QueryCounter.current());
+
+        QueryCounter.Scope request = QueryCounter.open();
+        inspector.inspect("select 1");
+        QueryCounter.Scope page = QueryCounter.open();
+        inspector.inspect("select 1");
+        inspector.inspect("select 1");
+        page.close();
+        Assertions.assertSame(request, QueryCounter.current());
+        inspector.inspect("select 1");
+        request.close();
+
+        Assertions.assertEquals(2, page.getCount());
+        Assertions.assertEquals(4, request.getCount());
+        Assertions.assertNull(QueryCounter.current());
+    }
+
+    @Test
+    public void scopeInOtherThreadAddsToExplicitParent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (QueryCounter.Scope page = QueryCounter.open()) {
+            CompletableFuture<?>[] stages = new CompletableFuture<?>[4];
+            for (int i = 0; i < stages.length; i++) {
+                stages[i] = CompletableFuture.runAsync(() -> {
+                    try (QueryCounter.Scope stage = QueryCounter.open(page)) {
+                        inspector.inspect("select 1");
+                        inspector.inspect("select 1");
+                    }
+                    Assertions.assertNull(QueryCounter.current());
+                }, executor);
+            }
+            CompletableFuture.allOf(stages).get();
+
+            Assertions.assertEquals(8, page.getCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.javamentor.qa.platform.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Запросы нагрузочного теста и их доли в смеси (weight из 100).
+ * Повторные /view, голос и ответ на тот же вопрос ожидаемо дают 400 - они считаются в clientErrors.
+ */
+enum Endpoint {
+
+    FEED(25, (session, random) -> session.get("/api/user/question?page=" + page(random) + "&items=10")),
+    FEED_NEW(10, (session, random) -> session.get("/api/user/question/new?page=" + page(random) + "&items=10")),
+    QUESTION(15, (session, random) -> session.get("/api/user/question/" + session.randomQuestionId(random))),
+    ANSWERS(10, (session, random) -> session.get("/api/user/question/" + session.randomQuestionId(random) + "/answer")),
+    VIEW(10, (session, random) -> session.post("/api/user/question/" + session.randomQuestionId(random) + "/view", "")),
+    VOTE(5, (session, random) -> session.post("/api/user/question/" + session.randomQuestionId(random)
+            + (random.nextInt(4) == 0 ? "/downVote" : "/upVote"), "")),
+    ANSWER(3, (session, random) -> session.post("/api/user/question/" + session.randomQuestionId(random) + "/answer/add",
+            "{\"body\": \"Load test answer " + random.nextInt(1_000_000) + "\"}")),
+    CHATS(10, (session, random) -> session.get("/api/user/chat/single?page=1&items=10")),
+    CHAT_SEARCH(6, (session, random) -> session.hasChats()
+            ? session.get("/api/user/chat/" + session.randomChatId(random) + "/message/find?page=1&items=20&word=message")
+            : session.get("/api/user/message/global/find?text=message&currentPage=1&items=10")),
+    GLOBAL_SEARCH(6, (session, random) -> session.get("/api/user/message/global/find?text=chat&currentPage=1&items=10"));
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final int weight;
+    private final BiFunction<LoadTest.Session, Random, HttpRequest> request;
+
+    Endpoint(int weight, BiFunction<LoadTest.Session, Random, HttpRequest> request) {
+        this.weight = weight;
+        this.request = request;
+    }
+
+    HttpRequest request(LoadTest.Session session, Random random) {
+        return request.apply(session, random);
+    }
+
+    static Endpoint next(Random random) {
+        int point = random.nextInt(TOTAL_WEIGHT);
+        for (Endpoint endpoint : values()) {
+            point -= endpoint.weight;
+            if (point < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Сумма весов Endpoint меньше " + TOTAL_WEIGHT);
+    }
+
+    /** Первые страницы ленты открывают намного чаще остальных */
+    private static int page(Random random) {
+        int roll = random.nextInt(10);
+        return roll < 6 ? 1 : roll < 8 ? 2 : 3 + random.nextInt(3);
+    }
+}
@@ -0,0 +1,64 @@
+package com.javamentor.qa.platform.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ответы и время ответа одного Endpoint за период измерения. Время хранится в микросекундах целиком,
+ * перцентили считаются по отсортированному массиву в конце прогона.
+ */
+class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long ok;
+    private long clientErrors;
+    private long serverErrors;
+
+    synchronized void record(int status, long latencyMicros) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyMicros;
+        if (status >= 200 && status < 300) {
+            ok++;
+        } else if (status >= 400 && status < 500) {
+            clientErrors++;
+        } else {
+            serverErrors++;
+        }
+    }
+
+    /**
+     * @param seconds длительность периода измерения
+     * @return count, ok, clientErrors, serverErrors, rps и p50/p90/p99/max в миллисекундах
+     */
+    synchronized Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", size);
+        summary.put("ok", ok);
+        summary.put("clientErrors", clientErrors);
+        summary.put("serverErrors", serverErrors);
+        summary.put("rps", round(size / seconds));
+        summary.put("p50", percentile(sorted, 50));
+        summary.put("p90", percentile(sorted, 90));
+        summary.put("p99", percentile(sorted, 99));
+        summary.put("max", size == 0 ? 0 : round(sorted[size - 1] / 1000.0));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return round(sorted[Math.max(index, 0)] / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,193 @@
+package com.javamentor.qa.platform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест по HTTP против уже запущенного приложения.
+ * <p>
+ * Данные: пустая база и приложение, запущенное с увеличенными тестовыми данными, например
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=local -Dspring-boot.run.arguments=--test-data.scale=20}
+ * (1000 пользователей, 1000 вопросов, см. TestDataInitService).
+ * <p>
+ * Запуск: {@code mvn -P loadtest verify -Dloadtest.users=50 -Dloadtest.duration-seconds=120}.
+ * Каждый виртуальный пользователь получает JWT через /api/auth/token/ под своей учеткой из тестовых данных
+ * (N@mail.com / passN) и без пауз шлет запросы из смеси {@link Endpoint}. Запросы за время прогрева не считаются.
+ * Результат - rps, p50/p90/p99/max в миллисекундах и число ошибок по каждому Endpoint - печатается в консоль
+ * и пишется в JSON (loadtest.report, по умолчанию target/loadtest-report.json).
+ * Прогон повторяем: случайные последовательности запросов задаются loadtest.seed.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8091");
+    private final int users = Integer.getInteger("loadtest.users", 50);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 30);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 120);
+    private final long seed = Long.getLong("loadtest.seed", 42L);
+    private final String report = System.getProperty("loadtest.report", "target/loadtest-report.json");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+    }
+
+    void run() throws Exception {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            sessions.add(login(i));
+        }
+        long questionCount = Long.parseLong(send(sessions.get(0).get("/api/user/question/count")).body().trim());
+        for (Session session : sessions) {
+            session.questionCount = questionCount;
+            JsonNode chats = OBJECT_MAPPER.readTree(send(session.get("/api/user/chat/single?page=1&items=10")).body());
+            chats.path("items").forEach(chat -> session.chatIds.add(chat.path("id").asLong()));
+        }
+        System.out.printf("%d пользователей, %d вопросов, прогрев %d с, измерение %d с%n",
+                users, questionCount, warmupSeconds, durationSeconds);
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < sessions.size(); i++) {
+            Session session = sessions.get(i);
+            Random random = new Random(seed + i);
+            executor.execute(() -> drive(session, random, measureFrom, measureTo));
+        }
+        executor.shutdown();
+        executor.awaitTermination(warmupSeconds + durationSeconds + 60L, TimeUnit.SECONDS);
+
+        report(durationSeconds);
+    }
+
+    private void drive(Session session, Random random, long measureFrom, long measureTo) {
+        long now;
+        while ((now = System.nanoTime()) < measureTo) {
+            Endpoint endpoint = Endpoint.next(random);
+            HttpRequest request = endpoint.request(session, random);
+            int status;
+            try {
+                status = send(request).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (now >= measureFrom) {
+                stats.get(endpoint).record(status, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - now));
+            }
+        }
+    }
+
+    private Session login(int user) throws IOException, InterruptedException {
+        String body = OBJECT_MAPPER.writeValueAsString(Map.of(
+                "username", user + "@mail.com",
+                "password", "pass" + user,
+                "isRemember", true));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token/"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Не удалось получить токен для " + user + "@mail.com: "
+                    + response.statusCode() + " " + response.body());
+        }
+        return new Session(baseUrl, OBJECT_MAPPER.readTree(response.body()).path("token").asText());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(double seconds) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        System.out.printf("%-14s %8s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "count", "rps", "4xx", "5xx", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Map<String, Object> summary = entry.getValue().summary(seconds);
+            result.put(entry.getKey().name(), summary);
+            System.out.printf("%-14s %8s %9s %7s %7s %9s %9s %9s %9s%n", entry.getKey(),
+                    summary.get("count"), summary.get("rps"), summary.get("clientErrors"), summary.get("serverErrors"),
+                    summary.get("p50"), summary.get("p90"), summary.get("p99"), summary.get("max"));
+        }
+        File file = new File(report);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        OBJECT_MAPPER.writeValue(file, result);
+        System.out.println("Отчет: " + file.getAbsolutePath());
+    }
+
+    /**
+     * Виртуальный пользователь: токен и данные, из которых строятся запросы.
+     */
+    static class Session {
+
+        private final String baseUrl;
+        private final String token;
+        private final List<Long> chatIds = new ArrayList<>();
+        private long questionCount;
+
+        Session(String baseUrl, String token) {
+            this.baseUrl = baseUrl;
+            this.token = token;
+        }
+
+        HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        HttpRequest post(String path, String json) {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+
+        long randomQuestionId(Random random) {
+            return 1 + (long) (random.nextDouble() * questionCount);
+        }
+
+        boolean hasChats() {
+            return !chatIds.isEmpty();
+        }
+
+        long randomChatId(Random random) {
+            return chatIds.get(random.nextInt(chatIds.size()));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + token);
+        }
+    }
+}
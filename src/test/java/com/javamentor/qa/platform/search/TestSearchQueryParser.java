@@ -0,0 +1,83 @@
+package com.javamentor.qa.platform.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestSearchQueryParser {
+
+    private final SearchQueryParser parser = new SearchQueryParser();
+
+    @Test
+    public void parseAllOperators() {
+        SearchQuery query = parser.parse("spring User:Ivan title:\"lazy loading\" body:cache [Java] [SQL] \"n plus one\" jpa");
+
+        Assertions.assertEquals(List.of("spring", "jpa"), query.getWords());
+        Assertions.assertEquals(List.of("lazy", "loading"), query.getTitleWords());
+        Assertions.assertEquals(List.of("cache"), query.getBodyWords());
+        Assertions.assertEquals(List.of("java", "sql"), query.getTags());
+        Assertions.assertEquals(List.of(List.of("n", "plus", "one")), query.getPhrases());
+        Assertions.assertEquals("Ivan", query.getUser());
+        Assertions.assertTrue(query.hasText());
+    }
+
+    @Test
+    public void parseMalformedRequest() {
+        SearchQuery query = parser.parse("  [] user: \"unclosed phrase [tag");
+
+        Assertions.assertTrue(query.getWords().isEmpty());
+        Assertions.assertTrue(query.getTags().isEmpty());
+        Assertions.assertNull(query.getUser());
+        Assertions.assertEquals(List.of(List.of("unclosed", "phrase", "[tag")), query.getPhrases());
+
+        Assertions.assertFalse(parser.parse("").hasText());
+        Assertions.assertFalse(parser.parse(null).hasText());
+    }
+
+    @Test
+    public void parseConcurrently() throws Exception {
+        List<String> requests = List.of(
+                "spring [java] user:Ivan",
+                "title:hibernate body:\"second level\"",
+                "\"exact phrase\" [sql] [postgres]",
+                "docker compose");
+        List<SearchQuery> expected = new ArrayList<>();
+        requests.forEach(request -> expected.add(parser.parse(request)));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                Callable<Integer> task = () -> {
+                    start.await();
+                    int mismatches = 0;
+                    for (int i = 0; i < 20_000; i++) {
+                        int index = (i + offset) % requests.size();
+                        if (!expected.get(index).equals(parser.parse(requests.get(index)))) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                Assertions.assertEquals(0, result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.javamentor.qa.platform.security.jwt;
+
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.models.event.UserChangedEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestJwtPrincipalCache {
+
+    @Test
+    public void fullCacheEvictsLeastRecentPrincipal() {
+        JwtPrincipalCache cache = new JwtPrincipalCache(2, 60);
+        User user = new User();
+        cache.put("old@mail.com", 1L, user);
+        cache.put("new@mail.com", 1L, user);
+        Assertions.assertSame(user, cache.get("new@mail.com", 1L));
+
+        cache.put("newer@mail.com", 1L, user);
+
+        Assertions.assertNull(cache.get("old@mail.com", 1L));
+        Assertions.assertSame(user, cache.get("new@mail.com", 1L));
+        Assertions.assertSame(user, cache.get("newer@mail.com", 1L));
+    }
+
+    @Test
+    public void principalIsCachedPerTokenAndExpires() {
+        JwtPrincipalCache cache = new JwtPrincipalCache(10, 0);
+        cache.put("user@mail.com", 1L, new User());
+
+        Assertions.assertNull(cache.get("user@mail.com", 2L));
+        Assertions.assertNull(cache.get("user@mail.com", 1L));
+    }
+
+    @Test
+    public void userChangeEvictsAllTokensOfUser() {
+        JwtPrincipalCache cache = new JwtPrincipalCache(10, 60);
+        User user = new User();
+        cache.put("user@mail.com", 1L, user);
+        cache.put("user@mail.com", 2L, user);
+        cache.put("other@mail.com", 1L, user);
+
+        cache.onUserChanged(new UserChangedEvent("user@mail.com"));
+
+        Assertions.assertNull(cache.get("user@mail.com", 1L));
+        Assertions.assertNull(cache.get("user@mail.com", 2L));
+        Assertions.assertSame(user, cache.get("other@mail.com", 1L));
+    }
+}
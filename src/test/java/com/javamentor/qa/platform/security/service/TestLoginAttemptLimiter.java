@@ -0,0 +1,86 @@
+package com.javamentor.qa.platform.security.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestLoginAttemptLimiter {
+
+    @Test
+    public void blocksAccountOnIpAfterMaxFailures() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(2, 100, 60, 100);
+        Assertions.assertTrue(limiter.tryAcquire("user@mail.com", "10.0.0.1"));
+        Assertions.assertTrue(limiter.tryAcquire("USER@mail.com", "10.0.0.1"));
+        Assertions.assertFalse(limiter.tryAcquire("user@mail.com", "10.0.0.1"));
+
+        Assertions.assertTrue(limiter.tryAcquire("user@mail.com", "10.0.0.2"));
+        limiter.recordSuccess("user@mail.com", "10.0.0.2");
+
+        limiter.recordSuccess("user@mail.com", "10.0.0.1");
+        Assertions.assertTrue(limiter.tryAcquire("user@mail.com", "10.0.0.1"));
+    }
+
+    @Test
+    public void blocksIpAfterMaxFailuresAndSuccessReturnsAttempt() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(100, 2, 60, 100);
+        Assertions.assertTrue(limiter.tryAcquire("first@mail.com", "10.0.0.1"));
+        limiter.recordSuccess("first@mail.com", "10.0.0.1");
+        Assertions.assertTrue(limiter.tryAcquire("second@mail.com", "10.0.0.1"));
+        Assertions.assertTrue(limiter.tryAcquire("third@mail.com", "10.0.0.1"));
+
+        Assertions.assertFalse(limiter.tryAcquire("fourth@mail.com", "10.0.0.1"));
+        Assertions.assertTrue(limiter.tryAcquire("fourth@mail.com", "10.0.0.2"));
+    }
+
+    @Test
+    public void parallelBurstGetsOnlyMaxAttempts() throws Exception {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(5, 100, 60, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            attempts.add(() -> {
+                start.await();
+                return limiter.tryAcquire("user@mail.com", "10.0.0.1");
+            });
+        }
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Callable<Boolean> attempt : attempts) {
+                results.add(executor.submit(attempt));
+            }
+            start.countDown();
+            int acquired = 0;
+            for (Future<Boolean> result : results) {
+                acquired += result.get() ? 1 : 0;
+            }
+            Assertions.assertEquals(5, acquired);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void fullLimiterEvictsLeastRecentKeyAndTracksNewOne() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(2, 100, 60, 3);
+        limiter.tryAcquire("old@mail.com", "10.0.0.1");
+        limiter.tryAcquire("old@mail.com", "10.0.0.1");
+        limiter.tryAcquire("new@mail.com", "10.0.0.1");
+        limiter.tryAcquire("new@mail.com", "10.0.0.1");
+        Assertions.assertFalse(limiter.tryAcquire("new@mail.com", "10.0.0.1"));
+
+        limiter.tryAcquire("newer@mail.com", "10.0.0.1");
+        limiter.tryAcquire("newer@mail.com", "10.0.0.1");
+
+        Assertions.assertFalse(limiter.tryAcquire("newer@mail.com", "10.0.0.1"));
+        Assertions.assertFalse(limiter.tryAcquire("new@mail.com", "10.0.0.1"));
+        Assertions.assertTrue(limiter.tryAcquire("old@mail.com", "10.0.0.1"));
+    }
+}
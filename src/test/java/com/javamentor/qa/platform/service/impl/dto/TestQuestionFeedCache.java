@@ -0,0 +1,107 @@
+package com.javamentor.qa.platform.service.impl.dto;
+
+import com.javamentor.qa.platform.models.dto.PageDto;
+import com.javamentor.qa.platform.models.dto.QuestionViewDto;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent;
+import com.javamentor.qa.platform.models.event.QuestionFeedChangedEvent.Change;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class TestQuestionFeedCache {
+
+    private static final String BY_DATE = "paginationAllQuestionsWithTagsSortedByPersistDate";
+    private static final String BY_VOTES = "paginationAllQuestionsSortedByVoteUseful";
+    private static final String BY_VIEWS = "paginationAllQuestionsWithTagsSortedByViewCount";
+
+    private final QuestionFeedCache cache = new QuestionFeedCache(100, 60, 3);
+
+    @Test
+    public void voteResetsVoteFeedAndPagesWithTheQuestion() {
+        String byDateWithQuestion = put(BY_DATE, 1, 100L, 101L);
+        String byDateWithoutQuestion = put(BY_DATE, 2, 102L);
+        String byVotes = put(BY_VOTES, 1, 102L);
+
+        cache.onQuestionFeedChanged(new QuestionFeedChangedEvent(100L, Change.QUESTION_VOTE));
+
+        Assertions.assertNull(cache.get(byDateWithQuestion));
+        Assertions.assertNotNull(cache.get(byDateWithoutQuestion));
+        Assertions.assertNull(cache.get(byVotes));
+    }
+
+    @Test
+    public void newQuestionResetsEveryFeed() {
+        String byDate = put(BY_DATE, 1, 100L);
+        String byVotes = put(BY_VOTES, 1, 100L);
+
+        cache.onQuestionFeedChanged(new QuestionFeedChangedEvent(200L, Change.QUESTION));
+
+        Assertions.assertNull(cache.get(byDate));
+        Assertions.assertNull(cache.get(byVotes));
+    }
+
+    @Test
+    public void pageComputedDuringChangeIsNotCached() {
+        String key = cache.getKey(BY_DATE, params(1));
+        long version = cache.getVersion();
+        cache.onQuestionFeedChanged(new QuestionFeedChangedEvent(100L, Change.ANSWER));
+        cache.put(key, BY_DATE, version, page(100L));
+
+        Assertions.assertNull(cache.get(key));
+
+        cache.put(key, BY_DATE, cache.getVersion(), page(100L));
+        Assertions.assertNotNull(cache.get(key));
+    }
+
+    @Test
+    public void pageComputedDuringFeedResetIsNotCached() {
+        String key = cache.getKey(BY_VOTES, params(1));
+        long version = cache.getVersion();
+        cache.onQuestionFeedChanged(new QuestionFeedChangedEvent(300L, Change.QUESTION_VOTE));
+        cache.put(key, BY_VOTES, version, page(100L));
+
+        Assertions.assertNull(cache.get(key));
+    }
+
+    @Test
+    public void changeOfOtherQuestionDoesNotDropConcurrentPage() {
+        String key = cache.getKey(BY_DATE, params(1));
+        long version = cache.getVersion();
+        cache.onQuestionFeedChanged(new QuestionFeedChangedEvent(300L, Change.ANSWER));
+        cache.put(key, BY_DATE, version, page(100L));
+
+        Assertions.assertNotNull(cache.get(key));
+    }
+
+    @Test
+    public void viewFlushResetsOnlyFeedsSortedByViews() {
+        String byViews = put(BY_VIEWS, 1, 100L);
+        String byDate = put(BY_DATE, 1, 100L);
+
+        cache.onQuestionFeedChanged(new QuestionFeedChangedEvent(null, Change.VIEW));
+
+        Assertions.assertNull(cache.get(byViews));
+        Assertions.assertNotNull(cache.get(byDate));
+    }
+
+    private String put(String feed, int pageNumber, Long... questionIds) {
+        String key = cache.getKey(feed, params(pageNumber));
+        cache.put(key, feed, cache.getVersion(), page(questionIds));
+        return key;
+    }
+
+    private static Map<String, Object> params(int pageNumber) {
+        return Map.of("currentPageNumber", pageNumber, "itemsOnPage", 10, "userId", 1L);
+    }
+
+    private static PageDto<QuestionViewDto> page(Long... questionIds) {
+        PageDto<QuestionViewDto> page = new PageDto<>();
+        page.setItems(Arrays.stream(questionIds)
+                .map(id -> QuestionViewDto.builder().id(id).build())
+                .collect(Collectors.toList()));
+        return page;
+    }
+}
@@ -0,0 +1,35 @@
+package com.javamentor.qa.platform.service.impl.dto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+public class TestTotalResultCountCache {
+
+    private static final Set<String> COUNT_PARAMS = Set.of("filter");
+
+    @Test
+    public void keyedOnlyByCountParams() {
+        TotalResultCountCache cache = new TotalResultCountCache(60, 10);
+        cache.put("users", COUNT_PARAMS, Map.of("filter", "a", "userId", 1L, "currentPageNumber", 1), 5);
+
+        Assertions.assertEquals(5, cache.get("users", COUNT_PARAMS, Map.of("filter", "a", "userId", 2L, "currentPageNumber", 3)));
+        Assertions.assertNull(cache.get("users", COUNT_PARAMS, Map.of("filter", "b", "userId", 1L)));
+        Assertions.assertNull(cache.get("tags", COUNT_PARAMS, Map.of("filter", "a")));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        TotalResultCountCache cache = new TotalResultCountCache(60, 2);
+        cache.put("users", COUNT_PARAMS, Map.of("filter", "a"), 1);
+        cache.put("users", COUNT_PARAMS, Map.of("filter", "b"), 2);
+        cache.get("users", COUNT_PARAMS, Map.of("filter", "a"));
+        cache.put("users", COUNT_PARAMS, Map.of("filter", "c"), 3);
+
+        Assertions.assertEquals(1, cache.get("users", COUNT_PARAMS, Map.of("filter", "a")));
+        Assertions.assertNull(cache.get("users", COUNT_PARAMS, Map.of("filter", "b")));
+        Assertions.assertEquals(3, cache.get("users", COUNT_PARAMS, Map.of("filter", "c")));
+    }
+}
@@ -4,11 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.database.rider.core.api.configuration.DBUnit;
 import com.github.database.rider.junit5.api.DBRider;
 import com.javamentor.qa.platform.models.dto.AuthenticationRequest;
+import com.javamentor.qa.platform.security.jwt.JwtPrincipalCache;
 import org.junit.jupiter.api.BeforeAll;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
@@ -25,7 +25,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, classes = JmApplication.class)
 @AutoConfigureMockMvc
 @DBUnit(caseSensitiveTableNames = true, cacheConnection = false, allowEmptyFields = true)
-@TestPropertySource(properties = {"spring.config.location = src/test/resources/application.properties"})
+@TestPropertySource(properties = {"spring.config.location = src/test/resources/application.properties",
+        "question.feed-cache.max-page = 0", "security.password.bcrypt.strength = 10"})
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
 public abstract class AbstractControllerTest {
 
@@ -37,8 +38,7 @@ public abstract class AbstractControllerTest {
 
     @BeforeAll
     public static void clearCache(ApplicationContext ctx) {
-        CacheManager cacheManager = (CacheManager) ctx.getBean("cacheManager");
-        cacheManager.getCache("getUserByEmail").clear();
+        ctx.getBean(JwtPrincipalCache.class).clear();
     }
 
     private AuthenticationRequest setUserAuth(String userName, String password) {
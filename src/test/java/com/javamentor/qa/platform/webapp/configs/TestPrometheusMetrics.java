@@ -0,0 +1,67 @@
+package com.javamentor.qa.platform.webapp.configs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {"pagination.parallel-fetch = true",
+        "spring.jpa.properties.hibernate.generate_statistics = true",
+        "management.endpoints.web.exposure.include = health,prometheus"})
+public class TestPrometheusMetrics extends AbstractControllerTest {
+
+    @Test
+    @Sql(scripts = "/script/TestPrometheusMetrics/pageMetricsArePublished/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestPrometheusMetrics/pageMetricsArePublished/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void pageMetricsArePublished() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/new?page=1&items=10").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        Assertions.assertNotEquals(200, mockMvc.perform(get("/actuator/prometheus"))
+                .andReturn().getResponse().getStatus());
+        mockMvc.perform(get("/actuator/prometheus").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isForbidden());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus")
+                        .header(AUTHORIZATION, getToken("metrics@mail.com", "pass0")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String dao = "pageDtoDao=\"paginationAllQuestionsWithTagsSortedByPersistDate\"";
+        Assertions.assertTrue(metrics.contains("pagination_page_seconds_count{"), metrics);
+        Assertions.assertTrue(metrics.contains("stage=\"items\""), metrics);
+        Assertions.assertTrue(metrics.contains("stage=\"count\""), metrics);
+        Assertions.assertTrue(metrics.contains("stage=\"hydration\""), metrics);
+        Assertions.assertTrue(metrics.contains("hibernate_entities_loads_total"), metrics);
+        Assertions.assertTrue(metrics.contains("hibernate_second_level_cache_hit_ratio"), metrics);
+
+        // запросы items, count и тэгов выполнены в pageDtoExecutor, но посчитаны и для страницы, и для HTTP-запроса
+        Assertions.assertTrue(sum(metrics, "pagination_page_statements_sum", dao) >= 3, metrics);
+        Assertions.assertTrue(sum(metrics, "hibernate_request_statements_sum", "uri=\"/api/user/question/new\"") >= 3,
+                metrics);
+    }
+
+    private static double sum(String metrics, String name, String tag) {
+        Matcher matcher = Pattern.compile("^" + name + "\\{([^}]*)} (\\S+)$", Pattern.MULTILINE).matcher(metrics);
+        while (matcher.find()) {
+            if (matcher.group(1).contains(tag)) {
+                return Double.parseDouble(matcher.group(2));
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,68 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TestBoundedSendQueueSession {
+
+    @Test
+    public void slowConsumerDropsOldestFrames() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebSocketSession slowSession = session(sent, started, release);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BoundedSendQueueSession session = new BoundedSendQueueSession(slowSession, executor, 3, 10_000);
+
+            session.sendMessage(new TextMessage("frame 0"));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < 10; i++) {
+                session.sendMessage(new TextMessage("frame " + i));
+            }
+            release.countDown();
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            // frame 0 уже отправлялся, когда пришли остальные; из 9 ожидавших в очереди остались 3 последних
+            Assertions.assertEquals(List.of("frame 0", "frame 7", "frame 8", "frame 9"), sent);
+            Assertions.assertEquals(6, session.getDroppedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Сессия, которая отправляет кадры только после release.
+     */
+    private static WebSocketSession session(List<String> sent, CountDownLatch started, CountDownLatch release) {
+        return (WebSocketSession) Proxy.newProxyInstance(WebSocketSession.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendMessage":
+                            started.countDown();
+                            release.await();
+                            sent.add((String) ((WebSocketMessage<?>) args[0]).getPayload());
+                            return null;
+                        case "isOpen":
+                            return true;
+                        case "getId":
+                            return "test";
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,201 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import com.javamentor.qa.platform.dao.abstracts.model.UserDao;
+import com.javamentor.qa.platform.models.dto.MessageDto;
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.security.jwt.JwtUtil;
+import com.javamentor.qa.platform.service.impl.model.ChatMessagePushBuffer;
+import com.javamentor.qa.platform.webapp.configs.JmApplication;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.TransportConnector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Два узла приложения на одной машине, связанные через встроенный ActiveMQ (chat.broker.type=relay).
+ * Клиент подключен к узлу A, сообщение рассылается с узла B.
+ */
+public class TestChatBrokerRelayMultiNode {
+
+    private static final String SCRIPTS = "script/TestChatBrokerRelayMultiNode/messagePushedOnOneNodeReachesSubscriberOnAnother/";
+
+    private static BrokerService broker;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    public static void startNodes() throws Exception {
+        broker = new BrokerService();
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setBrokerName("chat-relay-test");
+        TransportConnector stomp = broker.addConnector("stomp://127.0.0.1:0");
+        broker.start();
+        broker.waitUntilStarted();
+        int stompPort = stomp.getConnectUri().getPort();
+
+        nodeA = startNode(stompPort);
+        nodeB = startNode(stompPort);
+        new ResourceDatabasePopulator(new ClassPathResource(SCRIPTS + "Before.sql"))
+                .execute(nodeA.getBean(DataSource.class));
+    }
+
+    @AfterAll
+    public static void stopNodes() throws Exception {
+        if (nodeA != null) {
+            new ResourceDatabasePopulator(new ClassPathResource(SCRIPTS + "After.sql"))
+                    .execute(nodeA.getBean(DataSource.class));
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (broker != null) {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @Test
+    public void messagePushedOnOneNodeReachesSubscriberOnAnother() throws Exception {
+        WebSocketStompClient client = client();
+        StompSession session = connect(client, new StompSessionHandlerAdapter() {
+        });
+        try {
+            BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+            CountDownLatch subscribed = new CountDownLatch(1);
+            session.setAutoReceipt(true);
+            session.subscribe(ChatDestinations.messages(100L), new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return String.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    frames.add((String) payload);
+                }
+            }).addReceiptTask(subscribed::countDown);
+            Assertions.assertTrue(subscribed.await(10, TimeUnit.SECONDS));
+
+            nodeB.getBean(ChatMessagePushBuffer.class).add(100L,
+                    new MessageDto(1L, "hello from node B", null, 100L, null, LocalDateTime.now()));
+
+            String frame = frames.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(frame);
+            Assertions.assertTrue(frame.contains("hello from node B"));
+
+            // узел B узнает о пользователе узла A из рассылки реестра через брокер
+            SimpUserRegistry registryB = nodeB.getBean(SimpUserRegistry.class);
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(20);
+            while (registryB.getUser("0@mail.com") == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(200);
+            }
+            Assertions.assertNotNull(registryB.getUser("0@mail.com"));
+        } finally {
+            session.disconnect();
+            client.stop();
+        }
+    }
+
+    /**
+     * Шаблоны внешнего брокера (ActiveMQ: *, >; RabbitMQ: #) отклоняются на узле, кадры чата по ним не приходят.
+     */
+    @Test
+    public void wildcardSubscriptionIsRejected() throws Exception {
+        for (String destination : List.of("/topic/chat.*.messages", "/topic/>", "/topic/#")) {
+            BlockingQueue<String> errors = new LinkedBlockingQueue<>();
+            WebSocketStompClient client = client();
+            StompSession session = connect(client, new StompSessionHandlerAdapter() {
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    errors.add(String.valueOf(headers.getFirst("message")));
+                }
+            });
+            try {
+                BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+                session.subscribe(destination, new StompFrameHandler() {
+                    @Override
+                    public Type getPayloadType(StompHeaders headers) {
+                        return String.class;
+                    }
+
+                    @Override
+                    public void handleFrame(StompHeaders headers, Object payload) {
+                        frames.add((String) payload);
+                    }
+                });
+                Assertions.assertNotNull(errors.poll(10, TimeUnit.SECONDS), destination);
+
+                nodeB.getBean(ChatMessagePushBuffer.class).add(100L,
+                        new MessageDto(2L, "not for wildcards", null, 100L, null, LocalDateTime.now()));
+                Assertions.assertNull(frames.poll(3, TimeUnit.SECONDS), destination);
+            } finally {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+                client.stop();
+            }
+        }
+    }
+
+    private static WebSocketStompClient client() {
+        WebSocketStompClient client = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        client.setMessageConverter(new StringMessageConverter());
+        return client;
+    }
+
+    private static StompSession connect(WebSocketStompClient client, StompSessionHandlerAdapter handler)
+            throws Exception {
+        User user = nodeA.getBean(UserDao.class).getUserByEmail("0@mail.com").orElseThrow();
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add(AUTHORIZATION, "Bearer " + nodeA.getBean(JwtUtil.class).generateAccessToken(user));
+        return client.connect("ws://127.0.0.1:{port}/chat-messaging", new WebSocketHttpHeaders(),
+                connectHeaders, handler, port(nodeA)).get(10, TimeUnit.SECONDS);
+    }
+
+    private static ConfigurableApplicationContext startNode(int stompPort) {
+        return new SpringApplicationBuilder(JmApplication.class)
+                .properties("spring.config.location = src/test/resources/application.properties",
+                        "security.password.bcrypt.strength = 10",
+                        "server.port = 0",
+                        "chat.broker.type = relay",
+                        "chat.broker.relay.host = 127.0.0.1",
+                        "chat.broker.relay.port = " + stompPort)
+                .run();
+    }
+
+    private static int port(ConfigurableApplicationContext node) {
+        return ((WebServerApplicationContext) node).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,85 @@
+package com.javamentor.qa.platform.webapp.configs.websocket;
+
+import com.javamentor.qa.platform.models.entity.user.User;
+import com.javamentor.qa.platform.security.jwt.JwtUtil;
+import com.javamentor.qa.platform.service.abstracts.model.ChatService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+
+public class TestChatSubscriptionInterceptor {
+
+    private final ChatSubscriptionInterceptor interceptor = new ChatSubscriptionInterceptor(new JwtUtil(null, null),
+            (ChatService) Proxy.newProxyInstance(ChatService.class.getClassLoader(), new Class<?>[]{ChatService.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("isChatHasUser")) {
+                            return false;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }));
+
+    @Test
+    public void subscribeToChatOfOtherUsersIsDenied() {
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, ChatDestinations.messages(1L)), null));
+    }
+
+    @Test
+    public void subscribeToInternalBrokerTopicsIsDenied() {
+        Assertions.assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SUBSCRIBE, ChatDestinations.USER_REGISTRY_BROADCAST), null));
+        Assertions.assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SUBSCRIBE, ChatDestinations.USER_DESTINATION_BROADCAST), null));
+        Assertions.assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SEND, ChatDestinations.USER_REGISTRY_BROADCAST), null));
+    }
+
+    @Test
+    public void wildcardSubscriptionsAreDenied() {
+        for (String destination : List.of("/topic/**", "/topic/*", "/topic/chat.*.messages", "/topic/chat.#",
+                "/topic/>", "/topic/chat.{id}.messages", "/topic/chat.1?.messages")) {
+            Assertions.assertThrows(AccessDeniedException.class,
+                    () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, destination), null), destination);
+        }
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/other"), null));
+    }
+
+    @Test
+    public void subscribeToGlobalChatIsAllowed() {
+        Message<byte[]> message = frame(StompCommand.SUBSCRIBE, ChatDestinations.GLOBAL_MESSAGES);
+        Assertions.assertSame(message, interceptor.preSend(message, null));
+    }
+
+    @Test
+    public void sendToTopicIsDenied() {
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(frame(StompCommand.SEND, ChatDestinations.messages(1L)), null));
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(frame(StompCommand.SEND, null), null));
+    }
+
+    @Test
+    public void sendToAppIsAllowed() {
+        Message<byte[]> message = frame(StompCommand.SEND, ChatDestinations.APP_PREFIX + "/chat.1.messages");
+        Assertions.assertSame(message, interceptor.preSend(message, null));
+    }
+
+    private Message<byte[]> frame(StompCommand command, String destination) {
+        User user = new User();
+        user.setId(100L);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,34 @@
+package com.javamentor.qa.platform.webapp.controllers;
+
+import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TestAdminResourceController extends AbstractControllerTest {
+
+    @Test
+    @Sql(scripts = "/script/TestAdminResourceController/deleteUserRevokesAuthentication/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestAdminResourceController/deleteUserRevokesAuthentication/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void deleteUserRevokesAuthentication() throws Exception {
+        String userToken = getToken("0@mail.com", "pass0");
+        String adminToken = getToken("1@mail.com", "pass0");
+
+        mockMvc.perform(get("/api/user/question/count").header(AUTHORIZATION, userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/admin/delete/100").header(AUTHORIZATION, adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/user/question/count").header(AUTHORIZATION, userToken))
+                .andExpect(status().isUnauthorized());
+    }
+}
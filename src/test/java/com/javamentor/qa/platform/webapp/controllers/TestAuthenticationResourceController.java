@@ -0,0 +1,57 @@
+package com.javamentor.qa.platform.webapp.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javamentor.qa.platform.models.dto.AuthenticationRequest;
+import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {"security.password.bcrypt.strength = 11"})
+public class TestAuthenticationResourceController extends AbstractControllerTest {
+
+    @Test
+    @Sql(scripts = "/script/TestAuthenticationResourceController/loginRehashesWeakerPasswordHash/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestAuthenticationResourceController/loginRehashesWeakerPasswordHash/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void loginRehashesWeakerPasswordHash() throws Exception {
+        login("0@mail.com", "pass0").andExpect(status().isOk());
+
+        String password = (String) entityManager
+                .createNativeQuery("SELECT password FROM user_entity WHERE id = 100")
+                .getSingleResult();
+        Assertions.assertTrue(password.startsWith("$2a$11$"));
+
+        login("0@mail.com", "pass0").andExpect(status().isOk());
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestAuthenticationResourceController/loginAttemptsAreLimited/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestAuthenticationResourceController/loginAttemptsAreLimited/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void loginAttemptsAreLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            login("1@mail.com", "wrong").andExpect(status().isBadRequest());
+        }
+        login("1@mail.com", "pass0").andExpect(status().isTooManyRequests());
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return mockMvc.perform(post("/api/auth/token/")
+                .content(new ObjectMapper().writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+}
@@ -106,4 +106,40 @@ public class TestMessageResourceController extends AbstractControllerTest {
                 .andExpect(jsonPath("$.items[0].userId", Is.is(100)))
                 .andExpect(jsonPath("$.itemsOnPage", Is.is(50)));
     }
+
+    @Test
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+            scripts = {"/script/TestMessageResourceController/findMessagesInGlobalChatByShortAndFuzzyText/Before.sql"})
+    @Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+            scripts = {"/script/TestMessageResourceController/findMessagesInGlobalChatByShortAndFuzzyText/After.sql"})
+    public void findMessagesInGlobalChatByShortAndFuzzyText() throws Exception {
+
+        String userToken = getToken("0@mail.com", "pass0");
+
+        mockMvc.perform(get("/api/user/message/global/find?text=SPRING&currentPage=1&items=10")
+                        .header(AUTHORIZATION, userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)));
+
+        mockMvc.perform(get("/api/user/message/global/find?text=transacton&currentPage=1&items=10")
+                        .header(AUTHORIZATION, userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)));
+
+        mockMvc.perform(get("/api/user/message/global/find?text=ok&currentPage=1&items=10")
+                        .header(AUTHORIZATION, userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)));
+
+        mockMvc.perform(get("/api/user/message/global/find?text=O&currentPage=1&items=2")
+                        .header(AUTHORIZATION, userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(102)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(101)));
+    }
 }
@@ -1,8 +1,16 @@
 package com.javamentor.qa.platform.webapp.controllers;
 
+import com.javamentor.qa.platform.service.abstracts.model.QuestionViewedService;
 import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import com.jayway.jsonpath.JsonPath;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.IsNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 
 import javax.persistence.Query;
@@ -10,11 +18,20 @@ import java.math.BigInteger;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class TestQuestionResourceController extends AbstractControllerTest {
 
+    @Autowired
+    private QuestionViewedService questionViewedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @Sql(scripts = "/script/TestQuestionResourceController/addQuestionToBookmarks/Before.sql",
             executionPhase = BEFORE_TEST_METHOD)
@@ -70,4 +87,291 @@ public class TestQuestionResourceController extends AbstractControllerTest {
         Assertions.assertEquals(count.intValue(), 1);
     }
 
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsSortedByPersistDateWithCursor/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsSortedByPersistDateWithCursor/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionsSortedByPersistDateWithCursor() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        String firstPage = mockMvc.perform(get("/api/user/question/new?cursor=&items=2").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(102)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(101)))
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(get("/api/user/question/new?items=2&cursor=" + nextCursor).header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/user/question/new?items=2").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsSortedByPersistDateWithoutCount/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsSortedByPersistDateWithoutCount/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionsSortedByPersistDateWithoutCount() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/new?page=1&items=2&count=NONE").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.hasNext", Is.is(true)))
+                .andExpect(jsonPath("$.totalResultCount", Is.is(-1)));
+
+        mockMvc.perform(get("/api/user/question/new?page=2&items=2&count=NONE").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)))
+                .andExpect(jsonPath("$.hasNext", Is.is(false)));
+
+        mockMvc.perform(get("/api/user/question/new?page=1&items=2&count=EXACT").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andExpect(jsonPath("$.hasNext", Is.is(true)));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsWithTrackedAndIgnoredTags/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsWithTrackedAndIgnoredTags/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionsWithTrackedAndIgnoredTags() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question?page=1&items=10&trackedTag=100,102&ignoredTag=101")
+                        .header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(2)))
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(103)))
+                .andExpect(jsonPath("$.items[1].listTagDto.length()", Is.is(2)));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsWithBookmarkFlag/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionsWithBookmarkFlag/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionsWithBookmarkFlag() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/new?page=1&items=10").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)))
+                .andExpect(jsonPath("$.items[0].isUserBookMarks", Is.is(true)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(100)))
+                .andExpect(jsonPath("$.items[0].isUserAnswer", Is.is(false)))
+                .andExpect(jsonPath("$.items[1].isUserBookMarks", Is.is(false)))
+                .andExpect(jsonPath("$.items[1].isUserVote", Is.is("UP_VOTE")))
+                .andExpect(jsonPath("$.items[1].isUserAnswer", Is.is(true)));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionByIdWithUserFlags/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/getQuestionByIdWithUserFlags/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionByIdWithUserFlags() throws Exception {
+        String voterToken = getToken("1@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/100").header(AUTHORIZATION, voterToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", Is.is(100)))
+                .andExpect(jsonPath("$.authorId", Is.is(100)))
+                .andExpect(jsonPath("$.listTagDto.length()", Is.is(2)))
+                .andExpect(jsonPath("$.listTagDto[*].name", Matchers.containsInAnyOrder("java", "spring")))
+                .andExpect(jsonPath("$.countValuable", Is.is(2)))
+                .andExpect(jsonPath("$.countAnswer", Is.is(2)))
+                .andExpect(jsonPath("$.listAnswerDto.length()", Is.is(2)))
+                .andExpect(jsonPath("$.listAnswerDto[0].id", Is.is(102)))
+                .andExpect(jsonPath("$.listAnswerDto[0].isHelpful", Is.is(true)))
+                .andExpect(jsonPath("$.listAnswerDto[1].id", Is.is(100)))
+                .andExpect(jsonPath("$.listAnswerDto[1].countValuable", Is.is(1)))
+                .andExpect(jsonPath("$.isUserVote", Is.is("UP_VOTE")))
+                .andExpect(jsonPath("$.isUserBookmark", Is.is(true)))
+                .andExpect(jsonPath("$.isUserAnswerVote", Is.is(true)));
+
+        String authorToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/100").header(AUTHORIZATION, authorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countValuable", Is.is(2)))
+                .andExpect(jsonPath("$.isUserVote", IsNull.nullValue()))
+                .andExpect(jsonPath("$.isUserBookmark", Is.is(false)))
+                .andExpect(jsonPath("$.isUserAnswerVote", Is.is(false)));
+
+        mockMvc.perform(get("/api/user/question/101").header(AUTHORIZATION, voterToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.listTagDto.length()", Is.is(1)))
+                .andExpect(jsonPath("$.listTagDto[0].name", Is.is("sql")))
+                .andExpect(jsonPath("$.countValuable", Is.is(-1)))
+                .andExpect(jsonPath("$.countAnswer", Is.is(1)))
+                .andExpect(jsonPath("$.isUserVote", Is.is("DOWN_VOTE")))
+                .andExpect(jsonPath("$.isUserBookmark", Is.is(false)))
+                .andExpect(jsonPath("$.isUserAnswerVote", Is.is(false)));
+
+        mockMvc.perform(get("/api/user/question/102").header(AUTHORIZATION, voterToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/insertQuestionViewedThroughBuffer/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/insertQuestionViewedThroughBuffer/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void insertQuestionViewedThroughBuffer() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(post("/api/user/question/100/view").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/100/view").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/user/question/101/view").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isNotFound());
+
+        questionViewedService.flushViews();
+        BigInteger count = (BigInteger) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM question_viewed WHERE question_id = 100 AND user_id = 100")
+                .getSingleResult();
+        Assertions.assertEquals(1, count.intValue());
+
+        mockMvc.perform(post("/api/user/question/100/view").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/flushViewsSkipsRecordedAndDeleted/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/flushViewsSkipsRecordedAndDeleted/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void flushViewsSkipsRecordedAndDeleted() throws Exception {
+        String firstUserToken = getToken("0@mail.com", "pass0");
+        String secondUserToken = getToken("1@mail.com", "pass0");
+        mockMvc.perform(post("/api/user/question/100/view").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/101/view").header(AUTHORIZATION, secondUserToken))
+                .andExpect(status().isOk());
+
+        jdbcTemplate.update("DELETE FROM question_stats WHERE question_id = 100");
+        jdbcTemplate.update("DELETE FROM question WHERE id = 100");
+        jdbcTemplate.update("INSERT INTO question_viewed (id, persist_date, question_id, user_id) VALUES (100, now(), 101, 101)");
+        jdbcTemplate.update("UPDATE question_stats SET view_count = 1 WHERE question_id = 101");
+
+        questionViewedService.flushViews();
+        Assertions.assertEquals(0, countViews(100));
+        Assertions.assertEquals(1, countViews(101));
+        Assertions.assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT view_count FROM question_stats WHERE question_id = 101", Long.class));
+
+        mockMvc.perform(post("/api/user/question/101/view").header(AUTHORIZATION, secondUserToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/user/question/101/view").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk());
+        questionViewedService.flushViews();
+        Assertions.assertEquals(2, countViews(101));
+        Assertions.assertEquals(2L, jdbcTemplate.queryForObject(
+                "SELECT view_count FROM question_stats WHERE question_id = 101", Long.class));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/createdQuestionHasStats/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/createdQuestionHasStats/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void createdQuestionHasStats() throws Exception {
+        String token = getToken("0@mail.com", "pass0");
+        Integer questionId = JsonPath.read(mockMvc.perform(post("/api/user/question/")
+                        .header(AUTHORIZATION, token)
+                        .content("{\"title\": \"new\", \"description\": \"new\", \"tags\": [{\"name\": \"stats\"}]}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        assertStats(questionId, 0, 0, 0, 0, 0);
+        mockMvc.perform(get("/api/user/question/viewed?page=1&items=10").header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andExpect(jsonPath("$.items[*].id", Matchers.hasItem(questionId)));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceController/questionStatsFollowApiWrites/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceController/questionStatsFollowApiWrites/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void questionStatsFollowApiWrites() throws Exception {
+        String firstUserToken = getToken("0@mail.com", "pass0");
+        String secondUserToken = getToken("1@mail.com", "pass0");
+
+        Integer deletedAnswerId = JsonPath.read(addAnswer(100, firstUserToken), "$.id");
+        addAnswer(100, secondUserToken);
+        addAnswer(101, secondUserToken);
+        mockMvc.perform(delete("/api/user/question/100/answer/" + deletedAnswerId).header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/user/question/100/answer/" + deletedAnswerId).header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/user/question/100/upVote").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/100/upVote").header(AUTHORIZATION, secondUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/101/downVote").header(AUTHORIZATION, secondUserToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/user/question/101/view").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/101/view").header(AUTHORIZATION, secondUserToken))
+                .andExpect(status().isOk());
+        questionViewedService.flushViews();
+
+        assertStats(100, 2, 0, 2, 1, 0);
+        assertStats(101, 0, 1, -1, 1, 2);
+
+        mockMvc.perform(get("/api/user/question/vote?page=1&items=10").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)))
+                .andExpect(jsonPath("$.items[0].countValuable", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].countAnswer", Is.is(1)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(101)))
+                .andExpect(jsonPath("$.items[1].countValuable", Is.is(-1)));
+        mockMvc.perform(get("/api/user/question/viewed?page=1&items=10").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)))
+                .andExpect(jsonPath("$.items[0].viewCount", Is.is(2)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(100)));
+        mockMvc.perform(get("/api/user/question/sortedQuestions?page=1&items=10").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(101)));
+    }
+
+    private int countViews(long questionId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM question_viewed WHERE question_id = ?",
+                Integer.class, questionId);
+    }
+
+    private String addAnswer(long questionId, String token) throws Exception {
+        return mockMvc.perform(post("/api/user/question/" + questionId + "/answer/add")
+                        .header(AUTHORIZATION, token)
+                        .content("{\"body\": \"test\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private void assertStats(long questionId, long upVotes, long downVotes, long votes, long answers, long views) {
+        Object[] stats = (Object[]) entityManager.createNativeQuery(
+                        "SELECT up_votes, down_votes, votes, answer_count, view_count FROM question_stats WHERE question_id = :id")
+                .setParameter("id", questionId)
+                .getSingleResult();
+        Assertions.assertArrayEquals(new long[]{upVotes, downVotes, votes, answers, views},
+                new long[]{((BigInteger) stats[0]).longValue(), ((BigInteger) stats[1]).longValue(),
+                        ((BigInteger) stats[2]).longValue(), ((BigInteger) stats[3]).longValue(),
+                        ((BigInteger) stats[4]).longValue()});
+    }
 }
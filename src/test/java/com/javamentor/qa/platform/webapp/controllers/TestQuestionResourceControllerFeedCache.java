@@ -0,0 +1,74 @@
+package com.javamentor.qa.platform.webapp.controllers;
+
+import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "question.feed-cache.max-page = 3")
+public class TestQuestionResourceControllerFeedCache extends AbstractControllerTest {
+
+    private static final String FEED = "paginationAllQuestionsSortedByVoteUseful";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceControllerFeedCache/feedCacheIsInvalidatedByVotesAndAnswers/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceControllerFeedCache/feedCacheIsInvalidatedByVotesAndAnswers/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void feedCacheIsInvalidatedByVotesAndAnswers() throws Exception {
+        String firstUserToken = getToken("0@mail.com", "pass0");
+        String secondUserToken = getToken("1@mail.com", "pass0");
+        long computed = computedPages();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/user/question/vote?page=1&items=10").header(AUTHORIZATION, firstUserToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                    .andExpect(jsonPath("$.items[0].countValuable", Is.is(0)));
+        }
+        Assertions.assertEquals(computed + 1, computedPages());
+
+        mockMvc.perform(post("/api/user/question/100/upVote").header(AUTHORIZATION, secondUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/question/vote?page=1&items=10").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)))
+                .andExpect(jsonPath("$.items[0].countValuable", Is.is(1)))
+                .andExpect(jsonPath("$.items[1].countAnswer", Is.is(0)));
+        Assertions.assertEquals(computed + 2, computedPages());
+
+        mockMvc.perform(post("/api/user/question/101/answer/add")
+                        .header(AUTHORIZATION, secondUserToken)
+                        .content("{\"body\": \"test\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/question/vote?page=1&items=10").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].countValuable", Is.is(1)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(101)))
+                .andExpect(jsonPath("$.items[1].countAnswer", Is.is(1)));
+        Assertions.assertEquals(computed + 3, computedPages());
+    }
+
+    private long computedPages() {
+        Timer timer = meterRegistry.find("pagination.page").tag("pageDtoDao", FEED).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,97 @@
+package com.javamentor.qa.platform.webapp.controllers;
+
+import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {"pagination.parallel-fetch = true", "question.detail.parallel-fetch = true"})
+public class TestQuestionResourceControllerParallelFetch extends AbstractControllerTest {
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceControllerParallelFetch/getQuestionsSortedByPersistDateInParallel/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceControllerParallelFetch/getQuestionsSortedByPersistDateInParallel/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionsSortedByPersistDateInParallel() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/new?page=1&items=10").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(2)))
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)))
+                .andExpect(jsonPath("$.items[0].listTagDto[0].name", Is.is("java")))
+                .andExpect(jsonPath("$.items[1].listTagDto[0].name", Is.is("java")));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceControllerParallelFetch/getQuestionPagesWithCountInParallel/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceControllerParallelFetch/getQuestionPagesWithCountInParallel/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionPagesWithCountInParallel() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/new?page=1&items=2").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andExpect(jsonPath("$.totalPageCount", Is.is(2)))
+                .andExpect(jsonPath("$.hasNext", Is.is(true)))
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(102)))
+                .andExpect(jsonPath("$.items[1].id", Is.is(101)))
+                .andExpect(jsonPath("$.items[1].listTagDto.length()", Is.is(2)));
+
+        mockMvc.perform(get("/api/user/question/new?page=2&items=2").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andExpect(jsonPath("$.hasNext", Is.is(false)))
+                .andExpect(jsonPath("$.items.length()", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)));
+
+        mockMvc.perform(get("/api/user/question/new?page=1&items=10&trackedTag=101").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items.length()", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)));
+
+        mockMvc.perform(get("/api/user/question/new?page=2&items=2&count=NONE").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(-1)))
+                .andExpect(jsonPath("$.hasNext", Is.is(false)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)));
+
+        mockMvc.perform(get("/api/user/question/new?cursor=&items=2").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.nextCursor").exists());
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestQuestionResourceControllerParallelFetch/getQuestionByIdInParallel/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestQuestionResourceControllerParallelFetch/getQuestionByIdInParallel/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getQuestionByIdInParallel() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+        mockMvc.perform(get("/api/user/question/100").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", Is.is(100)))
+                .andExpect(jsonPath("$.isUserAnswerVote", Is.is(true)))
+                .andExpect(jsonPath("$.listTagDto[0].name", Is.is("java")))
+                .andExpect(jsonPath("$.listCommentDto[0].comment", Is.is("question comment")))
+                .andExpect(jsonPath("$.listAnswerDto.length()", Is.is(1)))
+                .andExpect(jsonPath("$.listAnswerDto[0].listOfComeentsDto[0].comment", Is.is("answer comment")));
+
+        mockMvc.perform(get("/api/user/question/101").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,49 @@
+package com.javamentor.qa.platform.webapp.controllers;
+
+import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.StringContains;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TestSearchQuestionResourceController extends AbstractControllerTest {
+
+    @Test
+    @Sql(scripts = "/script/TestSearchQuestionResourceController/searchQuestionsRankedByRelevance/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestSearchQuestionResourceController/searchQuestionsRankedByRelevance/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void searchQuestionsRankedByRelevance() throws Exception {
+        String authUserToken = getToken("0@mail.com", "pass0");
+
+        mockMvc.perform(get("/api/search?request=spri&page=1").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)))
+                .andExpect(jsonPath("$.items[0].titleHighlight", StringContains.containsString("<b>Spring</b>")))
+                .andExpect(jsonPath("$.items[1].id", Is.is(100)));
+
+        mockMvc.perform(get("/api/search?request=Title:spring&page=1").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)));
+
+        mockMvc.perform(get("/api/search").param("request", "\"does propagation\"").param("page", "1")
+                        .header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(101)));
+
+        mockMvc.perform(get("/api/search?request=User:Iv&page=1").header(AUTHORIZATION, authUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(3)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)));
+    }
+}
@@ -1,6 +1,78 @@
 package com.javamentor.qa.platform.webapp.controllers;
 
+import com.javamentor.qa.platform.service.abstracts.model.ReputationService;
 import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import org.hamcrest.core.Is;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigInteger;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class TestUserResourceController extends AbstractControllerTest {
+
+    @Autowired
+    private ReputationService reputationService;
+
+    @Test
+    @Sql(scripts = "/script/TestUserResourceController/userReputationFollowsVotes/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestUserResourceController/userReputationFollowsVotes/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void userReputationFollowsVotes() throws Exception {
+        String firstUserToken = getToken("0@mail.com", "pass0");
+        String secondUserToken = getToken("1@mail.com", "pass0");
+        String thirdUserToken = getToken("2@mail.com", "pass0");
+
+        mockMvc.perform(post("/api/user/question/100/upVote").header(AUTHORIZATION, secondUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/100/downVote").header(AUTHORIZATION, thirdUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/100/answer/100/upVote").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/100/answer/100/upVote").header(AUTHORIZATION, thirdUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/question/100/answer/100/upVote").header(AUTHORIZATION, thirdUserToken))
+                .andExpect(status().isBadRequest());
+
+        BigInteger drifted = (BigInteger) entityManager.createNativeQuery(
+                        "SELECT count(*) FROM user_entity u " +
+                                "LEFT JOIN user_reputation ur ON ur.user_id = u.id " +
+                                "WHERE coalesce(ur.count, 0) <> " +
+                                "(SELECT coalesce(sum(r.count), 0) FROM reputation r WHERE r.author_id = u.id)")
+                .getSingleResult();
+        Assertions.assertEquals(0, drifted.intValue());
+        Assertions.assertEquals(0, reputationService.rebuildUserReputation());
+
+        mockMvc.perform(get("/api/user/100").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reputation", Is.is(10)));
+        mockMvc.perform(get("/api/user/101").header(AUTHORIZATION, firstUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reputation", Is.is(20)));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestUserResourceController/getBookmarksWithQuestionCounts/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestUserResourceController/getBookmarksWithQuestionCounts/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void getBookmarksWithQuestionCounts() throws Exception {
+        mockMvc.perform(get("/api/user/profile/bookmarks").header(AUTHORIZATION, getToken("0@mail.com", "pass0")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", Is.is(1)))
+                .andExpect(jsonPath("$[0].questionId", Is.is(101)))
+                .andExpect(jsonPath("$[0].countAnswer", Is.is(1)))
+                .andExpect(jsonPath("$[0].countVote", Is.is(1)))
+                .andExpect(jsonPath("$[0].countView", Is.is(1)));
+    }
 }
@@ -1,8 +1,12 @@
 package com.javamentor.qa.platform.webapp.controllers.rest;
 
+import com.javamentor.qa.platform.service.abstracts.model.MessageService;
 import com.javamentor.qa.platform.webapp.configs.AbstractControllerTest;
+import org.hamcrest.core.Is;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.math.BigInteger;
@@ -10,11 +14,16 @@ import java.math.BigInteger;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class TestChatResourceController extends AbstractControllerTest {
 
+    @Autowired
+    private MessageService messageService;
+
     @Test
     @Sql(scripts = "/script/TestChatResourceController/joinGroupChat/Before.sql",
             executionPhase = BEFORE_TEST_METHOD)
@@ -80,4 +89,158 @@ public class TestChatResourceController extends AbstractControllerTest {
                         .getSingleResult()
         );
     }
+
+    @Test
+    @Sql(scripts = "/script/TestChatResourceController/searchByChatMessage/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestChatResourceController/searchByChatMessage/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void searchByChatMessage() throws Exception {
+        String token = super.getToken("0@mail.com", "pass0");
+
+        mockMvc.perform(get("/api/user/chat/100/message/find?page=1&word=SPRING")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)));
+
+        mockMvc.perform(get("/api/user/chat/100/message/find?page=1&word=transacton")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].id", Is.is(100)));
+
+        mockMvc.perform(get("/api/user/chat/101/message/find?page=1&word=transaction")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(0)));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestChatResourceController/singleChatsOrderedByLastMessage/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestChatResourceController/singleChatsOrderedByLastMessage/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void singleChatsOrderedByLastMessage() throws Exception {
+        String token = super.getToken("0@mail.com", "pass0");
+
+        mockMvc.perform(post("/api/user/chat/single")
+                        .header(AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userRecipientId\": 102, \"message\": \"Newest message\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/user/chat/single?page=1&items=10")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(2)))
+                .andExpect(jsonPath("$.items[0].name", Is.is("user2")))
+                .andExpect(jsonPath("$.items[0].lastMessage", Is.is("Newest message")))
+                .andExpect(jsonPath("$.items[1].id", Is.is(100)))
+                .andExpect(jsonPath("$.items[1].lastMessage", Is.is("Old message")));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestChatResourceController/singleChatLastMessageRecomputedAfterDelete/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestChatResourceController/singleChatLastMessageRecomputedAfterDelete/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void singleChatLastMessageRecomputedAfterDelete() throws Exception {
+        String token = super.getToken("0@mail.com", "pass0");
+
+        messageService.deleteById(101L);
+        mockMvc.perform(get("/api/user/chat/single?page=1&items=10")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(1)))
+                .andExpect(jsonPath("$.items[0].lastMessage", Is.is("First message")));
+
+        messageService.deleteById(100L);
+        mockMvc.perform(get("/api/user/chat/single?page=1&items=10")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", Is.is(0)));
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestChatResourceController/inboxCountsUnreadMessages/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestChatResourceController/inboxCountsUnreadMessages/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void inboxCountsUnreadMessages() throws Exception {
+        String token = super.getToken("0@mail.com", "pass0");
+
+        // чат 101 удален пользователем и не учитывается ни в списке, ни в счетчиках
+        mockMvc.perform(get("/api/user/chat/single?page=1&items=10")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResultCount", Is.is(1)));
+
+        mockMvc.perform(get("/api/user/chat/inbox")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chatCount", Is.is(2)))
+                .andExpect(jsonPath("$.unreadChatCount", Is.is(2)))
+                .andExpect(jsonPath("$.unreadMessageCount", Is.is(3)))
+                .andExpect(jsonPath("$.unreadMessageCountLimited", Is.is(false)));
+
+        // клиент видел только первое сообщение чата 100
+        mockMvc.perform(post("/api/user/chat/100/read?messageId=100")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/chat/100/read?messageId=104")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/user/chat/inbox")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadChatCount", Is.is(2)))
+                .andExpect(jsonPath("$.unreadMessageCount", Is.is(2)));
+
+        mockMvc.perform(post("/api/user/chat/100/read")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/user/chat/inbox")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chatCount", Is.is(2)))
+                .andExpect(jsonPath("$.unreadChatCount", Is.is(1)))
+                .andExpect(jsonPath("$.unreadMessageCount", Is.is(1)));
+
+        mockMvc.perform(post("/api/user/chat/101/read")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/chat/999/read")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql(scripts = "/script/TestChatResourceController/inboxLimitsUnreadMessagesPerChat/Before.sql",
+            executionPhase = BEFORE_TEST_METHOD)
+    @Sql(scripts = "/script/TestChatResourceController/inboxLimitsUnreadMessagesPerChat/After.sql",
+            executionPhase = AFTER_TEST_METHOD)
+    public void inboxLimitsUnreadMessagesPerChat() throws Exception {
+        String token = super.getToken("0@mail.com", "pass0");
+
+        mockMvc.perform(get("/api/user/chat/inbox")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadChatCount", Is.is(2)))
+                .andExpect(jsonPath("$.unreadMessageCount", Is.is(102)))
+                .andExpect(jsonPath("$.unreadMessageCountLimited", Is.is(true)));
+
+        mockMvc.perform(post("/api/user/chat/100/read")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/user/chat/inbox")
+                        .header(AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadChatCount", Is.is(1)))
+                .andExpect(jsonPath("$.unreadMessageCount", Is.is(2)))
+                .andExpect(jsonPath("$.unreadMessageCountLimited", Is.is(false)));
+    }
 }
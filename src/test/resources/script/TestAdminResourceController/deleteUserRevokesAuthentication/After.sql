@@ -0,0 +1 @@
+TRUNCATE TABLE role CASCADE;
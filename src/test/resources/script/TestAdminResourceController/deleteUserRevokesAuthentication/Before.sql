@@ -0,0 +1,11 @@
+TRUNCATE TABLE role CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+INSERT INTO role (id, name)
+VALUES (101, 'ROLE_ADMIN');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 101);
@@ -0,0 +1,15 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE chat CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100),
+       (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO chat (id)
+VALUES (100);
+
+INSERT INTO single_chat (chat_id, user_one_id, use_two_id)
+VALUES (100, 100, 101);
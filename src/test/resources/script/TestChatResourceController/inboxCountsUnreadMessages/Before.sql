@@ -0,0 +1,35 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE chat CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100),
+       (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100),
+       (102, '2@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO chat (id, chat_type)
+VALUES (100, 0), (101, 0), (102, 1);
+
+INSERT INTO single_chat (chat_id, user_one_id, use_two_id, is_delete_one, is_delete_two)
+VALUES (100, 100, 101, false, false),
+       (101, 100, 102, true, false);
+
+INSERT INTO group_chat (chat_id, title, is_global)
+VALUES (102, 'Group', false);
+
+INSERT INTO groupchat_has_users (chat_id, user_id)
+VALUES (102, 100), (102, 101);
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+VALUES (100, now(), now() - interval '3 minute', 'Hi', 100, 101),
+       (101, now(), now() - interval '2 minute', 'Hello', 100, 100),
+       (102, now(), now() - interval '1 minute', 'How are you?', 100, 101),
+       (103, now(), now() - interval '1 minute', 'Deleted chat message', 101, 102),
+       (104, now(), now() - interval '1 minute', 'Group message', 102, 101);
+
+UPDATE chat c
+SET last_message_id = m.id, last_message_at = m.persist_date, last_message_preview = m.message
+FROM message m
+WHERE m.id IN (102, 103, 104) AND m.chat_id = c.id;
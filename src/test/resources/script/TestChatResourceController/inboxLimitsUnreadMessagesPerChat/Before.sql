@@ -0,0 +1,34 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE chat CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100),
+       (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO chat (id, chat_type)
+VALUES (100, 1), (101, 0);
+
+INSERT INTO group_chat (chat_id, title, is_global)
+VALUES (100, 'Global', true);
+
+INSERT INTO groupchat_has_users (chat_id, user_id)
+VALUES (100, 100), (100, 101);
+
+INSERT INTO single_chat (chat_id, user_one_id, use_two_id, is_delete_one, is_delete_two)
+VALUES (101, 100, 101, false, false);
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+SELECT n, now(), now() - (300 - n) * interval '1 second', 'Global message ' || n, 100, 101
+FROM generate_series(100, 249) n;
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+VALUES (250, now(), now() - interval '2 minute', 'Hi', 101, 101),
+       (251, now(), now() - interval '1 minute', 'Are you there?', 101, 101);
+
+UPDATE chat c
+SET last_message_id = m.id, last_message_at = m.persist_date, last_message_preview = m.message
+FROM message m
+WHERE m.id IN (249, 251) AND m.chat_id = c.id;
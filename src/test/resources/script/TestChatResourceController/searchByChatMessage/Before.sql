@@ -0,0 +1,22 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE chat CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100),
+       (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100),
+       (102, '2@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO chat (id)
+VALUES (100), (101);
+
+INSERT INTO single_chat (chat_id, user_one_id, use_two_id)
+VALUES (100, 100, 101),
+       (101, 101, 102);
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+VALUES (100, now(), now(), 'Spring transaction question', 100, 100),
+       (101, now(), now(), 'Hello', 100, 101),
+       (102, now(), now(), 'Secret transaction', 101, 101);
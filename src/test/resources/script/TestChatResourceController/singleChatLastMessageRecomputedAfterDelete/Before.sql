@@ -0,0 +1,23 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE chat CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, nickname, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', 'user0', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100),
+       (101, '1@mail.com', 'user1', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO chat (id, chat_type)
+VALUES (100, 0);
+
+INSERT INTO single_chat (chat_id, user_one_id, use_two_id)
+VALUES (100, 100, 101);
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+VALUES (100, now(), now() - interval '2 day', 'First message', 100, 101),
+       (101, now(), now() - interval '1 day', 'Second message', 100, 100);
+
+UPDATE chat
+SET last_message_id = 101, last_message_at = now() - interval '1 day', last_message_preview = 'Second message'
+WHERE id = 100;
@@ -27,3 +27,6 @@ VALUES (101, 10, now(), 3, null, 100, 100, 101);
 
 INSERT INTO reputation (id, "count", persist_date, type, answer_id, author_id, question_id, sender_id)
 VALUES (102, -5, now(), 3, null, 100, 100, 101);
+
+INSERT INTO user_reputation (user_id, count)
+VALUES (100, 15);
@@ -0,0 +1,57 @@
+-- дополняет script/TestQueryIndexUsage/Before.sql данными для списков пользователей, тэгов и чатов
+
+UPDATE user_entity
+SET full_name = 'User ' || id, nickname = 'user' || id, persist_date = now() - id * interval '1 hour';
+
+UPDATE question_stats qs
+SET up_votes     = (SELECT count(*) FROM votes_on_questions v WHERE v.question_id = qs.question_id AND v.vote = 'UP_VOTE'),
+    down_votes   = (SELECT count(*) FROM votes_on_questions v WHERE v.question_id = qs.question_id AND v.vote = 'DOWN_VOTE'),
+    answer_count = (SELECT count(*) FROM answer a WHERE a.question_id = qs.question_id AND a.is_deleted = false),
+    view_count   = (SELECT count(*) FROM question_viewed qv WHERE qv.question_id = qs.question_id);
+
+UPDATE question_stats SET votes = up_votes - down_votes;
+
+INSERT INTO user_reputation (user_id, count)
+SELECT r.author_id, sum(r.count)
+FROM reputation r
+GROUP BY r.author_id;
+
+-- чаты 100..20099 из основного набора - личные, 20100..20199 - групповые (20100 - глобальный)
+INSERT INTO single_chat (chat_id, user_one_id, use_two_id, is_delete_one, is_delete_two)
+SELECT id, 100 + id % 10000, 100 + (id * 7 + 1) % 10000, false, false
+FROM generate_series(100, 20099) id;
+
+INSERT INTO chat (id, chat_type)
+SELECT id, 1
+FROM generate_series(20100, 20199) id;
+
+INSERT INTO group_chat (chat_id, title, is_global)
+SELECT id, 'Group ' || id, id = 20100
+FROM generate_series(20100, 20199) id;
+
+INSERT INTO groupchat_has_users (chat_id, user_id)
+SELECT 20101 + id % 99, id
+FROM generate_series(100, 10099) id;
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+SELECT id, now(), now() - id * interval '1 second', 'Message ' || id, 20100 + id % 100, 100 + id % 10000
+FROM generate_series(400100, 500099) id;
+
+UPDATE chat c
+SET last_message_id      = m.id,
+    last_message_at      = m.persist_date,
+    last_message_preview = left(m.message, 255)
+FROM (SELECT DISTINCT ON (chat_id) id, chat_id, persist_date, message
+      FROM message
+      ORDER BY chat_id, persist_date DESC, id DESC) m
+WHERE m.chat_id = c.id;
+
+INSERT INTO user_chat_pin (id, persist_date, chat_id, user_id)
+SELECT id, now(), 100 + id % 20000, 100 + id % 10000
+FROM generate_series(100, 10099) id;
+
+INSERT INTO user_chat_read (id, last_read_at, chat_id, user_id)
+SELECT id, now() - interval '3 hour', 100 + id % 10000, 100 + id % 10000
+FROM generate_series(100, 10099) id;
+
+ANALYZE;
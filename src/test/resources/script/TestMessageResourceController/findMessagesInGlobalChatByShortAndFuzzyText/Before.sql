@@ -0,0 +1,21 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE chat CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO chat (id)
+VALUES (100), (101);
+
+INSERT INTO group_chat (chat_id, is_global)
+VALUES (100, true),
+       (101, false);
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+VALUES (100, now(), now(), 'Spring transaction question', 100, 100),
+       (101, now(), now(), 'ok, thanks', 100, 100),
+       (102, now(), now(), 'Hello', 100, 100),
+       (103, now(), now(), 'Spring boot ok', 101, 100);
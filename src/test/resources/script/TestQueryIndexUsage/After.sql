@@ -0,0 +1,3 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE tag CASCADE;
+TRUNCATE TABLE chat CASCADE;
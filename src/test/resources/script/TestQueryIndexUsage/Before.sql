@@ -0,0 +1,78 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE tag CASCADE;
+TRUNCATE TABLE chat CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+-- 10 000 пользователей, 200 000 вопросов, 500 тэгов; по 2 строки на вопрос в зависимых таблицах
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+SELECT id, id || '@mail.com', true, now(), 'password', 100
+FROM generate_series(100, 10099) id;
+
+INSERT INTO tag (id, name, persist_date)
+SELECT id, 'tag' || id, now()
+FROM generate_series(100, 599) id;
+
+INSERT INTO question (id, title, description, is_deleted, last_redaction_date, persist_date, user_id)
+SELECT id, 'Question ' || id, 'Description ' || id, id % 20 = 0, now(), now() - id * interval '1 minute', 100 + id % 10000
+FROM generate_series(100, 200099) id;
+
+INSERT INTO question_has_tag (question_id, tag_id)
+SELECT q, 100 + (q + t * 7) % 500
+FROM generate_series(100, 200099) q, generate_series(0, 1) t;
+
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+SELECT id, 'Answer ' || id, id % 10 = 0, false, false, now() - id * interval '1 minute', now(),
+       100 + id % 200000, 100 + (id * 7) % 10000
+FROM generate_series(100, 400099) id;
+
+INSERT INTO votes_on_questions (id, persist_date, vote, question_id, user_id)
+SELECT id, now(), CASE WHEN id % 3 = 0 THEN 'DOWN_VOTE' ELSE 'UP_VOTE' END, 100 + id % 200000, 100 + (id * 7) % 10000
+FROM generate_series(100, 400099) id;
+
+INSERT INTO votes_on_answers (id, persist_date, vote, answer_id, user_id)
+SELECT id, now(), CASE WHEN id % 3 = 0 THEN 'DOWN_VOTE' ELSE 'UP_VOTE' END, 100 + id % 400000, 100 + (id * 7) % 10000
+FROM generate_series(100, 400099) id;
+
+INSERT INTO question_viewed (id, persist_date, question_id, user_id)
+SELECT id, now(), 100 + id % 200000, 100 + (id * 7 + id / 200000) % 10000
+FROM generate_series(100, 400099) id;
+
+INSERT INTO reputation (id, count, persist_date, type, author_id, question_id)
+SELECT id, 10, now() - id * interval '1 minute', 1, 100 + id % 10000, 100 + id % 200000
+FROM generate_series(100, 400099) id;
+
+INSERT INTO bookmarks (question_id, user_id, persist_date)
+SELECT 100 + id % 200000, 100 + (id * 7) % 10000, now()
+FROM generate_series(100, 400099) id;
+
+INSERT INTO tag_tracked (id, persist_date, tracked_tag_id, user_id)
+SELECT id, now(), 100 + id % 500, 100 + id % 10000
+FROM generate_series(100, 100099) id;
+
+INSERT INTO tag_ignore (id, persist_date, ignored_tag_id, user_id)
+SELECT id, now(), 100 + (id * 3) % 500, 100 + id % 10000
+FROM generate_series(100, 100099) id;
+
+INSERT INTO comment (id, comment_type, last_redaction_date, persist_date, text, user_id)
+SELECT id, 0, now(), now(), 'Comment ' || id, 100 + id % 10000
+FROM generate_series(100, 800099) id;
+
+INSERT INTO comment_question (comment_id, question_id)
+SELECT id, 100 + id % 200000
+FROM generate_series(100, 400099) id;
+
+INSERT INTO comment_answer (comment_id, answer_id)
+SELECT id, 100 + id % 400000
+FROM generate_series(400100, 800099) id;
+
+INSERT INTO chat (id, chat_type)
+SELECT id, 0
+FROM generate_series(100, 20099) id;
+
+INSERT INTO message (id, last_redaction_date, persist_date, message, chat_id, user_sender_id)
+SELECT id, now(), now() - id * interval '1 second', 'Message ' || id, 100 + id % 20000, 100 + id % 10000
+FROM generate_series(100, 400099) id;
+
+ANALYZE;
@@ -0,0 +1,15 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (100, now(), '2021-01-01 10:00:00', 'test', 'test', 100);
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (101, now(), '2021-01-02 10:00:00', 'test', 'test', 100);
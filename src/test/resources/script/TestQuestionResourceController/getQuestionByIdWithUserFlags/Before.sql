@@ -0,0 +1,56 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
+TRUNCATE TABLE tag CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (102, '2@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO tag (id, name, description, persist_date)
+VALUES (100, 'java', 'java', now());
+INSERT INTO tag (id, name, description, persist_date)
+VALUES (101, 'spring', 'spring', now());
+INSERT INTO tag (id, name, description, persist_date)
+VALUES (102, 'sql', 'sql', now());
+
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (100, now(), now(), 'test', 'test', 100);
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (101, now(), now(), 'other', 'other', 100);
+
+INSERT INTO question_has_tag (question_id, tag_id)
+VALUES (100, 100);
+INSERT INTO question_has_tag (question_id, tag_id)
+VALUES (100, 101);
+INSERT INTO question_has_tag (question_id, tag_id)
+VALUES (101, 102);
+
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (100, 'answer', false, false, false, now(), now(), 100, 101);
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (101, 'deleted', true, false, false, now(), now(), 100, 102);
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (102, 'helpful', false, false, true, now(), now(), 100, 102);
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (103, 'other', false, false, false, now(), now(), 101, 100);
+
+INSERT INTO votes_on_questions (id, persist_date, vote, question_id, user_id)
+VALUES (100, now(), 'UP_VOTE', 100, 101);
+INSERT INTO votes_on_questions (id, persist_date, vote, question_id, user_id)
+VALUES (101, now(), 'UP_VOTE', 100, 102);
+INSERT INTO votes_on_questions (id, persist_date, vote, question_id, user_id)
+VALUES (102, now(), 'DOWN_VOTE', 101, 101);
+
+INSERT INTO votes_on_answers (id, persist_date, vote, answer_id, user_id)
+VALUES (100, now(), 'UP_VOTE', 100, 100);
+
+INSERT INTO bookmarks (id, question_id, user_id)
+VALUES (100, 100, 101);
+INSERT INTO bookmarks (id, question_id, user_id)
+VALUES (101, 101, 100);
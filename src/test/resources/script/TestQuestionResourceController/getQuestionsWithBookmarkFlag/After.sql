@@ -0,0 +1,3 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
+TRUNCATE TABLE bookmarks CASCADE;
@@ -0,0 +1,2 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
@@ -0,0 +1,4 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
+TRUNCATE TABLE tag CASCADE;
+TRUNCATE TABLE comment CASCADE;
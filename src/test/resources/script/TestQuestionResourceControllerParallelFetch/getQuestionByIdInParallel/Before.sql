@@ -0,0 +1,32 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
+TRUNCATE TABLE tag CASCADE;
+TRUNCATE TABLE comment CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO tag (id, name, description, persist_date)
+VALUES (100, 'java', 'java', now());
+
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (100, now(), now(), 'test', 'test', 100);
+
+INSERT INTO question_has_tag (question_id, tag_id)
+VALUES (100, 100);
+
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (100, 'answer', false, false, false, now(), now(), 100, 100);
+
+INSERT INTO comment (id, comment_type, last_redaction_date, persist_date, text, user_id)
+VALUES (100, 1, now(), now(), 'question comment', 100);
+INSERT INTO comment (id, comment_type, last_redaction_date, persist_date, text, user_id)
+VALUES (101, 0, now(), now(), 'answer comment', 100);
+
+INSERT INTO comment_question (comment_id, question_id)
+VALUES (100, 100);
+INSERT INTO comment_answer (comment_id, answer_id)
+VALUES (101, 100);
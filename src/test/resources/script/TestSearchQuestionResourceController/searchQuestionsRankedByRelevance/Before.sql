@@ -0,0 +1,15 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, full_name, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', 'Ivan', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (100, now(), now(), 'Hibernate caching', 'Second level cache with Spring', 100);
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (101, now(), now(), 'Spring transactions', 'How does propagation work in Spring Boot?', 100);
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (102, now(), now(), 'Docker', 'Compose networks', 100);
@@ -0,0 +1,32 @@
+TRUNCATE TABLE role CASCADE;
+TRUNCATE TABLE question CASCADE;
+
+INSERT INTO role (id, name)
+VALUES (100, 'ROLE_USER');
+
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (100, '0@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+INSERT INTO user_entity (id, email, is_enabled, last_redaction_date, password, role_id)
+VALUES (101, '1@mail.com', true, now(), '$2a$10$lwhIK6IeCSg0NKbEmmKYFOUcxZ8lWvZUwh/3EaxGJloam.IwOwtFi', 100);
+
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (100, now(), now(), 'not bookmarked', 'test', 101);
+INSERT INTO question (id, last_redaction_date, persist_date, title, description, user_id)
+VALUES (101, now(), now(), 'bookmarked', 'test', 101);
+
+-- id закладки совпадает с id другого вопроса
+INSERT INTO bookmarks (id, question_id, user_id)
+VALUES (100, 101, 100);
+
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (100, 'answer', false, false, false, now(), now(), 100, 100);
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (101, 'answer', false, false, false, now(), now(), 100, 101);
+INSERT INTO answer (id, html_body, is_deleted, is_deleted_by_moderator, is_helpful, persist_date, update_date, question_id, user_id)
+VALUES (102, 'answer', false, false, false, now(), now(), 101, 100);
+
+INSERT INTO votes_on_questions (id, persist_date, vote, question_id, user_id)
+VALUES (100, now(), 'UP_VOTE', 101, 100);
+
+INSERT INTO question_viewed (id, persist_date, question_id, user_id)
+VALUES (100, now(), 101, 100);